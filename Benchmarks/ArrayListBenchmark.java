@@ -0,0 +1,128 @@
+package Benchmarks;
+
+import ArrayList.ArrayList;
+import ArrayList.GrowthPolicy;
+
+/**
+ * Measures building an ArrayList element by element under each growth policy (time taken, elements copied
+ * by regrowth and the unused slots left at the end) and removing half of a list, run from the command line:
+ * 'java -cp <classes> Benchmarks.ArrayListBenchmark [number of elements]'
+ */
+public class ArrayListBenchmark {
+
+    // Number of elements added when none is given
+    private static final int DEFAULT_NUM_ELEMENTS = 1_000_000;
+
+    // Number of measured builds per configuration
+    private static final int PASSES = 10;
+
+    // Number of elements in the list half of which is removed
+    private static final int FILTER_ELEMENTS = 200_000;
+
+    // Sink for results so the JIT cannot remove the lists
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int numElements = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_ELEMENTS;
+
+        // Elements are created up front so only the list is measured
+        Integer[] elements = new Integer[numElements];
+        for(int i = 0; i < numElements; i++) {
+            elements[i] = i;
+        }
+
+        System.out.println("Building a list of " + numElements + " elements");
+        System.out.printf("%-26s %10s %12s %16s %14s%n", "growth", "ms", "regrowths", "elements copied", "unused slots");
+
+        benchmarkBuild("doubling (default)", 1, GrowthPolicy.doubling(), elements);
+        benchmarkBuild("1.5x", 1, GrowthPolicy.oneAndAHalf(), elements);
+        benchmarkBuild("capped at 64K slots", 1, GrowthPolicy.capped(1 << 16), elements);
+        benchmarkBuild("fixed 64K slots", 1, GrowthPolicy.fixedIncrement(1 << 16), elements);
+        benchmarkBuild("presized", numElements, GrowthPolicy.doubling(), elements);
+
+        System.out.println();
+        System.out.println("Removing the odd elements from a list of " + FILTER_ELEMENTS + " (milliseconds)");
+
+        // Run each twice and report the second so both are measured with compiled code
+        for(int run = 0; run < 2; run++) {
+            benchmarkFilter("delete(int) per element", false, elements, run == 1);
+            benchmarkFilter("removeIf", true, elements, run == 1);
+        }
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Time building lists with a policy and print a row
+     * @param name String: label for the configuration
+     * @param initialCapacity int: starting length of the underlying array
+     * @param policy GrowthPolicy: policy under test
+     * @param elements Integer[]: elements to add
+     */
+    private static void benchmarkBuild(String name, int initialCapacity, GrowthPolicy policy, Integer[] elements) {
+
+        // Count the copies the policy makes by replaying its lengths
+        long regrowths = 0;
+        long copied = 0;
+        int capacity = initialCapacity;
+        for(int size = 0; size < elements.length; size++) {
+            if(size == capacity) {
+                capacity = policy.newCapacity(capacity, size + 1);
+                regrowths++;
+                copied += size;
+            }
+        }
+
+        // Warm up so the measured builds run compiled code
+        for(int p = 0; p < 3; p++) blackhole += build(initialCapacity, policy, elements).sizeUnderlying();
+
+        long start = System.nanoTime();
+        for(int p = 0; p < PASSES; p++) blackhole += build(initialCapacity, policy, elements).sizeUnderlying();
+        double millis = (System.nanoTime() - start) / 1e6 / PASSES;
+
+        System.out.printf("%-26s %10.2f %12d %16d %14d%n", name, millis, regrowths, copied, capacity - elements.length);
+    }
+
+    /**
+     * Time removing every odd element from a list, either one delete at a time or in one removeIf pass
+     * @param name String: label for the method
+     * @param bulk boolean: whether to use removeIf
+     * @param elements Integer[]: elements to fill the list from
+     * @param print boolean: whether to print the result
+     */
+    private static void benchmarkFilter(String name, boolean bulk, Integer[] elements, boolean print) {
+
+        ArrayList<Integer> list = new ArrayList<>(FILTER_ELEMENTS);
+        for(int i = 0; i < FILTER_ELEMENTS; i++) list.add(elements[i]);
+
+        long start = System.nanoTime();
+        if(bulk) {
+            list.removeIf(x -> (x & 1) == 1);
+        } else {
+
+            // Each delete shifts the rest of the list down by one
+            for(int i = 0; i < list.size(); i++) {
+                if((list.get(i) & 1) == 1) list.delete(i--);
+            }
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        blackhole += list.size();
+        if(print) System.out.printf("%-26s %10.2f%n", name, millis);
+    }
+
+    /**
+     * Build one list by adding every element
+     * @param initialCapacity int: starting length of the underlying array
+     * @param policy GrowthPolicy: growth policy
+     * @param elements Integer[]: elements to add
+     * @return ArrayList<Integer>: the built list
+     */
+    private static ArrayList<Integer> build(int initialCapacity, GrowthPolicy policy, Integer[] elements) {
+        ArrayList<Integer> list = new ArrayList<>(initialCapacity, policy);
+        for(Integer element: elements) list.add(element);
+        return list;
+    }
+
+}
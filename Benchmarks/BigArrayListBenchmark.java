@@ -0,0 +1,105 @@
+package Benchmarks;
+
+import ArrayList.ArrayList;
+import ArrayList.BigArrayList;
+
+/**
+ * Compares growing an ArrayList with growing a BigArrayList (total time and the longest single add, which for
+ * ArrayList is a copy of every element) and times sequential against chunk-parallel streams, run from the command line:
+ * 'java -Xms3g -Xmx3g -cp <classes> Benchmarks.BigArrayListBenchmark [number of elements]'
+ * A fixed heap size keeps the heap from resizing mid-run, which would otherwise dominate the longest add
+ */
+public class BigArrayListBenchmark {
+
+    // Number of elements added when none is given
+    private static final int DEFAULT_NUM_ELEMENTS = 30_000_000;
+
+    // Number of measured passes over the list for the stream timings
+    private static final int PASSES = 5;
+
+    // Sink for results so the JIT cannot remove the work
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int numElements = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_ELEMENTS;
+
+        // Small Integers come from the Integer cache, so only the lists allocate
+        Integer[] values = new Integer[128];
+        for(int i = 0; i < values.length; i++) values[i] = i;
+
+        System.out.println("Growing to " + numElements + " elements");
+        System.out.printf("%-16s %10s %16s%n", "list", "total ms", "longest add ms");
+
+        // Run each twice and report the second so both are measured with compiled code
+        for(int run = 0; run < 2; run++) {
+            benchmarkGrowth("ArrayList", false, numElements, values, run == 1);
+            benchmarkGrowth("BigArrayList", true, numElements, values, run == 1);
+        }
+
+        BigArrayList<Integer> list = new BigArrayList<>();
+        for(int i = 0; i < numElements; i++) list.add(values[i & 127]);
+
+        System.out.println();
+        System.out.println("Summing with streams on " + Runtime.getRuntime().availableProcessors() + " processors (milliseconds)");
+        for(int run = 0; run < 2; run++) {
+            benchmarkStream("sequential", list, false, run == 1);
+            benchmarkStream("parallel", list, true, run == 1);
+        }
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Time adding elements one at a time and track the slowest add
+     * @param name String: label for the list
+     * @param big boolean: whether to use a BigArrayList
+     * @param numElements int: number of elements to add
+     * @param values Integer[]: elements to cycle through
+     * @param print boolean: whether to print the result
+     */
+    private static void benchmarkGrowth(String name, boolean big, int numElements, Integer[] values, boolean print) {
+
+        ArrayList<Integer> small = big ? null : new ArrayList<>();
+        BigArrayList<Integer> chunked = big ? new BigArrayList<>() : null;
+
+        long longest = 0;
+        long start = System.nanoTime();
+        long last = start;
+        for(int i = 0; i < numElements; i++) {
+            if(big) chunked.add(values[i & 127]);
+            else small.add(values[i & 127]);
+
+            // Reading the clock on every add would dominate, so check every 1024 adds
+            if((i & 1023) == 0) {
+                long now = System.nanoTime();
+                longest = Math.max(longest, now - last);
+                last = now;
+            }
+        }
+        double totalMillis = (System.nanoTime() - start) / 1e6;
+
+        blackhole += big ? chunked.size() : small.size();
+        if(print) System.out.printf("%-16s %10.1f %16.1f%n", name, totalMillis, longest / 1e6);
+    }
+
+    /**
+     * Time summing the list with a stream
+     * @param name String: label for the stream
+     * @param list BigArrayList<Integer>: list to sum
+     * @param parallel boolean: whether to split the chunks across threads
+     * @param print boolean: whether to print the result
+     */
+    private static void benchmarkStream(String name, BigArrayList<Integer> list, boolean parallel, boolean print) {
+
+        long start = System.nanoTime();
+        for(int p = 0; p < PASSES; p++) {
+            if(parallel) blackhole += list.stream().parallel().mapToLong(Integer::longValue).sum();
+            else blackhole += list.stream().mapToLong(Integer::longValue).sum();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / PASSES;
+
+        if(print) System.out.printf("%-16s %10.1f%n", name, millis);
+    }
+
+}
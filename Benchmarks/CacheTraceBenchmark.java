@@ -0,0 +1,155 @@
+package Benchmarks;
+
+import Cache.LRUCache;
+import Cache.TinyLfuCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replays key traces through LRUCache and TinyLfuCache and reports hit ratio and throughput, run from the command line:
+ * 'java -cp <classes> Benchmarks.CacheTraceBenchmark [trace file] [cache size]'
+ * A trace file has one integer key per line. Without one, synthetic Zipf and Zipf-with-scans traces are replayed.
+ * Each access is read-through: get, then put on a miss.
+ */
+public class CacheTraceBenchmark {
+
+    // Cache size used when none is given
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    // Length of the synthetic traces
+    private static final int TRACE_LENGTH = 2_000_000;
+
+    // Number of distinct keys in the synthetic traces
+    private static final int KEY_SPACE = 100_000;
+
+    public static void main(String[] args) throws IOException {
+
+        int cacheSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CACHE_SIZE;
+
+        System.out.printf("%-26s %-8s %10s %15s%n", "trace", "policy", "hit ratio", "ops/sec");
+
+        if(args.length > 0) {
+            replayBoth(args[0], readTrace(args[0]), cacheSize);
+            return;
+        }
+
+        replayBoth("zipf 0.9", zipfTrace(0.9, new Random(1)), cacheSize);
+        replayBoth("zipf 0.9 + scans", withScans(zipfTrace(0.9, new Random(2)), new Random(3)), cacheSize);
+        replayBoth("zipf 0.7", zipfTrace(0.7, new Random(4)), cacheSize);
+
+    }
+
+    /**
+     * Replay a trace through both policies and print a row for each
+     * @param name String: label for the trace
+     * @param trace int[]: keys in access order
+     * @param cacheSize int: maximum entries for both caches
+     */
+    private static void replayBoth(String name, int[] trace, int cacheSize) {
+
+        // Warm up both policies on a prefix so the measured replays run compiled code
+        int[] warmup = Arrays.copyOf(trace, Math.min(trace.length, 200_000));
+        replayLru(warmup, cacheSize);
+        replayTinyLfu(warmup, cacheSize);
+
+        long start = System.nanoTime();
+        double lruHitRatio = replayLru(trace, cacheSize);
+        double lruOps = trace.length / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        double tinyLfuHitRatio = replayTinyLfu(trace, cacheSize);
+        double tinyLfuOps = trace.length / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-26s %-8s %9.2f%% %,15.0f%n", name, "LRU", lruHitRatio * 100, lruOps);
+        System.out.printf("%-26s %-8s %9.2f%% %,15.0f%n", name, "TinyLFU", tinyLfuHitRatio * 100, tinyLfuOps);
+    }
+
+    /**
+     * Replay a trace through an LRUCache
+     * @param trace int[]: keys in access order
+     * @param cacheSize int: maximum entries
+     * @return double: hit ratio
+     */
+    private static double replayLru(int[] trace, int cacheSize) {
+        LRUCache<Integer, Integer> cache = new LRUCache<>(cacheSize);
+        for(int key: trace) {
+            if(cache.get(key) == null) cache.put(key, key);
+        }
+        return cache.getHitRatio();
+    }
+
+    /**
+     * Replay a trace through a TinyLfuCache
+     * @param trace int[]: keys in access order
+     * @param cacheSize int: maximum entries
+     * @return double: hit ratio
+     */
+    private static double replayTinyLfu(int[] trace, int cacheSize) {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(cacheSize);
+        for(int key: trace) {
+            if(cache.get(key) == null) cache.put(key, key);
+        }
+        return cache.getHitRatio();
+    }
+
+    /**
+     * Read a trace file with one integer key per line, blank lines are skipped
+     * @param path String: path to the trace
+     * @return int[]: keys in access order
+     */
+    private static int[] readTrace(String path) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(path));
+        return lines.stream().map(String::trim).filter(line -> !line.isEmpty()).mapToInt(Integer::parseInt).toArray();
+    }
+
+    /**
+     * Generate a trace where key popularity follows a Zipf distribution
+     * @param exponent double: skew, higher means a smaller hot set
+     * @param random Random: source of randomness
+     * @return int[]: keys in access order
+     */
+    private static int[] zipfTrace(double exponent, Random random) {
+
+        // Cumulative distribution over key ranks
+        double[] cumulative = new double[KEY_SPACE];
+        double sum = 0;
+        for(int rank = 0; rank < KEY_SPACE; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+
+        int[] trace = new int[TRACE_LENGTH];
+        for(int i = 0; i < TRACE_LENGTH; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = rank >= 0 ? rank : -rank - 1;
+        }
+        return trace;
+    }
+
+    /**
+     * Overwrite stretches of a trace with sequential scans over keys that are never reused
+     * @param trace int[]: trace to modify
+     * @param random Random: source of randomness
+     * @return int[]: the modified trace
+     */
+    private static int[] withScans(int[] trace, Random random) {
+
+        // Scans use keys outside the Zipf key space
+        int nextScanKey = KEY_SPACE;
+
+        // Roughly 20% of accesses become scans of 5000 keys
+        for(int start = 0; start + 5000 < trace.length; start += 25_000) {
+            int offset = start + random.nextInt(20_000);
+            for(int i = 0; i < 5000 && offset + i < trace.length; i++) {
+                trace[offset + i] = nextScanKey++;
+            }
+        }
+        return trace;
+    }
+
+}
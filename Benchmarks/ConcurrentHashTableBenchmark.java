@@ -0,0 +1,92 @@
+package Benchmarks;
+
+import HashTable.ConcurrentHashTable;
+import HashTable.HashTable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Throughput of ConcurrentHashTable against a HashTable behind one global lock, run from the command line:
+ * 'java -cp <classes> Benchmarks.ConcurrentHashTableBenchmark'
+ * Every thread runs a 90% get / 10% add mix over a shared key range for a fixed time
+ */
+public class ConcurrentHashTableBenchmark {
+
+    // Keys are drawn uniformly from this range
+    private static final int KEY_RANGE = 1 << 20;
+
+    // Measured time per configuration
+    private static final long RUN_MILLIS = 1000;
+
+    // Thread counts to measure
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.println("90% get / 10% add, " + KEY_RANGE + " keys, " + Runtime.getRuntime().availableProcessors() + " cores");
+        System.out.printf("%-8s %22s %22s%n", "threads", "global lock ops/sec", "striped ops/sec");
+
+        for(int threads: THREAD_COUNTS) {
+
+            // Baseline: HashTable with every call serialized on one lock
+            HashTable<Integer, Integer> locked = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+            Object lock = new Object();
+            double lockedOps = run(threads, key -> {
+                synchronized(lock) {
+                    if((key & 15) < 2) locked.add(key, key);
+                    else locked.get(key);
+                }
+            });
+
+            // Lock striped table with lock-free reads
+            ConcurrentHashTable<Integer, Integer> striped = new ConcurrentHashTable<>(64);
+            double stripedOps = run(threads, key -> {
+                if((key & 15) < 2) striped.add(key, key);
+                else striped.get(key);
+            });
+
+            System.out.printf("%-8d %,22.0f %,22.0f%n", threads, lockedOps, stripedOps);
+        }
+
+    }
+
+    /**
+     * Run an operation on random keys from several threads and measure the combined throughput
+     * @param threads int: number of threads
+     * @param operation IntConsumer: operation to run on a key
+     * @return double: operations per second across all threads
+     */
+    private static double run(int threads, IntConsumer operation) throws InterruptedException {
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for(int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while(running.get()) {
+                    operation.accept(random.nextInt(KEY_RANGE));
+                    count++;
+                }
+                operations.add(count);
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        long start = System.nanoTime();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        done.await();
+
+        return operations.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+
+}
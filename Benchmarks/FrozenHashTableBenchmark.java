@@ -0,0 +1,106 @@
+package Benchmarks;
+
+import HashTable.FrozenHashTable;
+import HashTable.HashTable;
+
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares a HashTable with the FrozenHashTable made from it: heap used by the table structure and lookup throughput,
+ * run from the command line:
+ * 'java -Xmx2g -cp <classes> Benchmarks.FrozenHashTableBenchmark [number of keys]'
+ */
+public class FrozenHashTableBenchmark {
+
+    // Number of keys placed in the table when none is given
+    private static final int DEFAULT_NUM_KEYS = 1_000_000;
+
+    // Number of measured passes over the lookup keys
+    private static final int PASSES = 5;
+
+    // Sink for results so the JIT cannot remove the lookups
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int numKeys = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_KEYS;
+
+        // Keys and values are created up front so the heap measurements only count the tables
+        Random random = new Random(3);
+        String[] present = new String[numKeys];
+        String[] absent = new String[numKeys];
+        Integer[] values = new Integer[numKeys];
+        for(int i = 0; i < numKeys; i++) {
+            present[i] = "key-" + random.nextInt();
+            absent[i] = "missing-" + i;
+            values[i] = i;
+        }
+
+        long baseline = heapUsed();
+        HashTable<String, Integer> table = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        for(int i = 0; i < numKeys; i++) {
+            table.add(present[i], values[i]);
+        }
+        long tableBytes = heapUsed() - baseline;
+
+        long start = System.nanoTime();
+        FrozenHashTable<String, Integer> frozen = table.freeze();
+        long freezeNanos = System.nanoTime() - start;
+        long frozenBytes = heapUsed() - baseline - tableBytes;
+
+        System.out.println(table.getSize() + " String keys, frozen in " + freezeNanos / 1_000_000 + " ms");
+        System.out.printf("%-18s %16s %15s %15s%n", "table", "bytes per entry", "hits/sec", "misses/sec");
+
+        benchmark("HashTable", (double)tableBytes / table.getSize(), keys -> {
+            long found = 0;
+            for(String key: keys) if(table.get(key) != null) found++;
+            return found;
+        }, present, absent);
+        benchmark("FrozenHashTable", (double)frozenBytes / frozen.getSize(), keys -> {
+            long found = 0;
+            for(String key: keys) if(frozen.get(key) != null) found++;
+            return found;
+        }, present, absent);
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Time lookups of present and absent keys and print a row
+     * @param name String: label for the table
+     * @param bytesPerEntry double: heap used by the table structure per entry, excluding keys and values
+     * @param pass ToLongFunction<String[]>: looks up every key once and returns how many were found
+     * @param present String[]: keys in the table
+     * @param absent String[]: keys not in the table
+     */
+    private static void benchmark(String name, double bytesPerEntry, ToLongFunction<String[]> pass,
+                                  String[] present, String[] absent) {
+
+        // Warm up so the measured passes run compiled code
+        for(int p = 0; p < 2; p++) {
+            blackhole += pass.applyAsLong(present) + pass.applyAsLong(absent);
+        }
+
+        long start = System.nanoTime();
+        for(int p = 0; p < PASSES; p++) blackhole += pass.applyAsLong(present);
+        double hits = (double)present.length * PASSES / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for(int p = 0; p < PASSES; p++) blackhole += pass.applyAsLong(absent);
+        double misses = (double)absent.length * PASSES / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-18s %16.1f %,15.0f %,15.0f%n", name, bytesPerEntry, hits, misses);
+    }
+
+    /**
+     * Return the heap in use after a full collection
+     * @return long: bytes used
+     */
+    private static long heapUsed() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
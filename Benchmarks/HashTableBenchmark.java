@@ -0,0 +1,251 @@
+package Benchmarks;
+
+import ArrayList.ArrayList;
+import HashTable.HashTable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Micro benchmarks for HashTable, run from the command line:
+ * 'java -cp <classes> Benchmarks.HashTableBenchmark'
+ * Each configuration is warmed up before it is measured, numbers are operations per second
+ */
+public class HashTableBenchmark {
+
+    // Number of keys placed in each table
+    private static final int NUM_KEYS = 200_000;
+
+    // Number of measured passes over every key
+    private static final int PASSES = 20;
+
+    // Sink for results so the JIT cannot remove the lookups
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        // Keys with poor low bits are where the modulo index clusters
+        Integer[] integerKeys = new Integer[NUM_KEYS];
+        String[] stringKeys = new String[NUM_KEYS];
+        for(int i = 0; i < NUM_KEYS; i++) {
+            integerKeys[i] = i << 5;
+            stringKeys[i] = "key-" + i;
+        }
+
+        System.out.println("get() throughput, " + NUM_KEYS + " keys");
+        System.out.printf("%-10s %-22s %15s%n", "keys", "buckets", "ops/sec");
+
+        benchmarkGet("Integer", "modulo (default)", new HashTable<>(), integerKeys);
+        benchmarkGet("Integer", "power of two + spread", new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS), integerKeys);
+        benchmarkGet("String", "modulo (default)", new HashTable<>(), stringKeys);
+        benchmarkGet("String", "power of two + spread", new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS), stringKeys);
+        benchmarkGet("String", "power of two + keyed", new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.KEYED_HASHING), stringKeys);
+
+        System.out.println();
+        System.out.println("add() latency while growing to " + ADD_LATENCY_KEYS + " keys (nanoseconds)");
+        System.out.printf("%-22s %10s %10s %10s %12s %12s%n", "resize", "p50", "p99", "p99.99", "max", "adds > 1ms");
+
+        // Run each twice and report the second so both are measured with compiled code
+        benchmarkAddLatency("stop the world", new HashTable<>(), false);
+        benchmarkAddLatency("stop the world", new HashTable<>(), true);
+        benchmarkAddLatency("incremental", new HashTable<>(HashTable.Option.INCREMENTAL_RESIZE), false);
+        benchmarkAddLatency("incremental", new HashTable<>(HashTable.Option.INCREMENTAL_RESIZE), true);
+
+        System.out.println();
+        System.out.println("Loading " + BULK_KEYS + " keys (milliseconds)");
+        System.out.printf("%-34s %10s %10s%n", "method", "load", "lookup");
+
+        // Run each twice and report the second so both are measured with compiled code
+        for(int run = 0; run < 2; run++) {
+            benchmarkLoad("add loop", false, false, run == 1);
+            benchmarkLoad("expected size + add loop", true, false, run == 1);
+            benchmarkLoad("addAll / getAll", false, true, run == 1);
+            benchmarkLoad("expected size + addAll / getAll", true, true, run == 1);
+        }
+
+        System.out.println();
+        System.out.println("Loading and reading " + (1 << FLOOD_PARTS) + " String keys that share one hash code (milliseconds)");
+        System.out.printf("%-34s %10s %10s%n", "hashing", "load", "lookup");
+
+        // Run each twice and report the second so both are measured with compiled code
+        for(int run = 0; run < 2; run++) {
+            benchmarkFlood("String.hashCode (default)", new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS), run == 1);
+            benchmarkFlood("keyed SipHash", new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.KEYED_HASHING), run == 1);
+        }
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    // Number of keys added when measuring per-add latency
+    private static final int ADD_LATENCY_KEYS = 2_000_000;
+
+    /**
+     * Time every add call while a table grows from empty and print latency percentiles
+     * @param mode String: label for the resize mode
+     * @param table HashTable<Integer, Integer>: empty table to fill
+     * @param report boolean: whether to print the results of this run
+     */
+    private static void benchmarkAddLatency(String mode, HashTable<Integer, Integer> table, boolean report) {
+
+        long[] latencies = new long[ADD_LATENCY_KEYS];
+
+        for(int i = 0; i < ADD_LATENCY_KEYS; i++) {
+            long start = System.nanoTime();
+            table.add(i, i);
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        blackhole += table.getSize();
+        if(!report) return;
+
+        Arrays.sort(latencies);
+
+        // Count the adds that stalled for over a millisecond
+        int stalls = 0;
+        for(long latency: latencies) {
+            if(latency > 1_000_000) stalls++;
+        }
+
+        System.out.printf("%-22s %10d %10d %10d %12d %12d%n", mode,
+            latencies[(int)(ADD_LATENCY_KEYS * 0.50)],
+            latencies[(int)(ADD_LATENCY_KEYS * 0.99)],
+            latencies[(int)(ADD_LATENCY_KEYS * 0.9999)],
+            latencies[ADD_LATENCY_KEYS - 1], stalls);
+    }
+
+    /**
+     * Fill the table with the keys, then time repeated get calls over all of them
+     * @param keyType String: label for the key type
+     * @param mode String: label for the bucket mode
+     * @param table HashTable<K, Integer>: empty table to benchmark
+     * @param keys K[]: keys to add and look up
+     */
+    private static <K> void benchmarkGet(String keyType, String mode, HashTable<K, Integer> table, K[] keys) {
+
+        for(int i = 0; i < keys.length; i++) {
+            table.add(keys[i], i);
+        }
+
+        // Look keys up in a random order so sequential hash codes do not turn into sequential bucket reads
+        K[] lookupOrder = keys.clone();
+        Random random = new Random(7);
+        for(int i = lookupOrder.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            K swap = lookupOrder[i];
+            lookupOrder[i] = lookupOrder[j];
+            lookupOrder[j] = swap;
+        }
+
+        // Warm up so the measured passes run compiled code
+        lookupAll(table, lookupOrder, PASSES / 2);
+
+        long start = System.nanoTime();
+        lookupAll(table, lookupOrder, PASSES);
+        long elapsed = System.nanoTime() - start;
+
+        double opsPerSecond = (double)keys.length * PASSES / (elapsed / 1e9);
+        System.out.printf("%-10s %-22s %,15.0f%n", keyType, mode, opsPerSecond);
+    }
+
+    /**
+     * Look up every key a number of times
+     * @param table HashTable<K, Integer>: table to query
+     * @param keys K[]: keys to look up
+     * @param passes int: number of passes over the keys
+     */
+    private static <K> void lookupAll(HashTable<K, Integer> table, K[] keys, int passes) {
+        long sum = 0;
+        for(int p = 0; p < passes; p++) {
+            for(K key: keys) {
+                sum += table.get(key);
+            }
+        }
+        blackhole += sum;
+    }
+
+    // Number of keys loaded when comparing single and bulk operations
+    private static final int BULK_KEYS = 1_000_000;
+
+    /**
+     * Time loading keys into an empty table and reading them back, one at a time or in bulk
+     * @param method String: label for the loading method
+     * @param presize boolean: whether to construct the table with the expected size
+     * @param bulk boolean: whether to use addAll and getAll instead of add and get loops
+     * @param report boolean: whether to print the results of this run
+     */
+    private static void benchmarkLoad(String method, boolean presize, boolean bulk, boolean report) {
+
+        Integer[] keys = new Integer[BULK_KEYS];
+        for(int i = 0; i < BULK_KEYS; i++) {
+            keys[i] = i;
+        }
+
+        long start = System.nanoTime();
+        HashTable<Integer, Integer> table = presize ? new HashTable<>(BULK_KEYS) : new HashTable<>();
+        if(bulk) table.addAll(keys, keys);
+        else {
+            for(Integer key: keys) {
+                table.add(key, key);
+            }
+        }
+        long load = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        if(bulk) {
+            ArrayList<Integer> values = table.getAll(keys);
+            for(int i = 0; i < values.size(); i++) {
+                sum += values.get(i);
+            }
+        }
+        else {
+            for(Integer key: keys) {
+                sum += table.get(key);
+            }
+        }
+        long lookup = System.nanoTime() - start;
+
+        blackhole += sum;
+        if(report) System.out.printf("%-34s %10.1f %10.1f%n", method, load / 1e6, lookup / 1e6);
+    }
+
+    // Number of "Aa" / "BB" parts in each flooding key, giving 2^FLOOD_PARTS keys with one hash code
+    private static final int FLOOD_PARTS = 16;
+
+    /**
+     * Time loading keys chosen to share one String hash code, as a client flooding a table would send, and reading them back
+     * @param hashing String: label for the hashing mode
+     * @param table HashTable<String, Integer>: empty table to fill
+     * @param report boolean: whether to print the results of this run
+     */
+    private static void benchmarkFlood(String hashing, HashTable<String, Integer> table, boolean report) {
+
+        // Every concatenation of the parts has the same hash code because "Aa" and "BB" do
+        String[] keys = {""};
+        for(int p = 0; p < FLOOD_PARTS; p++) {
+            String[] longer = new String[keys.length * 2];
+            for(int i = 0; i < keys.length; i++) {
+                longer[2 * i] = keys[i] + "Aa";
+                longer[2 * i + 1] = keys[i] + "BB";
+            }
+            keys = longer;
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < keys.length; i++) {
+            table.add(keys[i], i);
+        }
+        long load = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for(String key: keys) {
+            sum += table.get(key);
+        }
+        long lookup = System.nanoTime() - start;
+
+        blackhole += sum;
+        if(report) System.out.printf("%-34s %10.1f %10.1f%n", hashing, load / 1e6, lookup / 1e6);
+    }
+
+}
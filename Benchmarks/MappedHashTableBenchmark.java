@@ -0,0 +1,107 @@
+package Benchmarks;
+
+import HashTable.HashTable;
+import HashTable.MappedHashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares getting a loaded table back after a restart: reopening a MappedHashTable, rebuilding its index after a
+ * crash, and re-adding every entry to a HashTable, run from the command line:
+ * 'java -cp <classes> Benchmarks.MappedHashTableBenchmark [number of entries]'
+ */
+public class MappedHashTableBenchmark {
+
+    // Number of entries loaded when none is given
+    private static final int DEFAULT_ENTRIES = 2_000_000;
+
+    // Random keys looked up after each reopen, which is what pages the files in
+    private static final int LOOKUPS = 10_000;
+
+    public static void main(String[] args) throws IOException {
+
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+
+        Path directory = Files.createTempDirectory("mapped-benchmark");
+        Path path = directory.resolve("table.data");
+        ByteBuffer key = ByteBuffer.allocate(8);
+        ByteBuffer value = ByteBuffer.allocate(8);
+        long check = 0;
+
+        // Build the file once
+        long start = System.nanoTime();
+        try(MappedHashTable table = new MappedHashTable(path, 8, 8)) {
+            for(long i = 0; i < entries; i++) {
+                table.add(key.putLong(0, i).array(), value.putLong(0, -i).array());
+            }
+        }
+        System.out.println(entries + " entries of 8 byte keys and values, loaded and flushed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.printf("%-30s %12s %16s%n", "restart", "open ms", LOOKUPS + " gets ms");
+
+        // Clean reopen: map the files, nothing is read until a lookup touches it
+        start = System.nanoTime();
+        try(MappedHashTable table = new MappedHashTable(path, 8, 8)) {
+            long opened = System.nanoTime();
+            check += lookups(table, entries);
+            report("MappedHashTable clean", start, opened);
+        }
+
+        // Crash reopen: leave a table unflushed, the next open replays the log
+        MappedHashTable crashed = new MappedHashTable(path, 8, 8);
+        crashed.add(key.putLong(0, 0).array(), value.putLong(0, 0).array());
+        start = System.nanoTime();
+        try(MappedHashTable table = new MappedHashTable(path, 8, 8)) {
+            long opened = System.nanoTime();
+            check += lookups(table, entries);
+            report("MappedHashTable rebuild", start, opened);
+        }
+
+        // The heap table has to be loaded from scratch
+        start = System.nanoTime();
+        HashTable<Long, Long> heap = new HashTable<>(entries, HashTable.Option.POWER_OF_TWO_BUCKETS);
+        for(long i = 0; i < entries; i++) {
+            heap.add(i, -i);
+        }
+        long loaded = System.nanoTime();
+        for(int i = 0; i < LOOKUPS; i++) {
+            check += heap.get((long)Math.floorMod(i * 0x9E3779B9, entries));
+        }
+        report("HashTable reload", start, loaded);
+
+        System.out.println("(checksum " + check + ")");
+        crashed.close();
+        Files.delete(path);
+        Files.delete(directory.resolve("table.data.index"));
+        Files.delete(directory);
+    }
+
+    /**
+     * Look up keys spread over the whole table
+     * @param table MappedHashTable: table to read
+     * @param entries int: number of keys in the table
+     * @return long: sum of the values found
+     */
+    private static long lookups(MappedHashTable table, int entries) {
+        ByteBuffer key = ByteBuffer.allocate(8);
+        byte[] value = new byte[8];
+        long sum = 0;
+        for(int i = 0; i < LOOKUPS; i++) {
+            if(table.get(key.putLong(0, Math.floorMod(i * 0x9E3779B9, entries)).array(), value)) sum += ByteBuffer.wrap(value).getLong();
+        }
+        return sum;
+    }
+
+    /**
+     * Print a row of open time and lookup time
+     * @param name String: label for the restart
+     * @param start long: when opening started
+     * @param opened long: when the table was ready
+     */
+    private static void report(String name, long start, long opened) {
+        System.out.printf("%-30s %12.1f %16.1f%n", name, (opened - start) / 1e6, (System.nanoTime() - opened) / 1e6);
+    }
+
+}
@@ -0,0 +1,74 @@
+package Benchmarks;
+
+import HashTable.HashTable;
+import HashTable.OffHeapHashTable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares the heap footprint and full collection pause of HashTable and OffHeapHashTable holding the same
+ * 8 byte keys and values, run from the command line:
+ * 'java -Xmx4g -cp <classes> Benchmarks.OffHeapHashTableBenchmark [number of entries]'
+ */
+public class OffHeapHashTableBenchmark {
+
+    // Number of entries loaded when none is given
+    private static final int DEFAULT_ENTRIES = 5_000_000;
+
+    public static void main(String[] args) {
+
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+
+        System.out.println(entries + " entries of 8 byte keys and values");
+        System.out.printf("%-18s %10s %14s %16s %16s%n", "table", "load ms", "heap used MB", "off-heap MB", "full GC ms");
+
+        // On-heap: a node and two boxed Longs per entry
+        long start = System.nanoTime();
+        HashTable<Long, Long> onHeap = new HashTable<>(entries, HashTable.Option.POWER_OF_TWO_BUCKETS);
+        for(long i = 0; i < entries; i++) {
+            onHeap.add(i, -i);
+        }
+        report("HashTable", System.nanoTime() - start, 0);
+        long check = onHeap.get(1L);
+        onHeap = null;
+        fullGc();
+
+        // Off-heap: the heap only holds the buffer objects
+        start = System.nanoTime();
+        try(OffHeapHashTable offHeap = new OffHeapHashTable(8, 8, entries)) {
+            ByteBuffer key = ByteBuffer.allocate(8);
+            ByteBuffer value = ByteBuffer.allocate(8);
+            for(long i = 0; i < entries; i++) {
+                offHeap.add(key.putLong(0, i).array(), value.putLong(0, -i).array());
+            }
+            report("OffHeapHashTable", System.nanoTime() - start, offHeap.getOffHeapBytes());
+            check += ByteBuffer.wrap(offHeap.get(key.putLong(0, 1).array())).getLong();
+        }
+
+        System.out.println("(checksum " + check + ")");
+    }
+
+    /**
+     * Print a row: load time, then heap used and the pause of a full collection with the table still reachable
+     * @param name String: label for the table
+     * @param loadNanos long: time taken to load the entries
+     * @param offHeapBytes long: bytes the table holds outside the heap
+     */
+    private static void report(String name, long loadNanos, long offHeapBytes) {
+        long gcNanos = fullGc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%-18s %10.0f %14.1f %16.1f %16.1f%n", name, loadNanos / 1e6, heapUsed / 1e6, offHeapBytes / 1e6, gcNanos / 1e6);
+    }
+
+    /**
+     * Run a full collection and time it
+     * @return long: nanoseconds spent in System.gc()
+     */
+    private static long fullGc() {
+        long start = System.nanoTime();
+        System.gc();
+        return System.nanoTime() - start;
+    }
+
+}
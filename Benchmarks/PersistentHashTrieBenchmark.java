@@ -0,0 +1,99 @@
+package Benchmarks;
+
+import HashTable.HashTable;
+import HashTable.PersistentHashTrie;
+
+/**
+ * Compares bulk loading a PersistentHashTrie one version at a time and through a transient, and the cost of taking a
+ * snapshot of a trie versus copying a HashTable, run from the command line:
+ * 'java -cp <classes> Benchmarks.PersistentHashTrieBenchmark [number of keys]'
+ */
+public class PersistentHashTrieBenchmark {
+
+    // Number of keys loaded when none is given
+    private static final int DEFAULT_NUM_KEYS = 1_000_000;
+
+    // Number of snapshots taken while writing
+    private static final int SNAPSHOTS = 100;
+
+    public static void main(String[] args) {
+
+        int numKeys = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_KEYS;
+        Integer[] keys = new Integer[numKeys];
+        for(int i = 0; i < numKeys; i++) {
+            keys[i] = i;
+        }
+        long check = 0;
+
+        System.out.println(numKeys + " Integer keys");
+
+        // Warm up both load paths on a smaller trie
+        for(int round = 0; round < 3; round++) {
+            check += loadPersistent(keys, numKeys / 10).getSize() + loadTransient(keys, numKeys / 10).getSize();
+        }
+
+        long start = System.nanoTime();
+        PersistentHashTrie<Integer, Integer> persistent = loadPersistent(keys, numKeys);
+        System.out.printf("%-34s %10.1f ms%n", "load, a new version per add", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        PersistentHashTrie<Integer, Integer> loaded = loadTransient(keys, numKeys);
+        System.out.printf("%-34s %10.1f ms%n", "load through a transient", (System.nanoTime() - start) / 1e6);
+        check += persistent.getSize() + loaded.getSize();
+
+        // A trie snapshot is keeping a reference, a HashTable snapshot is a copy
+        HashTable<Integer, Integer> table = new HashTable<>(numKeys, HashTable.Option.POWER_OF_TWO_BUCKETS);
+        for(Integer key: keys) {
+            table.add(key, key);
+        }
+
+        start = System.nanoTime();
+        PersistentHashTrie<Integer, Integer> trie = loaded;
+        for(int s = 0; s < SNAPSHOTS; s++) {
+            PersistentHashTrie<Integer, Integer> snapshot = trie;
+            trie = trie.add(keys[s], -s);
+            check += snapshot.get(keys[s]);
+        }
+        System.out.printf("%-34s %10.3f ms%n", "trie snapshot + write", (System.nanoTime() - start) / 1e6 / SNAPSHOTS);
+
+        start = System.nanoTime();
+        for(int s = 0; s < SNAPSHOTS / 10; s++) {
+            HashTable<Integer, Integer> snapshot = new HashTable<>(table.getSize(), HashTable.Option.POWER_OF_TWO_BUCKETS);
+            table.forEach(node -> snapshot.add(node.getKey(), node.getValue()));
+            table.add(keys[s], -s);
+            check += snapshot.get(keys[s]);
+        }
+        System.out.printf("%-34s %10.3f ms%n", "HashTable copy + write", (System.nanoTime() - start) / 1e6 / (SNAPSHOTS / 10));
+
+        System.out.println("(checksum " + check + ")");
+    }
+
+    /**
+     * Load keys by making a new version for every add
+     * @param keys Integer[]: keys to load, each its own value
+     * @param count int: number of keys to load
+     * @return PersistentHashTrie<Integer, Integer>: loaded trie
+     */
+    private static PersistentHashTrie<Integer, Integer> loadPersistent(Integer[] keys, int count) {
+        PersistentHashTrie<Integer, Integer> trie = new PersistentHashTrie<>();
+        for(int i = 0; i < count; i++) {
+            trie = trie.add(keys[i], keys[i]);
+        }
+        return trie;
+    }
+
+    /**
+     * Load keys through one transient
+     * @param keys Integer[]: keys to load, each its own value
+     * @param count int: number of keys to load
+     * @return PersistentHashTrie<Integer, Integer>: loaded trie
+     */
+    private static PersistentHashTrie<Integer, Integer> loadTransient(Integer[] keys, int count) {
+        PersistentHashTrie.Transient<Integer, Integer> editor = new PersistentHashTrie<Integer, Integer>().asTransient();
+        for(int i = 0; i < count; i++) {
+            editor.add(keys[i], keys[i]);
+        }
+        return editor.persistent();
+    }
+
+}
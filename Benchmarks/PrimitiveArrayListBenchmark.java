@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import ArrayList.ArrayList;
+import ArrayList.DoubleArrayList;
+import ArrayList.IntArrayList;
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares ArrayList<Integer> with IntArrayList (and DoubleArrayList): heap used per value and the time to sum
+ * every value, run from the command line:
+ * 'java -Xmx2g -cp <classes> Benchmarks.PrimitiveArrayListBenchmark [number of values]'
+ */
+public class PrimitiveArrayListBenchmark {
+
+    // Number of values placed in each list when none is given
+    private static final int DEFAULT_NUM_VALUES = 4_000_000;
+
+    // Number of measured passes over every value
+    private static final int PASSES = 20;
+
+    // Sink for results so the JIT cannot remove the sums
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int numValues = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_VALUES;
+
+        // Random samples outside the Integer cache, so the boxed list allocates one object per value
+        Random random = new Random(9);
+        int[] samples = new int[numValues];
+        for(int i = 0; i < numValues; i++) {
+            samples[i] = random.nextInt() | 1024;
+        }
+
+        long baseline = heapUsed();
+        ArrayList<Integer> boxed = new ArrayList<>();
+        for(int sample: samples) boxed.add(sample);
+        long boxedBytes = heapUsed() - baseline;
+
+        IntArrayList ints = new IntArrayList();
+        for(int sample: samples) ints.add(sample);
+        long intBytes = heapUsed() - baseline - boxedBytes;
+
+        DoubleArrayList doubles = new DoubleArrayList();
+        for(int sample: samples) doubles.add(sample);
+        long doubleBytes = heapUsed() - baseline - boxedBytes - intBytes;
+
+        System.out.println(numValues + " values");
+        System.out.printf("%-22s %16s %15s%n", "list", "bytes per value", "sum ns/value");
+
+        benchmark("ArrayList<Integer>", (double)boxedBytes / numValues, numValues, () -> {
+            long sum = 0;
+            for(int i = 0; i < boxed.size(); i++) sum += boxed.get(i);
+            return sum;
+        });
+        benchmark("IntArrayList", (double)intBytes / numValues, numValues, ints::sum);
+        benchmark("DoubleArrayList", (double)doubleBytes / numValues, numValues, () -> (long)doubles.sum());
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Time summing a list and print a row
+     * @param name String: label for the list
+     * @param bytesPerValue double: heap used by the list per value, including boxes
+     * @param numValues int: number of values in the list
+     * @param sum LongSupplier: sums every value of the list once
+     */
+    private static void benchmark(String name, double bytesPerValue, int numValues, LongSupplier sum) {
+
+        // Warm up so the measured passes run compiled code
+        for(int p = 0; p < 5; p++) blackhole += sum.getAsLong();
+
+        long start = System.nanoTime();
+        for(int p = 0; p < PASSES; p++) blackhole += sum.getAsLong();
+        double nanosPerValue = (double)(System.nanoTime() - start) / PASSES / numValues;
+
+        System.out.printf("%-22s %16.1f %15.3f%n", name, bytesPerValue, nanosPerValue);
+    }
+
+    /**
+     * Return the heap in use after a full collection
+     * @return long: bytes used
+     */
+    private static long heapUsed() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
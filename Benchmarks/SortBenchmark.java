@@ -0,0 +1,124 @@
+package Benchmarks;
+
+import ArrayList.ArrayList;
+import ArrayList.DoubleArrayList;
+import ArrayList.IntArrayList;
+import ArrayList.LongArrayList;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Times sorting random values in IntArrayList, LongArrayList, DoubleArrayList and ArrayList<Integer>
+ * at sizes from 1K up to a maximum (10M by default, 100M with enough heap), run from the command line:
+ * 'java -Xmx8g -cp <classes> Benchmarks.SortBenchmark [maximum size]'
+ * Boxed lists stop at 10M elements. Each cell is the average time of one sort in milliseconds,
+ * refilled from the same random values before every sort
+ */
+public class SortBenchmark {
+
+    // Largest size sorted when none is given
+    private static final int DEFAULT_MAX_SIZE = 10_000_000;
+
+    // Largest size sorted as ArrayList<Integer>, whose boxes take about 20 bytes each
+    private static final int MAX_BOXED_SIZE = 10_000_000;
+
+    // Each cell repeats its sort until this much time has been measured, and at least 3 times
+    private static final long MIN_MEASURED_NANOS = 500_000_000L;
+
+    // Sink for results so the JIT cannot remove the sorts
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_SIZE;
+
+        System.out.println("Sorting random values on " + Runtime.getRuntime().availableProcessors() + " processors (milliseconds per sort)");
+        System.out.printf("%-12s %12s %12s %12s %12s %12s %12s %12s%n", "size", "int Arrays", "int radix", "int parallel",
+                          "long radix", "double radix", "boxed sort", "boxed par");
+
+        Random random = new Random(31);
+        for(int size = 1000; size <= maxSize; size *= 10) {
+
+            int[] ints = new int[size];
+            long[] longs = new long[size];
+            double[] doubles = new double[size];
+            for(int i = 0; i < size; i++) {
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+                doubles[i] = random.nextGaussian();
+            }
+
+            // The same list is refilled from the random values before each sort
+            IntArrayList intList = new IntArrayList(size);
+            LongArrayList longList = new LongArrayList(size);
+            DoubleArrayList doubleList = new DoubleArrayList(size);
+            int[] scratch = new int[size];
+
+            double intArrays = time(() -> System.arraycopy(ints, 0, scratch, 0, ints.length), () -> Arrays.sort(scratch));
+            double intRadix = time(() -> refill(intList, ints), intList::sort);
+            double intParallel = time(() -> refill(intList, ints), intList::parallelSort);
+            double longRadix = time(() -> { longList.clear(); longList.addAll(longs); }, longList::sort);
+            double doubleRadix = time(() -> { doubleList.clear(); doubleList.addAll(doubles); }, doubleList::sort);
+
+            String boxedSort = "-";
+            String boxedParallel = "-";
+            if(size <= MAX_BOXED_SIZE) {
+                ArrayList<Integer> source = new ArrayList<>(size);
+                for(int value: ints) source.add(value);
+                ArrayList<Integer> boxed = new ArrayList<>(size);
+                Runnable refillBoxed = () -> {
+                    boxed.removeRange(0, boxed.size());
+                    boxed.addAll(source);
+                };
+                boxedSort = String.format("%.3f", time(refillBoxed, () -> boxed.sort(null)));
+                boxedParallel = String.format("%.3f", time(refillBoxed, () -> boxed.parallelSort(null)));
+            }
+
+            System.out.printf("%-12d %12.3f %12.3f %12.3f %12.3f %12.3f %12s %12s%n", size, intArrays, intRadix, intParallel,
+                              longRadix, doubleRadix, boxedSort, boxedParallel);
+        }
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Refill a list with values
+     * @param list IntArrayList: list to refill
+     * @param values int[]: values to put in the list
+     */
+    private static void refill(IntArrayList list, int[] values) {
+        list.clear();
+        list.addAll(values);
+    }
+
+    /**
+     * Return the average time of a sort, running an untimed setup before each one
+     * @param setup Runnable: restores the unsorted values
+     * @param sort Runnable: sorts them
+     * @return double: milliseconds per sort
+     */
+    private static double time(Runnable setup, Runnable sort) {
+
+        // Warm up so the measured sorts run compiled code
+        long warmupEnd = System.nanoTime() + MIN_MEASURED_NANOS / 2;
+        for(int w = 0; w < 3 || System.nanoTime() < warmupEnd; w++) {
+            setup.run();
+            sort.run();
+        }
+
+        long measured = 0;
+        int runs = 0;
+        while(runs < 3 || measured < MIN_MEASURED_NANOS) {
+            setup.run();
+            long start = System.nanoTime();
+            sort.run();
+            measured += System.nanoTime() - start;
+            runs++;
+        }
+
+        blackhole += runs;
+        return measured / 1e6 / runs;
+    }
+
+}
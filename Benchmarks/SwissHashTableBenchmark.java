@@ -0,0 +1,125 @@
+package Benchmarks;
+
+import HashTable.HashTable;
+import HashTable.OpenAddressingHashTable;
+import HashTable.SwissHashTable;
+
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compares lookups that hit and lookups that miss across the chained, Robin Hood and Swiss tables, run from the command line:
+ * 'java -cp <classes> Benchmarks.SwissHashTableBenchmark [number of keys]'
+ * Each table is warmed up before it is measured, numbers are lookups per second
+ */
+public class SwissHashTableBenchmark {
+
+    // Number of keys placed in each table when none is given
+    private static final int DEFAULT_NUM_KEYS = 1_000_000;
+
+    // Number of measured passes over the lookup keys
+    private static final int PASSES = 5;
+
+    // Sink for results so the JIT cannot remove the lookups
+    private static long blackhole;
+
+    public static void main(String[] args) {
+
+        int numKeys = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_KEYS;
+
+        // Present keys in a random order, and the same number of absent keys
+        Random random = new Random(11);
+        String[] present = new String[numKeys];
+        String[] absent = new String[numKeys];
+        for(int i = 0; i < numKeys; i++) {
+            present[i] = "key-" + i;
+            absent[i] = "missing-" + i;
+        }
+        shuffle(present, random);
+
+        HashTable<String, Integer> chained = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        OpenAddressingHashTable<String, Integer> robinHood = new OpenAddressingHashTable<>();
+        SwissHashTable<String, Integer> swiss = new SwissHashTable<>();
+        for(int i = 0; i < numKeys; i++) {
+            chained.add(present[i], i);
+            robinHood.add(present[i], i);
+            swiss.add(present[i], i);
+        }
+
+        System.out.println("get() throughput, " + numKeys + " String keys");
+        System.out.printf("%-26s %15s %15s%n", "table", "hits/sec", "misses/sec");
+
+        // Each table has its own loop so the get call inside it only ever sees one class
+        benchmark("HashTable (power of two)", keys -> {
+            long found = 0;
+            for(String key: keys) if(chained.get(key) != null) found++;
+            return found;
+        }, present, absent);
+        benchmark("OpenAddressingHashTable", keys -> {
+            long found = 0;
+            for(String key: keys) if(robinHood.get(key) != null) found++;
+            return found;
+        }, present, absent);
+        benchmark("SwissHashTable", keys -> {
+            long found = 0;
+            for(String key: keys) if(swiss.get(key) != null) found++;
+            return found;
+        }, present, absent);
+
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Time lookups of present and absent keys and print a row
+     * @param name String: label for the table
+     * @param pass ToLongFunction<String[]>: looks up every key once and returns how many were found
+     * @param present String[]: keys in the table
+     * @param absent String[]: keys not in the table
+     */
+    private static void benchmark(String name, ToLongFunction<String[]> pass, String[] present, String[] absent) {
+
+        // Small tables get more passes so each measurement runs long enough
+        int passes = Math.max(PASSES, PASSES * DEFAULT_NUM_KEYS / present.length);
+
+        // Warm up so the measured passes run compiled code
+        lookupAll(pass, present, 2);
+        lookupAll(pass, absent, 2);
+
+        long start = System.nanoTime();
+        lookupAll(pass, present, passes);
+        double hits = (double)present.length * passes / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        lookupAll(pass, absent, passes);
+        double misses = (double)absent.length * passes / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-26s %,15.0f %,15.0f%n", name, hits, misses);
+    }
+
+    /**
+     * Look up every key a number of times
+     * @param pass ToLongFunction<String[]>: looks up every key once and returns how many were found
+     * @param keys String[]: keys to look up
+     * @param passes int: number of passes over the keys
+     */
+    private static void lookupAll(ToLongFunction<String[]> pass, String[] keys, int passes) {
+        for(int p = 0; p < passes; p++) {
+            blackhole += pass.applyAsLong(keys);
+        }
+    }
+
+    /**
+     * Shuffle an array in place
+     * @param keys String[]: array to shuffle
+     * @param random Random: source of randomness
+     */
+    private static void shuffle(String[] keys, Random random) {
+        for(int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+    }
+
+}
@@ -11,6 +11,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 import ArrayList.ArrayList;
+import ArrayList.GrowthPolicy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
 public class ArrayListTests {
 
@@ -212,5 +217,304 @@ public class ArrayListTests {
 
     }
 
-    
+    /**
+     * Test that an initial capacity and ensureCapacity size the underlying array up front so adds do not copy it
+     */
+    @Test
+    public void testInitialCapacityAndEnsureCapacity() {
+
+        // A list sized for its elements never grows
+        myList = new ArrayList<>(100);
+        assertEquals(100, myList.sizeUnderlying());
+        for(int i = 0; i < 100; i++) {
+            myList.add(i);
+        }
+        assertEquals(100, myList.sizeUnderlying());
+
+        // The next add doubles the array as before
+        myList.add(100);
+        assertEquals(200, myList.sizeUnderlying());
+
+        // Ensuring a smaller capacity does nothing, a larger one grows by the policy or to the request
+        myList.ensureCapacity(150);
+        assertEquals(200, myList.sizeUnderlying());
+        myList.ensureCapacity(300);
+        assertEquals(400, myList.sizeUnderlying());
+        myList.ensureCapacity(1000);
+        assertEquals(1000, myList.sizeUnderlying());
+
+        // The elements survive every copy
+        for(int i = 0; i <= 100; i++) {
+            assertEquals(i, (int)myList.get(i));
+        }
+
+        // An empty underlying array is allowed and grows on the first add
+        myList = new ArrayList<>(0);
+        assertEquals(0, myList.sizeUnderlying());
+        myList.add(1);
+        assertEquals(1, myList.sizeUnderlying());
+        assertEquals(1, (int)myList.get(0));
+
+        // Negative capacities are rejected
+        try {
+            new ArrayList<Integer>(-1);
+            assertTrue(false);
+        } catch(IllegalArgumentException expected) {
+            assertEquals(1, myList.size());
+        }
+
+    }
+
+    /**
+     * Test that trimToSize releases the unused part of the underlying array and the list keeps working afterwards
+     */
+    @Test
+    public void testTrimToSize() {
+
+        // The 5 elements from setup sit in an array of 8
+        assertEquals(8, myList.sizeUnderlying());
+        myList.trimToSize();
+        assertEquals(5, myList.sizeUnderlying());
+        assertEquals(5, myList.size());
+        for(int i = 0; i < 5; i++) {
+            assertEquals(i + 1, (int)myList.get(i));
+        }
+
+        // Adding to a trimmed list grows it again
+        myList.add(6);
+        assertEquals(10, myList.sizeUnderlying());
+        assertEquals(6, (int)myList.get(5));
+
+    }
+
+    /**
+     * Test the lengths chosen by each growth policy as a list grows one element at a time
+     */
+    @Test
+    public void testGrowthPolicies() {
+
+        assertEquals("[2, 3, 4, 6, 9, 13, 19]", capacitiesWhileGrowing(GrowthPolicy.oneAndAHalf(), 2, 15));
+        assertEquals("[2, 4, 8, 16]", capacitiesWhileGrowing(GrowthPolicy.doubling(), 2, 15));
+        assertEquals("[2, 7, 12, 17]", capacitiesWhileGrowing(GrowthPolicy.fixedIncrement(5), 2, 15));
+        assertEquals("[2, 4, 7, 10, 13, 16]", capacitiesWhileGrowing(GrowthPolicy.capped(3), 2, 15));
+
+        // Policies grow by at least one slot even from an empty array, and never past the largest array
+        assertEquals(1, GrowthPolicy.oneAndAHalf().newCapacity(0, 1));
+        assertEquals(Integer.MAX_VALUE - 8, GrowthPolicy.doubling().newCapacity(1 << 30, (1 << 30) + 1));
+
+        // Required lengths that overflowed are reported rather than allocated
+        try {
+            GrowthPolicy.doubling().newCapacity(10, Integer.MIN_VALUE);
+            assertTrue(false);
+        } catch(OutOfMemoryError expected) {
+            assertTrue(expected.getMessage().contains("too large"));
+        }
+
+    }
+
+    /**
+     * Test appending and inserting whole lists, including a list into itself and out-of-range indices
+     */
+    @Test
+    public void testAddAllAndInsertAll() {
+
+        ArrayList<Integer> other = new ArrayList<>();
+        other.add(10);
+        other.add(11);
+
+        // Append keeps the order of both lists
+        myList.addAll(other);
+        assertEquals("[1, 2, 3, 4, 5, 10, 11]", contents(myList));
+
+        // Insert in the middle, at the front and at the end
+        assertTrue(myList.insertAll(2, other));
+        assertEquals("[1, 2, 10, 11, 3, 4, 5, 10, 11]", contents(myList));
+        assertTrue(myList.insertAll(0, new ArrayList<>()));
+        assertEquals(9, myList.size());
+        assertTrue(myList.insertAll(myList.size(), other));
+        assertEquals(11, myList.size());
+
+        // Indices outside 0 to size() are refused
+        assertFalse(myList.insertAll(-1, other));
+        assertFalse(myList.insertAll(12, other));
+        assertEquals(11, myList.size());
+
+        // A list can be inserted into itself
+        other.insertAll(1, other);
+        assertEquals("[10, 10, 11, 11]", contents(other));
+
+    }
+
+    /**
+     * Test removing ranges and that the vacated slots no longer reference removed elements
+     */
+    @Test
+    public void testRemoveRange() {
+
+        // Remove 2, 3 and 4
+        assertTrue(myList.removeRange(1, 4));
+        assertEquals("[1, 5]", contents(myList));
+
+        // An empty range removes nothing, a range beyond the list is refused
+        assertTrue(myList.removeRange(1, 1));
+        assertFalse(myList.removeRange(1, 3));
+        assertFalse(myList.removeRange(2, 1));
+        assertEquals(2, myList.size());
+
+        // Removing everything leaves a usable list
+        assertTrue(myList.removeRange(0, 2));
+        assertEquals(0, myList.size());
+        myList.add(7);
+        assertEquals("[7]", contents(myList));
+
+    }
+
+    /**
+     * Test removeIf and retainAll against a large list, and that a throwing filter leaves untested elements in place
+     */
+    @Test
+    public void testRemoveIfAndRetainAll() {
+
+        // Remove the odd numbers from 0 to 99999 in one pass
+        myList = new ArrayList<>();
+        for(int i = 0; i < 100000; i++) {
+            myList.add(i);
+        }
+        assertEquals(50000, myList.removeIf(x -> x % 2 == 1));
+        assertEquals(50000, myList.size());
+        for(int i = 0; i < myList.size(); i++) {
+            assertEquals(2 * i, (int)myList.get(i));
+        }
+
+        // Keep the multiples of 3 among the remaining even numbers
+        assertEquals(33333, myList.retainAll(x -> x % 3 == 0));
+        assertEquals(16667, myList.size());
+        assertEquals(99996, (int)myList.get(16666));
+
+        // Nothing matching removes nothing
+        assertEquals(0, myList.removeIf(x -> x < 0));
+        assertEquals(16667, myList.size());
+
+        // A filter that throws at 3 has already removed 2, and 3 onwards stay in the list
+        ArrayList<Integer> list = new ArrayList<>();
+        for(int i = 1; i <= 5; i++) {
+            list.add(i);
+        }
+        try {
+            list.removeIf(x -> {
+                if(x == 3) throw new IllegalStateException();
+                return x == 2;
+            });
+            assertTrue(false);
+        } catch(IllegalStateException expected) {
+            assertEquals("[1, 3, 4, 5]", contents(list));
+        }
+
+    }
+
+    /**
+     * Test that deleting by object still works when the list's underlying array is full
+     */
+    @Test
+    public void testDeleteObjectFromFullArray() {
+
+        myList = new ArrayList<>(3);
+        myList.add(1);
+        myList.add(2);
+        myList.add(3);
+        assertTrue(myList.delete((Object)1));
+        assertEquals("[2, 3]", contents(myList));
+
+    }
+
+    /**
+     * Test sorting in place by natural and custom orderings, stability, and searching the sorted list
+     */
+    @Test
+    public void testSortAndBinarySearch() {
+
+        // Natural ordering of a shuffled list
+        myList = new ArrayList<>();
+        int[] shuffled = {5, 3, 9, 1, 7, 2, 8, 6, 4, 0};
+        for(int value: shuffled) {
+            myList.add(value);
+        }
+        myList.sort(null);
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", contents(myList));
+        assertEquals(7, myList.binarySearch(7, null));
+        assertEquals(-11, myList.binarySearch(10, null));
+
+        // A custom ordering, searched with the same ordering
+        myList.sort(Comparator.reverseOrder());
+        assertEquals("[9, 8, 7, 6, 5, 4, 3, 2, 1, 0]", contents(myList));
+        assertEquals(2, myList.binarySearch(7, Comparator.reverseOrder()));
+
+        // Elements that compare equal keep their order: sorting by tens leaves the ones digits in insertion order
+        myList = new ArrayList<>();
+        int[] values = {31, 12, 35, 10, 33, 14};
+        for(int value: values) {
+            myList.add(value);
+        }
+        myList.sort(Comparator.comparingInt(x -> x / 10));
+        assertEquals("[12, 10, 14, 31, 35, 33]", contents(myList));
+
+    }
+
+    /**
+     * Test that the parallel sort agrees with the sequential sort on a list large enough to be split
+     */
+    @Test
+    public void testParallelSort() {
+
+        ArrayList<Integer> parallel = new ArrayList<>();
+        ArrayList<Integer> sequential = new ArrayList<>();
+        Random random = new Random(17);
+        for(int i = 0; i < 100000; i++) {
+            int value = random.nextInt(1000);
+            parallel.add(value);
+            sequential.add(value);
+        }
+
+        parallel.parallelSort(null);
+        sequential.sort(null);
+        for(int i = 0; i < 100000; i++) {
+            assertEquals(sequential.get(i), parallel.get(i));
+        }
+        for(int i = 1; i < 100000; i++) {
+            assertTrue(parallel.get(i - 1) <= parallel.get(i));
+        }
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Return the elements of a list in order
+     * @param list ArrayList<Integer>: list to print
+     * @return String: elements in brackets separated by commas
+     */
+    private static String contents(ArrayList<Integer> list) {
+        List<Integer> elements = new java.util.ArrayList<>();
+        for(Object o: list) elements.add((Integer)o);
+        return elements.toString();
+    }
+
+    /**
+     * Return the distinct underlying lengths a list passes through while growing to a number of elements
+     * @param policy GrowthPolicy: policy under test
+     * @param initialCapacity int: starting length
+     * @param elements int: number of elements to add
+     * @return String: lengths in order
+     */
+    private static String capacitiesWhileGrowing(GrowthPolicy policy, int initialCapacity, int elements) {
+        ArrayList<Integer> list = new ArrayList<>(initialCapacity, policy);
+        List<Integer> capacities = new java.util.ArrayList<>();
+        capacities.add(list.sizeUnderlying());
+        for(int i = 0; i < elements; i++) {
+            list.add(i);
+            if(list.sizeUnderlying() != capacities.get(capacities.size() - 1)) capacities.add(list.sizeUnderlying());
+        }
+        return capacities.toString();
+    }
+
 }
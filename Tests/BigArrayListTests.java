@@ -0,0 +1,173 @@
+package Tests;
+
+import ArrayList.BigArrayList;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BigArrayListTests {
+
+    /**
+     * Test add, get and set across chunk boundaries, using chunks of 4 elements
+     */
+    @Test
+    public void testAddGetSetAcrossChunks() {
+
+        BigArrayList<Integer> list = new BigArrayList<>(2);
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.capacity());
+
+        // Each fifth element allocates a new chunk
+        for(int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        assertEquals(10, list.size());
+        assertEquals(12, list.capacity());
+        for(long i = 0; i < 10; i++) {
+            assertEquals(i, (long)list.get(i));
+        }
+
+        // Set replaces an element in range and reports failure outside it
+        assertTrue(list.set(-4, 4L));
+        assertEquals(-4, (int)list.get(4));
+        assertFalse(list.set(0, 10L));
+        assertFalse(list.set(0, -1L));
+
+        // Reading past the size fails even though the chunk has room
+        try {
+            list.get(10);
+            assertTrue(false);
+        } catch(IndexOutOfBoundsException expected) {
+            assertEquals(10, list.size());
+        }
+
+    }
+
+    /**
+     * Test removing from the end, releasing unused chunks and clearing
+     */
+    @Test
+    public void testRemoveLastTrimAndClear() {
+
+        BigArrayList<String> list = new BigArrayList<>(2);
+        for(int i = 0; i < 9; i++) {
+            list.add("e" + i);
+        }
+
+        // Removing leaves the chunks allocated until trimmed
+        assertEquals("e8", list.removeLast());
+        assertEquals("e7", list.removeLast());
+        assertEquals(7, list.size());
+        assertEquals(12, list.capacity());
+        list.trimToSize();
+        assertEquals(8, list.capacity());
+
+        // Adding after a trim allocates again
+        list.add("x");
+        list.add("y");
+        assertEquals("y", list.get(8));
+        assertEquals(12, list.capacity());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.capacity());
+        assertNull(list.removeLast());
+        list.add("z");
+        assertEquals("z", list.get(0));
+
+    }
+
+    /**
+     * Test that iteration visits every element in order and ends with NoSuchElementException
+     */
+    @Test
+    public void testIterator() {
+
+        BigArrayList<Integer> list = new BigArrayList<>(3);
+        for(int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        int check = 0;
+        for(int element: list) {
+            assertEquals(check++, element);
+        }
+        assertEquals(100, check);
+
+        Iterator<Integer> iterator = new BigArrayList<Integer>().iterator();
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            assertTrue(false);
+        } catch(NoSuchElementException expected) {
+            assertFalse(iterator.hasNext());
+        }
+
+    }
+
+    /**
+     * Test that the spliterator splits only at chunk boundaries and that the pieces cover every element once
+     */
+    @Test
+    public void testSpliteratorSplitsAtChunkBoundaries() {
+
+        BigArrayList<Integer> list = new BigArrayList<>(2);
+        for(int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        // 10 elements in chunks of 4 split at 4, and the lower half at nothing smaller than a chunk
+        Spliterator<Integer> upper = list.spliterator();
+        Spliterator<Integer> lower = upper.trySplit();
+        assertEquals(4, lower.estimateSize());
+        assertEquals(6, upper.estimateSize());
+        assertNull(lower.trySplit());
+
+        // A range starting inside a chunk still splits at the next boundary
+        upper.tryAdvance(x -> assertEquals(4, (int)x));
+        Spliterator<Integer> middle = upper.trySplit();
+        assertEquals(3, middle.estimateSize());
+        assertEquals(2, upper.estimateSize());
+
+        // The pieces hold every element once and in order
+        List<Integer> seen = new ArrayList<>();
+        lower.forEachRemaining(seen::add);
+        middle.forEachRemaining(seen::add);
+        upper.forEachRemaining(seen::add);
+        assertEquals("[0, 1, 2, 3, 5, 6, 7, 8, 9]", seen.toString());
+
+    }
+
+    /**
+     * Test that sequential and parallel streams agree on a list of many chunks
+     */
+    @Test
+    public void testParallelStream() {
+
+        BigArrayList<Long> list = new BigArrayList<>(10);
+        for(long i = 0; i < 1_000_000; i++) {
+            list.add(i);
+        }
+
+        long expected = 999_999L * 1_000_000 / 2;
+        assertEquals(expected, list.stream().mapToLong(Long::longValue).sum());
+        assertEquals(expected, list.stream().parallel().mapToLong(Long::longValue).sum());
+
+        // Parallel streams keep the encounter order
+        List<Long> firstTen = list.stream().parallel().limit(10).collect(Collectors.toList());
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", firstTen.toString());
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package Tests;
+
+import HashTable.ConcurrentHashTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class ConcurrentHashTableTests {
+
+    ConcurrentHashTable<Integer, Integer> myTable;
+
+    /**
+     * Setup a table with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() {
+
+        myTable = new ConcurrentHashTable<>();
+
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            myTable.add(i, decrement--);
+        }
+
+    }
+
+    /**
+     * Test the single threaded add/get/remove contract matches HashTable
+     */
+    @Test
+    public void testSingleThreadedOperations() {
+
+        assertEquals(7, myTable.getSize());
+        assertFalse(myTable.isEmpty());
+
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertEquals(decrement--, (int)myTable.get(i));
+        }
+
+        // Replacing keeps the size
+        myTable.add(1, 100);
+        assertEquals(100, (int)myTable.get(1));
+        assertEquals(7, myTable.getSize());
+
+        // Removing returns the value once
+        assertEquals(5, (int)myTable.remove(3));
+        assertNull(myTable.remove(3));
+        assertNull(myTable.get(3));
+        assertEquals(6, myTable.getSize());
+
+        // Null keys and values are ignored
+        myTable.add(null, 1);
+        myTable.add(50, null);
+        assertEquals(6, myTable.getSize());
+
+        myTable.clear();
+        assertTrue(myTable.isEmpty());
+
+    }
+
+    /**
+     * Test that writers on many threads lose no entries while segments resize,
+     * and that readers running at the same time only ever see absent or correct values
+     */
+    @Test
+    public void testConcurrentWritersAndReaders() throws InterruptedException {
+
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(8);
+        int threads = 8;
+        int keysPerThread = 20000;
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = java.util.Collections.synchronizedList(new ArrayList<>());
+
+        // Each writer adds a disjoint range, then removes every other key of it
+        for(int t = 0; t < threads; t++) {
+            int base = t * keysPerThread;
+            workers.add(new Thread(() -> {
+                for(int i = base; i < base + keysPerThread; i++) table.add(i, -i);
+                for(int i = base; i < base + keysPerThread; i += 2) table.remove(i);
+            }));
+        }
+
+        // Readers check every value they observe belongs to its key
+        for(int t = 0; t < 2; t++) {
+            workers.add(new Thread(() -> {
+                try {
+                    for(int pass = 0; pass < 5; pass++) {
+                        for(int i = 0; i < threads * keysPerThread; i++) {
+                            Integer value = table.get(i);
+                            if(value != null) assertEquals(-i, (int)value);
+                        }
+                    }
+                } catch(Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+
+        for(Thread worker: workers) worker.start();
+        for(Thread worker: workers) worker.join();
+
+        assertTrue(failures.isEmpty());
+        assertEquals(threads * keysPerThread / 2, table.getSize());
+        for(int i = 0; i < threads * keysPerThread; i++) {
+            if(i % 2 == 0) assertNull(table.get(i));
+            else assertEquals(-i, (int)table.get(i));
+        }
+
+    }
+
+    /**
+     * Test the single threaded contract of addIfAbsent, computeIfAbsent, computeIfPresent, compute and merge
+     */
+    @Test
+    public void testComputeOperations() {
+
+        // addIfAbsent keeps an existing value
+        assertEquals(7, (int)myTable.addIfAbsent(1, 100));
+        assertNull(myTable.addIfAbsent(20, 20));
+        assertEquals(20, (int)myTable.get(20));
+
+        // computeIfAbsent only calls the function for absent keys
+        assertEquals(7, (int)myTable.computeIfAbsent(1, key -> { throw new AssertionError(); }));
+        assertEquals(42, (int)myTable.computeIfAbsent(21, key -> key * 2));
+        assertNull(myTable.computeIfAbsent(22, key -> null));
+        assertNull(myTable.get(22));
+
+        // computeIfPresent replaces, or removes on null
+        assertNull(myTable.computeIfPresent(30, (key, value) -> 1));
+        assertEquals(70, (int)myTable.computeIfPresent(1, (key, value) -> value * 10));
+        assertNull(myTable.computeIfPresent(2, (key, value) -> null));
+        assertNull(myTable.get(2));
+
+        // compute sees null for absent keys
+        assertEquals(-1, (int)myTable.compute(31, (key, value) -> value == null ? -1 : value));
+        assertNull(myTable.compute(31, (key, value) -> null));
+        assertNull(myTable.get(31));
+
+        // merge adds, combines and removes
+        assertEquals(5, (int)myTable.merge(40, 5, Integer::sum));
+        assertEquals(10, (int)myTable.merge(40, 5, Integer::sum));
+        assertNull(myTable.merge(40, 5, (a, b) -> null));
+        assertNull(myTable.get(40));
+
+        assertEquals(8, myTable.getSize());
+
+    }
+
+    /**
+     * Test that merge and computeIfAbsent are atomic when many threads hit the same keys
+     */
+    @Test
+    public void testConcurrentMergeAndComputeIfAbsent() throws InterruptedException {
+
+        ConcurrentHashTable<Integer, Integer> counts = new ConcurrentHashTable<>(4);
+        ConcurrentHashTable<Integer, Object> memo = new ConcurrentHashTable<>(4);
+        java.util.concurrent.atomic.AtomicInteger computations = new java.util.concurrent.atomic.AtomicInteger();
+        int threads = 4;
+        int increments = 20000;
+        List<Thread> workers = new ArrayList<>();
+
+        // Every thread counts the same 100 keys and memoizes the same 1000 keys
+        for(int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for(int i = 0; i < increments; i++) {
+                    counts.merge(i % 100, 1, Integer::sum);
+                    memo.computeIfAbsent(i % 1000, key -> {
+                        computations.incrementAndGet();
+                        return new Object();
+                    });
+                }
+            }));
+        }
+
+        for(Thread worker: workers) worker.start();
+        for(Thread worker: workers) worker.join();
+
+        // No increment is lost and each value is computed once
+        for(int key = 0; key < 100; key++) {
+            assertEquals(threads * increments / 100, (int)counts.get(key));
+        }
+        assertEquals(1000, computations.get());
+        assertEquals(1000, memo.getSize());
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package Tests;
+
+import HashTable.FrozenHashTable;
+import HashTable.HashTable;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class FrozenHashTableTests {
+
+    FrozenHashTable<Integer, Integer> myTable;
+
+    /**
+     * Setup a frozen table with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() {
+
+        HashTable<Integer, Integer> source = new HashTable<>();
+
+        // Associate values 7 - 1 with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            source.add(i, decrement--);
+        }
+
+        myTable = source.freeze();
+
+    }
+
+    /**
+     * Verify the setup contents, one slot per key
+     */
+    @Test
+    public void setupHashTableSuccessful() {
+
+        assertFalse(myTable.isEmpty());
+        assertEquals(7, myTable.getSize());
+        assertEquals(7, myTable.getNumberOfBuckets());
+
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertEquals(decrement--, (int)myTable.get(i));
+            assertTrue(myTable.containsKey(i));
+        }
+
+        assertNull(myTable.get(0));
+        assertNull(myTable.get(8));
+        assertNull(myTable.get(null));
+        assertFalse(myTable.containsKey(-1));
+
+    }
+
+    /**
+     * Test that the frozen copy does not change with the table it came from
+     */
+    @Test
+    public void testFreezeIsASnapshot() {
+
+        HashTable<String, Integer> source = new HashTable<>();
+        source.add("a", 1);
+        source.add("b", 2);
+
+        FrozenHashTable<String, Integer> frozen = source.freeze();
+        source.add("a", 10);
+        source.add("c", 3);
+        source.remove("b");
+
+        assertEquals(2, frozen.getSize());
+        assertEquals(1, (int)frozen.get("a"));
+        assertEquals(2, (int)frozen.get("b"));
+        assertNull(frozen.get("c"));
+
+    }
+
+    /**
+     * Test that freezing an empty table gives an empty table
+     */
+    @Test
+    public void testFreezeEmpty() {
+
+        FrozenHashTable<String, Integer> frozen = new HashTable<String, Integer>().freeze();
+        assertTrue(frozen.isEmpty());
+        assertNull(frozen.get("a"));
+
+    }
+
+    /**
+     * Test that keys sharing a hash code are all found, and an absent key with that hash code is not
+     */
+    @Test
+    public void testEqualHashCodes() {
+
+        // "Aa" and "BB" have the same String hash code, and so do all eight concatenations of them
+        HashTable<String, Integer> source = new HashTable<>();
+        String[] parts = {"Aa", "BB"};
+        int value = 0;
+        for(String a: parts) for(String b: parts) for(String c: parts) {
+            source.add(a + b + c, value++);
+        }
+        source.add("other", 100);
+
+        FrozenHashTable<String, Integer> frozen = source.freeze();
+        assertEquals(9, frozen.getSize());
+        assertEquals(2, frozen.getNumberOfBuckets());
+
+        value = 0;
+        for(String a: parts) for(String b: parts) for(String c: parts) {
+            assertEquals(value++, (int)frozen.get(a + b + c));
+        }
+        assertEquals(100, (int)frozen.get("other"));
+        assertNull(frozen.get("AaAaAaAa"));
+
+    }
+
+    /**
+     * Test that expired entries are left out
+     */
+    @Test
+    public void testExpiredEntriesLeftOut() {
+
+        long[] now = {0};
+        HashTable<String, Integer> source = new HashTable<>();
+        source.setTicker(() -> now[0]);
+        source.add("short", 1, Duration.ofMillis(10));
+        source.add("forever", 2);
+
+        now[0] = Duration.ofMillis(20).toNanos();
+        FrozenHashTable<String, Integer> frozen = source.freeze();
+        assertEquals(1, frozen.getSize());
+        assertNull(frozen.get("short"));
+        assertEquals(2, (int)frozen.get("forever"));
+
+    }
+
+    /**
+     * Test a large random table, where the minimal perfect hash has to place many buckets into a nearly full table
+     */
+    @Test
+    public void testLargeRandomTable() {
+
+        HashTable<Long, Long> source = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        Random random = new Random(7);
+        long[] keys = new long[100_000];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            source.add(keys[i], (long)i);
+        }
+
+        FrozenHashTable<Long, Long> frozen = source.freeze();
+        assertEquals(source.getSize(), frozen.getSize());
+
+        for(int i = 0; i < keys.length; i++) {
+            assertEquals(source.get(keys[i]), frozen.get(keys[i]));
+        }
+        for(int i = 0; i < 10_000; i++) {
+            long absent = random.nextLong();
+            assertEquals(source.get(absent), frozen.get(absent));
+        }
+
+    }
+
+}
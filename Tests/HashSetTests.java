@@ -0,0 +1,180 @@
+package Tests;
+
+import HashTable.HashMultimap;
+import HashTable.HashSet;
+import HashTable.HashTable;
+
+import ArrayList.ArrayList;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class HashSetTests {
+
+    HashSet<Integer> mySet;
+
+    /**
+     * Setup a set with elements 1 - 7
+     */
+    @Before
+    public void setupHashSet() {
+
+        mySet = new HashSet<>();
+        for(int i = 1; i < 8; i++) {
+            mySet.add(i);
+        }
+
+    }
+
+    /**
+     * Build a set of the integers in a range
+     */
+    private static HashSet<Integer> range(int from, int to) {
+        HashSet<Integer> set = new HashSet<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        for(int i = from; i < to; i++) {
+            set.add(i);
+        }
+        return set;
+    }
+
+    /**
+     * Assert a set holds exactly the integers in a range
+     */
+    private static void assertRange(HashSet<Integer> set, int from, int to) {
+        assertEquals(Math.max(0, to - from), set.getSize());
+        for(int i = from; i < to; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    /**
+     * Verify the setup contents
+     */
+    @Test
+    public void setupHashSetSuccessful() {
+
+        assertFalse(mySet.isEmpty());
+        assertRange(mySet, 1, 8);
+        assertFalse(mySet.contains(8));
+        assertFalse(mySet.contains(null));
+
+    }
+
+    /**
+     * Test that add and remove report whether they changed the set
+     */
+    @Test
+    public void testAddAndRemove() {
+
+        assertFalse(mySet.add(1));
+        assertTrue(mySet.add(8));
+        assertFalse(mySet.add(null));
+        assertEquals(8, mySet.getSize());
+
+        assertTrue(mySet.remove(8));
+        assertFalse(mySet.remove(8));
+        assertEquals(7, mySet.getSize());
+
+        mySet.clear();
+        assertTrue(mySet.isEmpty());
+
+    }
+
+    /**
+     * Test iterating visits every element once
+     */
+    @Test
+    public void testIterator() {
+
+        int sum = 0;
+        int count = 0;
+        Iterator<Integer> elements = mySet.iterator();
+        while(elements.hasNext()) {
+            sum += elements.next();
+            count++;
+        }
+
+        assertEquals(7, count);
+        assertEquals(28, sum);
+
+    }
+
+    /**
+     * Test union, intersection and difference with either set the smaller one, leaving both sets unchanged
+     */
+    @Test
+    public void testSetAlgebra() {
+
+        HashSet<Integer> small = range(0, 100);
+        HashSet<Integer> large = range(50, 1000);
+
+        assertRange(small.union(large), 0, 1000);
+        assertRange(large.union(small), 0, 1000);
+
+        assertRange(small.intersect(large), 50, 100);
+        assertRange(large.intersect(small), 50, 100);
+
+        assertRange(small.difference(large), 0, 50);
+        assertRange(large.difference(small), 100, 1000);
+
+        // Disjoint and empty sets
+        assertRange(small.intersect(range(500, 600)), 0, 0);
+        assertRange(small.difference(new HashSet<>()), 0, 100);
+        assertRange(new HashSet<Integer>().union(small), 0, 100);
+
+        assertRange(small, 0, 100);
+        assertRange(large, 50, 1000);
+
+    }
+
+    /**
+     * Test a multimap keeps every value of a key in order, and drops a key with its last value
+     */
+    @Test
+    public void testMultimap() {
+
+        HashMultimap<String, Integer> multimap = new HashMultimap<>();
+        multimap.put("a", 1);
+        multimap.put("a", 2);
+        multimap.put("a", 1);
+        multimap.put("b", 3);
+        multimap.put(null, 4);
+
+        assertEquals(4, multimap.getSize());
+        assertEquals(2, multimap.getKeyCount());
+
+        ArrayList<Integer> values = multimap.get("a");
+        assertEquals(3, values.size());
+        assertEquals(1, (int)values.get(0));
+        assertEquals(2, (int)values.get(1));
+        assertEquals(1, (int)values.get(2));
+        assertNull(multimap.get("c"));
+
+        assertTrue(multimap.containsEntry("a", 2));
+        assertFalse(multimap.containsEntry("b", 2));
+
+        // Removing one occurrence keeps the others
+        assertTrue(multimap.remove("a", 1));
+        assertFalse(multimap.remove("a", 5));
+        assertEquals(2, multimap.get("a").size());
+        assertEquals(2, (int)multimap.get("a").get(0));
+
+        // The last value takes the key with it
+        assertTrue(multimap.remove("b", 3));
+        assertFalse(multimap.containsKey("b"));
+        assertEquals(1, multimap.getKeyCount());
+
+        assertEquals(2, multimap.removeAll("a").size());
+        assertNull(multimap.removeAll("a"));
+        assertTrue(multimap.isEmpty());
+
+    }
+
+}
@@ -1,6 +1,18 @@
 package Tests;
 
+import ArrayList.ArrayList;
+import HashTable.HashNode;
 import HashTable.HashTable;
+import HashTable.HashTableStatistics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.junit.Before;
 import org.junit.After;
@@ -270,5 +282,863 @@ public class HashTableTests {
         assertNull(myTable.get(8));
 
     }
-    
+
+    /**
+     * Test that the power of two bucket mode starts at 16 buckets, doubles at the load factor
+     * and keeps every key reachable through the masked index
+     */
+    @Test
+    public void testPowerOfTwoBucketsResizeAndLookup() {
+
+        HashTable<Integer, Integer> newTable = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+
+        // Verify the table starts with a power of two bucket count
+        assertEquals(16, newTable.getNumberOfBuckets());
+
+        // Keys that are all multiples of 16 would share a bucket without hash spreading
+        for(int i = 0; i < 11; i++) {
+            newTable.add(i << 4, i);
+        }
+        assertEquals(16, newTable.getNumberOfBuckets());
+
+        // The 12th element reaches the 0.75 load factor and doubles the buckets
+        newTable.add(11 << 4, 11);
+        assertEquals(32, newTable.getNumberOfBuckets());
+        assertEquals(12, newTable.getSize());
+
+        // Validate every key is still associated with its value and removal works
+        for(int i = 0; i < 12; i++) {
+            assertEquals(i, (int)newTable.get(i << 4));
+        }
+        assertEquals(5, (int)newTable.remove(5 << 4));
+        assertNull(newTable.get(5 << 4));
+
+        // Clearing returns to the power of two initial size
+        newTable.clear();
+        assertEquals(16, newTable.getNumberOfBuckets());
+        assertTrue(newTable.isEmpty());
+
+    }
+
+    /**
+     * Test that incremental resizing doubles the bucket count at the load factor and that
+     * keys stay reachable, replaceable and removable while buckets are split between the two lists
+     */
+    @Test
+    public void testIncrementalResizeKeepsEveryKeyReachable() {
+
+        HashTable<Integer, Integer> newTable = new HashTable<>(HashTable.Option.INCREMENTAL_RESIZE);
+        java.util.HashMap<Integer, Integer> reference = new java.util.HashMap<>();
+        java.util.Random random = new java.util.Random(3);
+
+        // The 8th element crosses the load factor just like the default mode
+        for(int i = 0; i < 8; i++) {
+            newTable.add(i, i);
+            reference.put(i, i);
+        }
+        assertEquals(20, newTable.getNumberOfBuckets());
+
+        // Mix adds, replacements and removals so many operations land mid-resize
+        for(int i = 0; i < 20000; i++) {
+
+            int key = random.nextInt(5000);
+
+            if(random.nextInt(4) == 0) {
+                assertEquals(reference.remove(key), newTable.remove(key));
+            }
+            else {
+                newTable.add(key, i);
+                reference.put(key, i);
+            }
+
+            assertEquals(reference.size(), newTable.getSize());
+        }
+
+        // Every key agrees with the reference map
+        for(int key = 0; key < 5000; key++) {
+            assertEquals(reference.get(key), newTable.get(key));
+        }
+
+    }
+
+    /**
+     * Key whose hash code is the same for every instance and which cannot be ordered
+     */
+    static class CollidingKey {
+
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && ((CollidingKey)o).id == id;
+        }
+
+    }
+
+    /**
+     * Key whose hash code is the same for every instance but which can be ordered
+     */
+    static class ComparableCollidingKey extends CollidingKey implements Comparable<ComparableCollidingKey> {
+
+        ComparableCollidingKey(int id) {
+            super(id);
+        }
+
+        @Override
+        public int compareTo(ComparableCollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+    }
+
+    /**
+     * Test that buckets full of colliding keys (turned into trees past the chain threshold, and back
+     * into chains as they shrink) still add, replace, find and remove exactly the right keys
+     */
+    @Test
+    public void testCollidingKeysInTreeifiedBuckets() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_BUCKETS}}) {
+
+            HashTable<CollidingKey, Integer> newTable = new HashTable<>(options);
+
+            // Mix ordered and unordered keys in the same bucket
+            for(int i = 0; i < 2000; i++) {
+                CollidingKey key = i % 2 == 0 ? new ComparableCollidingKey(i) : new CollidingKey(i);
+                newTable.add(key, i);
+            }
+            assertEquals(2000, newTable.getSize());
+
+            // Lookups use fresh but equal keys
+            for(int i = 0; i < 2000; i++) {
+                CollidingKey key = i % 2 == 0 ? new ComparableCollidingKey(i) : new CollidingKey(i);
+                assertEquals(i, (int)newTable.get(key));
+            }
+            assertNull(newTable.get(new CollidingKey(2001)));
+            assertNull(newTable.get(new ComparableCollidingKey(1)));
+
+            // Replace a value inside the tree
+            newTable.add(new ComparableCollidingKey(10), -10);
+            assertEquals(-10, (int)newTable.get(new ComparableCollidingKey(10)));
+            assertEquals(2000, newTable.getSize());
+
+            // Remove all but a handful so the bucket turns back into a chain
+            for(int i = 0; i < 1995; i++) {
+                CollidingKey key = i % 2 == 0 ? new ComparableCollidingKey(i) : new CollidingKey(i);
+                assertEquals(i == 10 ? -10 : i, (int)newTable.remove(key));
+            }
+            assertEquals(5, newTable.getSize());
+
+            for(int i = 1995; i < 2000; i++) {
+                CollidingKey key = i % 2 == 0 ? new ComparableCollidingKey(i) : new CollidingKey(i);
+                assertEquals(i, (int)newTable.get(key));
+            }
+        }
+
+    }
+
+    /**
+     * Test that entries with a time-to-live disappear once it passes, both lazily on get and from the timer wheel
+     */
+    @Test
+    public void testTimeToLiveExpiry() {
+
+        // Drive time by hand
+        long[] now = {0};
+        HashTable<String, Integer> newTable = new HashTable<>();
+        newTable.setTicker(() -> now[0]);
+
+        newTable.add("short", 1, Duration.ofMillis(10));
+        newTable.add("long", 2, Duration.ofHours(10));
+        newTable.add("forever", 3);
+        assertEquals(3, newTable.getSize());
+
+        // Just before the deadline the entry is still there, at the deadline it is gone
+        now[0] = Duration.ofMillis(10).toNanos() - 1;
+        assertEquals(1, (int)newTable.get("short"));
+        now[0]++;
+        assertNull(newTable.get("short"));
+        assertEquals(2, newTable.getSize());
+
+        // The wheel removes expired entries without them being looked up
+        for(int i = 0; i < 100; i++) {
+            newTable.add("key" + i, i, Duration.ofSeconds(1 + i % 5));
+        }
+        assertEquals(102, newTable.getSize());
+        now[0] += Duration.ofSeconds(6).toNanos();
+        newTable.remove("absent");
+        assertEquals(2, newTable.getSize());
+
+        // Deadlines past the coarsest wheel level still fire
+        now[0] = Duration.ofHours(10).toNanos() - 1;
+        assertEquals(2, (int)newTable.get("long"));
+
+        // The wheel fires within a tick (about a millisecond) of the deadline
+        now[0] += Duration.ofMillis(2).toNanos();
+        newTable.remove("absent");
+        assertEquals(1, newTable.getSize());
+        assertEquals(3, (int)newTable.get("forever"));
+
+        // Time-to-live must be positive
+        try {
+            newTable.add("bad", 0, Duration.ZERO);
+            assertTrue(false);
+        } catch(IllegalArgumentException expected) {
+            assertNull(newTable.get("bad"));
+        }
+
+    }
+
+    /**
+     * Test that removing an entry whose time-to-live has passed, before the wheel has fired, unlinks it but returns null
+     */
+    @Test
+    public void testRemoveExpiredBeforeTick() {
+
+        // Drive time by hand
+        long[] now = {0};
+        HashTable<String, Integer> newTable = new HashTable<>();
+        newTable.setTicker(() -> now[0]);
+
+        newTable.add("late", 1, Duration.ofNanos(5));
+        newTable.add("live", 2, Duration.ofSeconds(1));
+
+        // Past the deadline but well inside the wheel's first tick
+        now[0] = Duration.ofNanos(1000).toNanos();
+        assertNull(newTable.remove("late"));
+        assertEquals(1, newTable.getSize());
+        assertNull(newTable.get("late"));
+
+        // The live entry is still returned and the wheel no longer holds the removed one
+        assertEquals(2, (int)newTable.remove("live"));
+        assertEquals(0, newTable.getSize());
+        now[0] = Duration.ofSeconds(2).toNanos();
+        newTable.remove("absent");
+        assertEquals(0, newTable.getSize());
+
+    }
+
+    /**
+     * Test that re-adding a key replaces its time-to-live: a new one restarts it, none makes the entry permanent
+     */
+    @Test
+    public void testTimeToLiveReplacement() {
+
+        long[] now = {0};
+        HashTable<Integer, Integer> newTable = new HashTable<>(HashTable.Option.INCREMENTAL_RESIZE);
+        newTable.setTicker(() -> now[0]);
+
+        for(int i = 0; i < 1000; i++) {
+            newTable.add(i, i, Duration.ofSeconds(1));
+        }
+
+        // Restart half of the keys and make a tenth permanent
+        now[0] = Duration.ofMillis(900).toNanos();
+        for(int i = 0; i < 1000; i += 2) {
+            newTable.add(i, -i, Duration.ofSeconds(1));
+        }
+        for(int i = 1; i < 1000; i += 10) {
+            newTable.add(i, i);
+        }
+
+        // The untouched keys expire, the restarted and permanent ones stay
+        now[0] = Duration.ofMillis(1500).toNanos();
+        newTable.remove(-1);
+        assertEquals(600, newTable.getSize());
+        for(int i = 0; i < 1000; i++) {
+            if(i % 2 == 0) assertEquals(-i, (int)newTable.get(i));
+            else if(i % 10 == 1) assertEquals(i, (int)newTable.get(i));
+            else assertNull(newTable.get(i));
+        }
+
+        // Past the restarted deadline only the permanent keys remain
+        now[0] = Duration.ofSeconds(3).toNanos();
+        newTable.remove(-1);
+        assertEquals(100, newTable.getSize());
+
+        // Clearing drops pending timers along with the entries
+        newTable.add(5000, 5000, Duration.ofSeconds(1));
+        newTable.clear();
+        newTable.add(5000, 1);
+        now[0] = Duration.ofSeconds(10).toNanos();
+        assertEquals(1, (int)newTable.get(5000));
+
+    }
+
+    /**
+     * Test that expiring keys in a bucket turned into a tree are found and removed
+     */
+    @Test
+    public void testTimeToLiveInTreeifiedBuckets() {
+
+        long[] now = {0};
+        HashTable<CollidingKey, Integer> newTable = new HashTable<>();
+        newTable.setTicker(() -> now[0]);
+
+        for(int i = 0; i < 100; i++) {
+            if(i % 2 == 0) newTable.add(new ComparableCollidingKey(i), i, Duration.ofSeconds(1));
+            else newTable.add(new ComparableCollidingKey(i), i);
+        }
+
+        now[0] = Duration.ofSeconds(2).toNanos();
+        newTable.remove(new ComparableCollidingKey(-1));
+        assertEquals(50, newTable.getSize());
+        for(int i = 0; i < 100; i++) {
+            if(i % 2 == 0) assertNull(newTable.get(new ComparableCollidingKey(i)));
+            else assertEquals(i, (int)newTable.get(new ComparableCollidingKey(i)));
+        }
+
+    }
+
+    /**
+     * Test that a table sized from an expected size holds that many elements without resizing, before and after clear
+     */
+    @Test
+    public void testExpectedSizeConstructor() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.POWER_OF_TWO_BUCKETS}, {HashTable.Option.INCREMENTAL_RESIZE}}) {
+
+            HashTable<Integer, Integer> newTable = new HashTable<>(1000, options);
+            int bucketCount = newTable.getNumberOfBuckets();
+            assertTrue(bucketCount > 1000 / 0.75);
+
+            for(int round = 0; round < 2; round++) {
+                for(int i = 0; i < 1000; i++) {
+                    newTable.add(i, i);
+                }
+                assertEquals(bucketCount, newTable.getNumberOfBuckets());
+                assertEquals(1000, newTable.getSize());
+                newTable.clear();
+            }
+
+            // Growing past the expected size still resizes
+            for(int i = 0; i < 2000; i++) {
+                newTable.add(i, i);
+            }
+            for(int i = 0; i < 2000; i++) {
+                assertEquals(i, (int)newTable.get(i));
+            }
+        }
+
+        // A small expected size keeps the default bucket count
+        assertEquals(10, new HashTable<Integer, Integer>(0).getNumberOfBuckets());
+
+        // A negative expected size is rejected
+        try {
+            new HashTable<Integer, Integer>(-1);
+            assertTrue(false);
+        } catch(IllegalArgumentException expected) {
+            assertTrue(true);
+        }
+
+    }
+
+    /**
+     * Test that addAll, getAll and removeAll behave like loops of add, get and remove
+     */
+    @Test
+    public void testBulkOperations() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.INCREMENTAL_RESIZE}}) {
+
+            HashTable<String, Integer> newTable = new HashTable<>(options);
+            newTable.add("existing", -1);
+
+            // Duplicates, an existing key and null pairs in one batch
+            String[] keys = new String[5002];
+            Integer[] values = new Integer[5002];
+            for(int i = 0; i < 5000; i++) {
+                keys[i] = "key" + i;
+                values[i] = i;
+            }
+            keys[5000] = "key0";
+            values[5000] = 42;
+            keys[5001] = "existing";
+            values[5001] = 1;
+            newTable.addAll(keys, values);
+            newTable.addAll(new String[] {null, "nullValue"}, new Integer[] {1, null});
+
+            // A single resize straight to the size needed for the whole batch
+            assertEquals(5001, newTable.getSize());
+            assertEquals(options.length == 0 ? 6671 : 8192, newTable.getNumberOfBuckets());
+
+            ArrayList<Integer> found = newTable.getAll(new String[] {"key0", "key4999", "existing", "missing", null});
+            assertEquals(5, found.size());
+            assertEquals(42, (int)found.get(0));
+            assertEquals(4999, (int)found.get(1));
+            assertEquals(1, (int)found.get(2));
+            assertNull(found.get(3));
+            assertNull(found.get(4));
+
+            // Only present keys count as removed
+            assertEquals(2, newTable.removeAll(new String[] {"key1", "key2", "key1", "missing"}));
+            assertEquals(4999, newTable.getSize());
+            assertNull(newTable.get("key1"));
+            assertEquals(3, (int)newTable.get("key3"));
+        }
+
+        // Entries past their deadline that the wheel has not fired yet are dropped but not counted as removed
+        long[] now = {0};
+        HashTable<String, Integer> timedTable = new HashTable<>();
+        timedTable.setTicker(() -> now[0]);
+        timedTable.add("late", 1, Duration.ofNanos(5));
+        timedTable.add("live", 2);
+        now[0] = Duration.ofNanos(1000).toNanos();
+        assertEquals(1, timedTable.removeAll(new String[] {"late", "live"}));
+        assertEquals(0, timedTable.getSize());
+
+        // Keys and values must pair up
+        try {
+            new HashTable<String, Integer>().addAll(new String[1], new Integer[2]);
+            assertTrue(false);
+        } catch(IllegalArgumentException expected) {
+            assertTrue(true);
+        }
+
+    }
+
+    /**
+     * Test that entries, keys and values visit every element exactly once, including mid incremental resize and in treeified buckets
+     */
+    @Test
+    public void testIteration() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.INCREMENTAL_RESIZE}}) {
+
+            HashTable<Integer, Integer> newTable = new HashTable<>(options);
+            for(int i = 0; i < 1000; i++) {
+                newTable.add(i, -i);
+            }
+
+            // Every key once, with its own value
+            HashSet<Integer> seen = new HashSet<>();
+            for(HashNode<Integer, Integer> entry: newTable) {
+                assertTrue(seen.add(entry.getKey()));
+                assertEquals(-entry.getKey(), (int)entry.getValue());
+            }
+            assertEquals(1000, seen.size());
+
+            long keySum = 0;
+            for(Iterator<Integer> keys = newTable.keys(); keys.hasNext();) {
+                keySum += keys.next();
+            }
+            assertEquals(999 * 1000 / 2, keySum);
+
+            long valueSum = 0;
+            for(Iterator<Integer> values = newTable.values(); values.hasNext();) {
+                valueSum += values.next();
+            }
+            assertEquals(-999 * 1000 / 2, valueSum);
+
+            // Setting a value through an entry updates the table
+            for(HashNode<Integer, Integer> entry: newTable) {
+                entry.setValue(entry.getKey());
+            }
+            assertEquals(7, (int)newTable.get(7));
+        }
+
+        // Treeified buckets are walked through their node list
+        HashTable<CollidingKey, Integer> collidingTable = new HashTable<>();
+        for(int i = 0; i < 100; i++) {
+            collidingTable.add(new ComparableCollidingKey(i), i);
+        }
+        assertEquals(100, collidingTable.stream().map(HashNode::getKey).collect(Collectors.toSet()).size());
+
+        // An empty table has nothing to iterate
+        assertFalse(new HashTable<Integer, Integer>().entries().hasNext());
+
+    }
+
+    /**
+     * Test that entries past their time-to-live are not iterated
+     */
+    @Test
+    public void testIterationSkipsExpiredEntries() {
+
+        long[] now = {0};
+        HashTable<Integer, Integer> newTable = new HashTable<>();
+        newTable.setTicker(() -> now[0]);
+
+        for(int i = 0; i < 100; i++) {
+            if(i % 2 == 0) newTable.add(i, i, Duration.ofSeconds(1));
+            else newTable.add(i, i);
+        }
+
+        now[0] = Duration.ofSeconds(1).toNanos();
+        assertEquals(50, newTable.stream().count());
+        assertTrue(newTable.stream().allMatch(entry -> entry.getKey() % 2 == 1));
+
+    }
+
+    /**
+     * Test that the spliterator splits into disjoint bucket ranges and parallel streams see every entry once
+     */
+    @Test
+    public void testSpliteratorAndParallelStream() {
+
+        HashTable<Integer, Integer> newTable = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.INCREMENTAL_RESIZE);
+        for(int i = 0; i < 10_000; i++) {
+            newTable.add(i, i);
+        }
+
+        // Split twice and drain each part
+        Spliterator<HashNode<Integer, Integer>> whole = newTable.spliterator();
+        assertTrue(whole.hasCharacteristics(Spliterator.NONNULL | Spliterator.DISTINCT));
+        Spliterator<HashNode<Integer, Integer>> first = whole.trySplit();
+        Spliterator<HashNode<Integer, Integer>> second = whole.trySplit();
+        assertNotNull(first);
+        assertNotNull(second);
+
+        HashSet<Integer> seen = new HashSet<>();
+        first.forEachRemaining(entry -> assertTrue(seen.add(entry.getKey())));
+        second.forEachRemaining(entry -> assertTrue(seen.add(entry.getKey())));
+        whole.forEachRemaining(entry -> assertTrue(seen.add(entry.getKey())));
+        assertEquals(10_000, seen.size());
+
+        // Parallel reductions match sequential ones
+        long expected = 9_999L * 10_000 / 2;
+        assertEquals(expected, newTable.stream().parallel().mapToLong(HashNode::getValue).sum());
+        assertEquals(10_000, newTable.stream().parallel().map(HashNode::getKey).distinct().count());
+
+    }
+
+    /**
+     * Test the contract of addIfAbsent, computeIfAbsent, computeIfPresent, compute and merge
+     */
+    @Test
+    public void testComputeOperations() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.INCREMENTAL_RESIZE, HashTable.Option.POWER_OF_TWO_BUCKETS}}) {
+
+            HashTable<Integer, Integer> newTable = new HashTable<>(options);
+
+            // Counting with merge grows the table through resizes
+            for(int i = 0; i < 10_000; i++) {
+                newTable.merge(i % 1000, 1, Integer::sum);
+            }
+            assertEquals(1000, newTable.getSize());
+            for(int i = 0; i < 1000; i++) {
+                assertEquals(10, (int)newTable.get(i));
+            }
+
+            // addIfAbsent keeps an existing value
+            assertEquals(10, (int)newTable.addIfAbsent(0, 100));
+            assertNull(newTable.addIfAbsent(2000, 1));
+            assertEquals(1, (int)newTable.get(2000));
+
+            // computeIfAbsent only calls the function for absent keys
+            assertEquals(10, (int)newTable.computeIfAbsent(0, key -> { throw new AssertionError(); }));
+            assertEquals(4002, (int)newTable.computeIfAbsent(2001, key -> key * 2));
+            assertNull(newTable.computeIfAbsent(2002, key -> null));
+            assertNull(newTable.get(2002));
+
+            // computeIfPresent replaces, or removes on null
+            assertNull(newTable.computeIfPresent(3000, (key, value) -> 1));
+            assertNull(newTable.get(3000));
+            assertEquals(20, (int)newTable.computeIfPresent(1, (key, value) -> value * 2));
+            assertNull(newTable.computeIfPresent(2, (key, value) -> null));
+            assertNull(newTable.get(2));
+
+            // compute sees null for absent keys
+            assertEquals(-1, (int)newTable.compute(3001, (key, value) -> value == null ? -1 : value - 1));
+            assertEquals(-2, (int)newTable.compute(3001, (key, value) -> value == null ? -1 : value - 1));
+            assertNull(newTable.compute(3001, (key, value) -> null));
+
+            // merge removes on null
+            assertNull(newTable.merge(3, 1, (a, b) -> null));
+            assertNull(newTable.get(3));
+
+            assertEquals(1000, newTable.getSize());
+        }
+
+        // Null keys are never stored
+        assertNull(myTable.computeIfAbsent(null, key -> 1));
+        assertNull(myTable.merge(null, 1, (a, b) -> a));
+
+    }
+
+    /**
+     * Test that compute operations returning null unlink the node they found, from a tree bin and from every position of a chain
+     */
+    @Test
+    public void testComputeRemovesFromCollidingBucket() {
+
+        for(HashTable.Option[] options: new HashTable.Option[][] {{}, {HashTable.Option.INCREMENTAL_RESIZE}}) {
+
+            HashTable<CollidingKey, Integer> newTable = new HashTable<>(options);
+            for(int i = 0; i < 20; i++) {
+                newTable.add(new CollidingKey(i), i);
+            }
+
+            // Remove through each operation until the tree bin turns back into a chain, then keep removing from the chain
+            // Keys are removed out of insertion order so the chain loses its head, middle and tail nodes
+            for(int i = 0; i < 20; i++) {
+                CollidingKey key = new CollidingKey(i * 7 % 20);
+                if(i % 3 == 0) assertNull(newTable.computeIfPresent(key, (k, value) -> null));
+                else if(i % 3 == 1) assertNull(newTable.compute(key, (k, value) -> null));
+                else assertNull(newTable.merge(key, 1, (a, b) -> null));
+                assertNull(newTable.get(key));
+                assertEquals(19 - i, newTable.getSize());
+
+                // Every other key is still found
+                for(int j = i + 1; j < 20; j++) {
+                    assertEquals(j * 7 % 20, (int)newTable.get(new CollidingKey(j * 7 % 20)));
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Test that compute operations treat an expired entry as absent and keep the time-to-live of a live one
+     */
+    @Test
+    public void testComputeOperationsWithTimeToLive() {
+
+        long[] now = {0};
+        HashTable<String, Integer> newTable = new HashTable<>();
+        newTable.setTicker(() -> now[0]);
+
+        newTable.add("a", 1, Duration.ofSeconds(1));
+        newTable.add("b", 1, Duration.ofSeconds(1));
+
+        // Updating a live entry keeps its deadline
+        assertEquals(2, (int)newTable.merge("a", 1, Integer::sum));
+
+        // Once expired the entry is absent
+        now[0] = Duration.ofSeconds(1).toNanos();
+        assertEquals(1, (int)newTable.merge("a", 1, Integer::sum));
+        assertNull(newTable.addIfAbsent("b", 5));
+        assertEquals(5, (int)newTable.get("b"));
+
+        // The re-added entries are permanent
+        now[0] = Duration.ofSeconds(10).toNanos();
+        assertEquals(1, (int)newTable.get("a"));
+        assertEquals(2, newTable.getSize());
+
+    }
+
+    /**
+     * Test the statistics snapshot of the setup table, which does not record activity
+     */
+    @Test
+    public void testStatisticsShape() {
+
+        HashTableStatistics stats = myTable.getStatistics();
+
+        // Keys 1 - 7 in 10 modulo buckets never share one
+        assertEquals(7, stats.getSize());
+        assertEquals(10, stats.getBuckets());
+        assertEquals(7, stats.getUsedBuckets());
+        assertEquals(0.7, stats.getLoadFactor(), 1e-9);
+        assertEquals(1, stats.getMaxChainLength());
+        assertEquals(3, stats.getChainLengthHistogram()[0]);
+        assertEquals(7, stats.getChainLengthHistogram()[1]);
+        assertEquals(0, stats.getCollisionRate(), 1e-9);
+        assertEquals(0, stats.getHashCodeCollisions());
+
+        // Activity is not recorded without the option
+        myTable.get(1);
+        assertEquals(0, myTable.getStatistics().getChainSearches());
+        assertEquals(0, myTable.getStatistics().getResizes());
+
+    }
+
+    /**
+     * Test the activity counters and collision measurements of a table recording statistics
+     */
+    @Test
+    public void testStatisticsRecorded() {
+
+        HashTable<Object, Integer> newTable = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.STATISTICS);
+
+        // Keys with equal hash codes end up in one tree bin
+        for(int i = 0; i < 20; i++) {
+            newTable.add(new CollidingKey(i), i);
+        }
+        for(int i = 1000; i < 1100; i++) {
+            newTable.add(i, i);
+        }
+
+        HashTableStatistics stats = newTable.getStatistics();
+        assertEquals(120, stats.getSize());
+        assertEquals(1, stats.getTreeBins());
+        assertTrue(stats.getMaxChainLength() >= 20);
+        assertTrue(stats.getHashCodeCollisions() >= 19);
+        assertTrue(stats.getCollisionRate() >= 19.0 / 120);
+        assertTrue(stats.getResizes() >= 3);
+        assertTrue(stats.getResizeNanos() > 0);
+
+        // The histogram accounts for every bucket
+        int buckets = 0;
+        for(int count: stats.getChainLengthHistogram()) buckets += count;
+        assertEquals(stats.getBuckets(), buckets);
+
+        // Without tree bins, each lookup searches one chain
+        HashTable<Integer, Integer> chained = new HashTable<>(HashTable.Option.STATISTICS);
+        for(int i = 0; i < 100; i++) {
+            chained.add(i, i);
+        }
+        long searches = chained.getStatistics().getChainSearches();
+        for(int i = 0; i < 100; i++) {
+            assertEquals(i, (int)chained.get(i));
+        }
+        stats = chained.getStatistics();
+        assertEquals(searches + 100, stats.getChainSearches());
+        assertTrue(stats.getAverageProbeLength() > 0);
+
+    }
+
+    /**
+     * Test that the statistics can be read through JMX
+     */
+    @Test
+    public void testStatisticsMBean() throws Exception {
+
+        ObjectName name = myTable.registerStatisticsMBean("tests");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            assertEquals(7, server.getAttribute(name, "Size"));
+            // The eighth element doubles the 10 buckets
+            myTable.add(8, 0);
+            assertEquals(8, server.getAttribute(name, "Size"));
+            assertEquals(0.4, (double)server.getAttribute(name, "LoadFactor"), 1e-9);
+
+            // Shape attributes come from one snapshot that the next reads within the same refresh reuse
+            assertEquals(0, server.getAttribute(name, "HashCodeCollisions"));
+            assertEquals(1, server.getAttribute(name, "MaxChainLength"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+
+    }
+
+    /**
+     * Test that duplicate hash codes are counted in tree bins holding both equal and distinct hash codes,
+     * including a flooded bucket of many thousand keys
+     */
+    @Test
+    public void testStatisticsCountsDuplicatesInTreeBins() {
+
+        // Keys whose hash codes take 3 values in one bucket: 30 keys, so 27 share a hash code with an earlier one
+        HashTable<SpreadCollidingKey, Integer> newTable = new HashTable<>();
+        for(int i = 0; i < 30; i++) {
+            newTable.add(new SpreadCollidingKey(i, (i % 3) * (10 << 20)), i);
+        }
+        HashTableStatistics stats = newTable.getStatistics();
+        assertEquals(1, stats.getTreeBins());
+        assertEquals(30, stats.getMaxChainLength());
+        assertEquals(27, stats.getHashCodeCollisions());
+
+        // A flood of 50000 equal hash codes lands in one tree bin, every key after the first a duplicate
+        HashTable<CollidingKey, Integer> flooded = new HashTable<>();
+        for(int i = 0; i < 50000; i++) {
+            flooded.add(new ComparableCollidingKey(i), i);
+        }
+        stats = flooded.getStatistics();
+        assertEquals(1, stats.getTreeBins());
+        assertEquals(49999, stats.getHashCodeCollisions());
+        assertEquals(50000, stats.getMaxChainLength());
+
+    }
+
+    /**
+     * Key with a chosen hash code, multiples of 10 * 2^20 land in bucket 0 of a default table at every size it grows through
+     */
+    static class SpreadCollidingKey extends ComparableCollidingKey {
+
+        final int hash;
+
+        SpreadCollidingKey(int id, int hash) {
+            super(id);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Build every concatenation of a number of "Aa" and "BB" parts, which all share one String hash code
+     */
+    private static String[] collidingStrings(int parts) {
+        String[] strings = {""};
+        for(int p = 0; p < parts; p++) {
+            String[] longer = new String[strings.length * 2];
+            for(int i = 0; i < strings.length; i++) {
+                longer[2 * i] = strings[i] + "Aa";
+                longer[2 * i + 1] = strings[i] + "BB";
+            }
+            strings = longer;
+        }
+        return strings;
+    }
+
+    /**
+     * Test that keyed hashing spreads String keys chosen to collide, while the table behaves the same
+     */
+    @Test
+    public void testKeyedHashingSpreadsCollidingStrings() {
+
+        String[] keys = collidingStrings(10);
+        HashTable<String, Integer> plain = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        HashTable<String, Integer> keyed = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS, HashTable.Option.KEYED_HASHING);
+        for(int i = 0; i < keys.length; i++) {
+            plain.add(keys[i], i);
+            keyed.add(keys[i], i);
+        }
+
+        // Every plain key shares one bucket, the keyed ones are spread out
+        assertEquals(keys.length, plain.getStatistics().getMaxChainLength());
+        assertTrue(keyed.getStatistics().getMaxChainLength() < 8);
+        assertEquals(0, keyed.getStatistics().getTreeBins());
+
+        for(int i = 0; i < keys.length; i++) {
+            assertEquals(i, (int)keyed.get(keys[i]));
+        }
+        assertNull(keyed.get("AaAa"));
+
+        for(int i = 0; i < keys.length; i += 2) {
+            assertEquals(i, (int)keyed.remove(keys[i]));
+        }
+        assertEquals(keys.length / 2, keyed.getSize());
+
+        // Freezing looks keys up by their own hash code again
+        assertEquals(1, (int)keyed.freeze().get(keys[1]));
+
+    }
+
+    /**
+     * Test that keyed hashing leaves keys other than Strings alone
+     */
+    @Test
+    public void testKeyedHashingOtherKeys() {
+
+        HashTable<Object, Integer> table = new HashTable<>(HashTable.Option.KEYED_HASHING);
+        for(int i = 0; i < 1000; i++) {
+            table.add(i, i);
+            table.add("s" + i, -i);
+        }
+
+        assertEquals(2000, table.getSize());
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(i, (int)table.get(i));
+            assertEquals(-i, (int)table.get("s" + i));
+        }
+
+    }
+
 }
@@ -0,0 +1,133 @@
+package Tests;
+
+import Cache.LRUCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LRUCacheTests {
+
+    LRUCache<Integer, String> myCache;
+
+    // Keys reported to the eviction listener, in order
+    List<Integer> evicted;
+
+    /**
+     * Setup a 3 entry cache holding keys 1 - 3, key 1 least recently used
+     */
+    @Before
+    public void setupCache() {
+        evicted = new ArrayList<>();
+        myCache = new LRUCache<>(3, (key, value) -> evicted.add(key));
+        for(int i = 1; i <= 3; i++) {
+            myCache.put(i, "v" + i);
+        }
+    }
+
+    /**
+     * Test that the least recently used entry is evicted and reported
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+
+        // Touch 1 so 2 becomes the least recently used
+        assertEquals("v1", myCache.get(1));
+
+        myCache.put(4, "v4");
+        assertEquals(3, myCache.getSize());
+        assertNull(myCache.get(2));
+        assertEquals("v1", myCache.get(1));
+        assertEquals("v3", myCache.get(3));
+        assertEquals("v4", myCache.get(4));
+
+        assertEquals(1, evicted.size());
+        assertEquals(2, (int)evicted.get(0));
+        assertEquals(1, myCache.getEvictionCount());
+
+    }
+
+    /**
+     * Test that replacing a value refreshes its recency without changing the size
+     */
+    @Test
+    public void testPutReplacesAndRefreshes() {
+
+        myCache.put(1, "one");
+        assertEquals(3, myCache.getSize());
+
+        // 2 is now the least recently used
+        myCache.put(5, "v5");
+        assertEquals("one", myCache.get(1));
+        assertNull(myCache.get(2));
+
+    }
+
+    /**
+     * Test that remove takes an entry out without counting an eviction
+     */
+    @Test
+    public void testRemove() {
+
+        assertEquals("v2", myCache.remove(2));
+        assertNull(myCache.remove(2));
+        assertEquals(2, myCache.getSize());
+
+        // There is room again, so nothing is evicted
+        myCache.put(6, "v6");
+        assertEquals(0, myCache.getEvictionCount());
+        assertEquals(3, myCache.getSize());
+
+    }
+
+    /**
+     * Test hit, miss and ratio counters
+     */
+    @Test
+    public void testStatistics() {
+
+        myCache.get(1);
+        myCache.get(2);
+        myCache.get(9);
+        myCache.get(10);
+
+        assertEquals(2, myCache.getHitCount());
+        assertEquals(2, myCache.getMissCount());
+        assertEquals(0.5, myCache.getHitRatio(), 1e-9);
+
+    }
+
+    /**
+     * Test a weight bounded cache evicts as many entries as needed to fit a heavy one
+     */
+    @Test
+    public void testWeightBound() {
+
+        LRUCache<String, String> cache = new LRUCache<>(10, (key, value) -> value.length(), null);
+
+        cache.put("a", "aaa");
+        cache.put("b", "bbb");
+        cache.put("c", "ccc");
+        assertEquals(9, cache.getWeight());
+
+        // Needs 6, so both a and b must go
+        cache.put("d", "dddddd");
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("ccc", cache.get("c"));
+        assertEquals(9, cache.getWeight());
+        assertEquals(2, cache.getEvictionCount());
+
+        // An entry heavier than the whole cache is evicted straight away
+        cache.put("e", "eeeeeeeeeee");
+        assertNull(cache.get("e"));
+        assertEquals(0, cache.getWeight());
+
+    }
+
+}
@@ -9,7 +9,10 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({LinkedListTests.class, ArrayListTests.class, HashTableTests.class, StackTests.class,
-QueueTests.class, MinHeapTests.class, MaxHeapTests.class})
+QueueTests.class, MinHeapTests.class, MaxHeapTests.class, OpenAddressingHashTableTests.class,
+PrimitiveHashTableTests.class, PrimitiveArrayListTests.class, BigArrayListTests.class, ConcurrentHashTableTests.class, SwissHashTableTests.class, OffHeapHashTableTests.class,
+MappedHashTableTests.class, FrozenHashTableTests.class, PersistentHashTrieTests.class, HashSetTests.class,
+LRUCacheTests.class, TinyLfuCacheTests.class})
 public class MainTestSuite {
 
 }
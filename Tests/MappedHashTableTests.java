@@ -0,0 +1,298 @@
+package Tests;
+
+import HashTable.MappedHashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class MappedHashTableTests {
+
+    // Bytes the data file reserves for its headers, and the size of one record of an 8 byte key and 4 byte value
+    private static final int LOG_START = 4096;
+    private static final int RECORD_SIZE = 5 + 8 + 4;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Path path;
+    MappedHashTable myTable;
+
+    /**
+     * Setup a table of 8 byte keys and 4 byte values with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() throws IOException {
+
+        path = folder.getRoot().toPath().resolve("table.data");
+        myTable = new MappedHashTable(path, 8, 4);
+
+        // Associate values 7 - 1 with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            myTable.add(key(i), value(decrement--));
+        }
+
+    }
+
+    /**
+     * After the test, close the table
+     */
+    @After
+    public void takedownHashTable() throws IOException {
+        myTable.close();
+    }
+
+    /**
+     * Encode a long as an 8 byte key
+     */
+    private static byte[] key(long k) {
+        return ByteBuffer.allocate(8).putLong(k).array();
+    }
+
+    /**
+     * Encode an int as a 4 byte value
+     */
+    private static byte[] value(int v) {
+        return ByteBuffer.allocate(4).putInt(v).array();
+    }
+
+    /**
+     * Assert a table holds exactly the setup contents
+     */
+    private static void assertSetupContents(MappedHashTable table) {
+        assertEquals(7, table.getSize());
+        for(int i = 1; i < 8; i++) {
+            assertArrayEquals(value(8 - i), table.get(key(i)));
+        }
+        assertNull(table.get(key(8)));
+    }
+
+    /**
+     * Overwrite bytes of the data file, bypassing the table
+     */
+    private void corrupt(long position, int length) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x5A, 0x5A, 0x5A, 0x5A, 0x5A, 0x5A, 0x5A, 0x5A}, 0, length), position);
+        }
+    }
+
+    /**
+     * Verify the setup contents
+     */
+    @Test
+    public void setupHashTableSuccessful() {
+        assertFalse(myTable.isEmpty());
+        assertFalse(myTable.wasRecovered());
+        assertSetupContents(myTable);
+        assertTrue(myTable.containsKey(key(1)));
+        assertFalse(myTable.containsKey(key(8)));
+    }
+
+    /**
+     * Test replacing and removing, including copying a value into a caller's array
+     */
+    @Test
+    public void testAddAndRemove() {
+
+        myTable.add(key(1), value(100));
+        assertEquals(7, myTable.getSize());
+
+        byte[] out = new byte[4];
+        assertTrue(myTable.get(key(1), out));
+        assertArrayEquals(value(100), out);
+
+        assertTrue(myTable.remove(key(3)));
+        assertFalse(myTable.remove(key(3)));
+        assertEquals(6, myTable.getSize());
+        assertFalse(myTable.get(key(3), out));
+
+    }
+
+    /**
+     * Test that a cleanly closed table reopens with its contents and without a rebuild
+     */
+    @Test
+    public void testReopenAfterClose() throws IOException {
+
+        myTable.add(key(1), value(100));
+        myTable.remove(key(2));
+        myTable.close();
+
+        myTable = new MappedHashTable(path, 8, 4);
+        assertFalse(myTable.wasRecovered());
+        assertEquals(6, myTable.getSize());
+        assertArrayEquals(value(100), myTable.get(key(1)));
+        assertNull(myTable.get(key(2)));
+        assertArrayEquals(value(1), myTable.get(key(7)));
+
+        // Still writable after reopening
+        myTable.add(key(1), value(7));
+        myTable.add(key(2), value(6));
+        myTable.close();
+        myTable = new MappedHashTable(path, 8, 4);
+        assertSetupContents(myTable);
+
+    }
+
+    /**
+     * Test that a table abandoned without flushing, as after a crash, is rebuilt from its log
+     */
+    @Test
+    public void testReopenWithoutCloseRebuilds() throws IOException {
+
+        myTable.remove(key(7));
+        myTable.add(key(7), value(1));
+
+        // Leave myTable open and unflushed, a second instance sees what the crash left behind
+        MappedHashTable reopened = new MappedHashTable(path, 8, 4);
+        assertTrue(reopened.wasRecovered());
+        assertSetupContents(reopened);
+        reopened.close();
+
+        // The rebuild is flushed, so the next open is clean
+        reopened = new MappedHashTable(path, 8, 4);
+        assertFalse(reopened.wasRecovered());
+        assertSetupContents(reopened);
+        reopened.close();
+
+    }
+
+    /**
+     * Test that a record torn by a crash is dropped along with nothing before it
+     */
+    @Test
+    public void testTornRecordDropped() throws IOException {
+
+        myTable.add(key(8), value(0));
+
+        // Damage the last record of the unflushed log
+        corrupt(LOG_START + 7L * RECORD_SIZE + 6, 4);
+
+        MappedHashTable reopened = new MappedHashTable(path, 8, 4);
+        assertTrue(reopened.wasRecovered());
+        assertSetupContents(reopened);
+
+        // New records go where the torn one was
+        reopened.add(key(8), value(0));
+        reopened.close();
+        reopened = new MappedHashTable(path, 8, 4);
+        assertArrayEquals(value(0), reopened.get(key(8)));
+        assertEquals(8, reopened.getSize());
+        reopened.close();
+
+    }
+
+    /**
+     * Test that damaging either header falls back to the other, and damaging both rebuilds from the log
+     */
+    @Test
+    public void testCorruptHeaders() throws IOException {
+
+        myTable.close();
+
+        // Either header alone
+        for(int slot = 0; slot < 2; slot++) {
+            corrupt(slot * 64 + 20, 4);
+            myTable = new MappedHashTable(path, 8, 4);
+            assertSetupContents(myTable);
+            myTable.close();
+        }
+
+        // Both headers
+        corrupt(20, 4);
+        corrupt(64 + 20, 4);
+        myTable = new MappedHashTable(path, 8, 4);
+        assertTrue(myTable.wasRecovered());
+        assertSetupContents(myTable);
+
+    }
+
+    /**
+     * Test that opening a file with different key or value sizes is rejected
+     */
+    @Test
+    public void testSizeMismatchRejected() throws IOException {
+
+        myTable.close();
+
+        try {
+            new MappedHashTable(path, 8, 8).close();
+            assertTrue(false);
+        } catch(IllegalArgumentException expected) {
+            assertTrue(true);
+        }
+
+        // The file is untouched
+        myTable = new MappedHashTable(path, 8, 4);
+        assertSetupContents(myTable);
+
+    }
+
+    /**
+     * Test that a closed table refuses to be used, and closing twice is allowed
+     */
+    @Test
+    public void testClose() throws IOException {
+
+        myTable.close();
+
+        try {
+            myTable.get(key(1));
+            assertTrue(false);
+        } catch(IllegalStateException expected) {
+            assertTrue(true);
+        }
+
+        myTable.close();
+
+    }
+
+    /**
+     * Test that the index grows, and that a grown index and a multi-page log survive both reopen paths
+     */
+    @Test
+    public void testGrowthSurvivesReopen() throws IOException {
+
+        for(int i = 0; i < 20_000; i++) {
+            myTable.add(key(i), value(-i));
+        }
+        for(int i = 0; i < 20_000; i += 3) {
+            myTable.remove(key(i));
+        }
+
+        int buckets = myTable.getNumberOfBuckets();
+        int size = myTable.getSize();
+        assertTrue(buckets > 16);
+        assertTrue(buckets * 0.75 >= size);
+
+        // Crash first, then a clean reopen of the rebuilt table
+        MappedHashTable reopened = new MappedHashTable(path, 8, 4);
+        assertTrue(reopened.wasRecovered());
+        reopened.close();
+        myTable = new MappedHashTable(path, 8, 4);
+        assertFalse(myTable.wasRecovered());
+
+        assertEquals(size, myTable.getSize());
+        for(int i = 0; i < 20_000; i++) {
+            if(i % 3 == 0) assertNull(myTable.get(key(i)));
+            else assertArrayEquals(value(-i), myTable.get(key(i)));
+        }
+
+    }
+
+}
@@ -0,0 +1,217 @@
+package Tests;
+
+import HashTable.OffHeapHashTable;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class OffHeapHashTableTests {
+
+    OffHeapHashTable myTable;
+
+    /**
+     * Setup a table of 8 byte keys and 4 byte values with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() {
+
+        myTable = new OffHeapHashTable(8, 4);
+
+        // Associate values 7 - 1 with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            myTable.add(key(i), value(decrement--));
+        }
+
+    }
+
+    /**
+     * After the test, release the table's memory
+     */
+    @After
+    public void takedownHashTable() {
+        myTable.close();
+    }
+
+    /**
+     * Encode a long as an 8 byte key
+     */
+    private static byte[] key(long k) {
+        return ByteBuffer.allocate(8).putLong(k).array();
+    }
+
+    /**
+     * Encode an int as a 4 byte value
+     */
+    private static byte[] value(int v) {
+        return ByteBuffer.allocate(4).putInt(v).array();
+    }
+
+    /**
+     * Verify the setup contents and the off-heap footprint
+     */
+    @Test
+    public void setupHashTableSuccessful() {
+
+        assertFalse(myTable.isEmpty());
+        assertEquals(7, myTable.getSize());
+
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertArrayEquals(value(decrement--), myTable.get(key(i)));
+            assertTrue(myTable.containsKey(key(i)));
+        }
+        assertNull(myTable.get(key(8)));
+
+        // 16 slots of hash + key + value
+        assertEquals(16, myTable.getNumberOfBuckets());
+        assertEquals(16 * (4 + 8 + 4), myTable.getOffHeapBytes());
+
+    }
+
+    /**
+     * Test that adding an existing key replaces its value, and that get can copy into a caller's array
+     */
+    @Test
+    public void testAddDuplicateKeyReplacesValue() {
+
+        myTable.add(key(1), value(100));
+        assertEquals(7, myTable.getSize());
+
+        byte[] out = new byte[4];
+        assertTrue(myTable.get(key(1), out));
+        assertArrayEquals(value(100), out);
+        assertFalse(myTable.get(key(50), out));
+
+    }
+
+    /**
+     * Test remove returns whether the key was present and leaves other keys reachable
+     */
+    @Test
+    public void testRemove() {
+
+        assertTrue(myTable.remove(key(3)));
+        assertFalse(myTable.remove(key(3)));
+        assertEquals(6, myTable.getSize());
+        assertNull(myTable.get(key(3)));
+
+        for(int i = 1; i < 8; i++) {
+            if(i != 3) assertArrayEquals(value(8 - i), myTable.get(key(i)));
+        }
+
+    }
+
+    /**
+     * Test that keys and values of the wrong size are rejected
+     */
+    @Test
+    public void testWrongSizesRejected() {
+
+        for(Runnable call: new Runnable[] {
+                () -> myTable.add(new byte[7], value(1)),
+                () -> myTable.add(key(1), new byte[5]),
+                () -> myTable.get(null),
+                () -> myTable.remove(new byte[9])}) {
+            try {
+                call.run();
+                assertTrue(false);
+            } catch(IllegalArgumentException expected) {
+                assertEquals(7, myTable.getSize());
+            }
+        }
+
+    }
+
+    /**
+     * Test that a closed table releases its memory and refuses to be used
+     */
+    @Test
+    public void testClose() {
+
+        myTable.close();
+        assertEquals(0, myTable.getOffHeapBytes());
+
+        try {
+            myTable.get(key(1));
+            assertTrue(false);
+        } catch(IllegalStateException expected) {
+            assertTrue(true);
+        }
+
+        // Closing twice is allowed
+        myTable.close();
+
+    }
+
+    /**
+     * Test that a table sized from an expected size does not resize, and clear returns to that size
+     */
+    @Test
+    public void testExpectedSize() {
+
+        try(OffHeapHashTable table = new OffHeapHashTable(8, 8, 10_000)) {
+
+            int buckets = table.getNumberOfBuckets();
+            for(int i = 0; i < 10_000; i++) {
+                table.add(key(i), key(-i));
+            }
+            assertEquals(buckets, table.getNumberOfBuckets());
+
+            table.clear();
+            assertTrue(table.isEmpty());
+            assertNull(table.get(key(5)));
+            assertEquals(buckets, table.getNumberOfBuckets());
+        }
+
+    }
+
+    /**
+     * Test a long random sequence of adds and removes against a reference map,
+     * exercising growth and deletion by shifting entries back
+     */
+    @Test
+    public void testRandomOperationsMatchReference() {
+
+        try(OffHeapHashTable table = new OffHeapHashTable(8, 4)) {
+
+            java.util.HashMap<Long, Integer> reference = new java.util.HashMap<>();
+            Random random = new Random(42);
+
+            for(int i = 0; i < 50000; i++) {
+
+                // Small key range so the same keys are added and removed repeatedly
+                long k = random.nextInt(3000);
+
+                if(random.nextInt(3) == 0) {
+                    assertEquals(reference.remove(k) != null, table.remove(key(k)));
+                }
+                else {
+                    table.add(key(k), value(i));
+                    reference.put(k, i);
+                }
+            }
+
+            assertEquals(reference.size(), table.getSize());
+            for(long k = 0; k < 3000; k++) {
+                Integer expected = reference.get(k);
+                if(expected == null) assertNull(table.get(key(k)));
+                else assertArrayEquals(value(expected), table.get(key(k)));
+            }
+
+            assertTrue(table.getNumberOfBuckets() * 0.75 >= table.getSize());
+        }
+
+    }
+
+}
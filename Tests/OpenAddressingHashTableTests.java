@@ -0,0 +1,170 @@
+package Tests;
+
+import HashTable.OpenAddressingHashTable;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class OpenAddressingHashTableTests {
+
+    OpenAddressingHashTable<Integer, Integer> myTable;
+
+    /**
+     * Setup a table with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() {
+
+        myTable = new OpenAddressingHashTable<>();
+
+        // Will represent values 7 - 1
+        int decrement = 7;
+
+        // Associate values 7 - 1 with keys 1 - 7
+        for(int i = 1; i < 8; i++) {
+            myTable.add(i, decrement--);
+        }
+
+    }
+
+    /**
+     * After the test, clear the table
+     */
+    @After
+    public void takedownHashTable() {
+        myTable.clear();
+    }
+
+    /**
+     * Verify the setup contents and that the initial capacity was not exceeded
+     */
+    @Test
+    public void setupHashTableSuccessful() {
+
+        assertFalse(myTable.isEmpty());
+        assertEquals(7, myTable.getSize());
+
+        // Check values 7 - 1 are associated with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertEquals(decrement--, (int)myTable.get(i));
+        }
+
+        assertEquals(16, myTable.getNumberOfBuckets());
+
+    }
+
+    /**
+     * Test that adding an existing key replaces its value without changing the size
+     */
+    @Test
+    public void testAddDuplicateKeyReplacesValue() {
+
+        for(int i = 1; i < 8; i++) {
+            myTable.add(i, i);
+        }
+
+        assertEquals(7, myTable.getSize());
+
+        for(int i = 1; i < 8; i++) {
+            assertEquals(i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test that crossing the load factor doubles the slot arrays and keeps every entry reachable
+     */
+    @Test
+    public void testAddLoadFactorResize() {
+
+        // 12 entries fill 16 slots to the 0.75 load factor
+        for(int i = 8; i <= 12; i++) {
+            myTable.add(i, i);
+        }
+        assertEquals(16, myTable.getNumberOfBuckets());
+
+        // The 13th entry forces the table to grow
+        myTable.add(13, 13);
+        assertEquals(32, myTable.getNumberOfBuckets());
+        assertEquals(13, myTable.getSize());
+
+        for(int i = 8; i <= 13; i++) {
+            assertEquals(i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test remove returns the value, shrinks the table and leaves other keys reachable
+     */
+    @Test
+    public void testRemove() {
+
+        assertEquals(5, (int)myTable.remove(3));
+        assertEquals(6, myTable.getSize());
+        assertNull(myTable.get(3));
+        assertNull(myTable.remove(3));
+
+        // Every other key survives the backward shift
+        for(int i = 1; i < 8; i++) {
+            if(i != 3) assertEquals(8 - i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test that null keys and values are ignored like in HashTable
+     */
+    @Test
+    public void testNullKeysAndValuesIgnored() {
+        myTable.add(null, 1);
+        myTable.add(100, null);
+        assertEquals(7, myTable.getSize());
+        assertNull(myTable.get(null));
+        assertNull(myTable.get(100));
+    }
+
+    /**
+     * Test a long random sequence of adds and removes against a reference map,
+     * exercising Robin Hood displacement and backward shift deletion on colliding keys
+     */
+    @Test
+    public void testRandomOperationsMatchReference() {
+
+        OpenAddressingHashTable<Integer, Integer> table = new OpenAddressingHashTable<>();
+        java.util.HashMap<Integer, Integer> reference = new java.util.HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 20000; i++) {
+
+            // Small key range so the same keys are added and removed repeatedly
+            int key = random.nextInt(2000);
+
+            if(random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), table.remove(key));
+            }
+            else {
+                table.add(key, i);
+                reference.put(key, i);
+            }
+        }
+
+        assertEquals(reference.size(), table.getSize());
+        for(int key = 0; key < 2000; key++) {
+            assertEquals(reference.get(key), table.get(key));
+        }
+
+        assertTrue(table.getNumberOfBuckets() * 0.75 >= table.getSize());
+
+    }
+
+}
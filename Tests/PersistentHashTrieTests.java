@@ -0,0 +1,255 @@
+package Tests;
+
+import HashTable.PersistentHashTrie;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class PersistentHashTrieTests {
+
+    PersistentHashTrie<Integer, Integer> myTrie;
+
+    /**
+     * Setup a trie with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupTrie() {
+
+        myTrie = new PersistentHashTrie<>();
+
+        // Associate values 7 - 1 with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            myTrie = myTrie.add(i, decrement--);
+        }
+
+    }
+
+    /**
+     * Verify the setup contents
+     */
+    @Test
+    public void setupTrieSuccessful() {
+
+        assertFalse(myTrie.isEmpty());
+        assertEquals(7, myTrie.getSize());
+
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertEquals(decrement--, (int)myTrie.get(i));
+            assertTrue(myTrie.containsKey(i));
+        }
+        assertNull(myTrie.get(8));
+        assertNull(myTrie.get(null));
+
+    }
+
+    /**
+     * Test that add and remove return new versions and leave the old ones unchanged
+     */
+    @Test
+    public void testVersionsAreIndependent() {
+
+        PersistentHashTrie<Integer, Integer> replaced = myTrie.add(1, 100);
+        PersistentHashTrie<Integer, Integer> added = myTrie.add(8, 0);
+        PersistentHashTrie<Integer, Integer> removed = myTrie.remove(3);
+
+        assertEquals(100, (int)replaced.get(1));
+        assertEquals(7, replaced.getSize());
+        assertEquals(8, added.getSize());
+        assertEquals(0, (int)added.get(8));
+        assertEquals(6, removed.getSize());
+        assertNull(removed.get(3));
+
+        // The original is untouched by all three
+        assertEquals(7, myTrie.getSize());
+        assertEquals(7, (int)myTrie.get(1));
+        assertNull(myTrie.get(8));
+        assertEquals(5, (int)myTrie.get(3));
+
+    }
+
+    /**
+     * Test that edits that change nothing return the same version
+     */
+    @Test
+    public void testNoOpEditsReturnSameVersion() {
+
+        Integer value = myTrie.get(1);
+        assertSame(myTrie, myTrie.add(1, value));
+        assertSame(myTrie, myTrie.remove(50));
+        assertSame(myTrie, myTrie.add(null, 1));
+        assertSame(myTrie, myTrie.add(1, null));
+
+    }
+
+    /**
+     * Test removing every key down to an empty trie
+     */
+    @Test
+    public void testRemoveAll() {
+
+        PersistentHashTrie<Integer, Integer> trie = myTrie;
+        for(int i = 1; i < 8; i++) {
+            trie = trie.remove(i);
+        }
+
+        assertTrue(trie.isEmpty());
+        assertNull(trie.get(1));
+        assertEquals(1, (int)trie.add(1, 1).get(1));
+
+    }
+
+    /**
+     * Test keys whose hash codes are equal, including removing them one at a time
+     */
+    @Test
+    public void testEqualHashCodes() {
+
+        // "Aa" and "BB" have the same String hash code, and so do all eight concatenations of them
+        PersistentHashTrie<String, Integer> trie = new PersistentHashTrie<>();
+        String[] parts = {"Aa", "BB"};
+        String[] keys = new String[8];
+        int n = 0;
+        for(String a: parts) for(String b: parts) for(String c: parts) {
+            keys[n] = a + b + c;
+            trie = trie.add(keys[n], n);
+            n++;
+        }
+        trie = trie.add("other", 100);
+        assertEquals(9, trie.getSize());
+
+        for(int i = 0; i < 8; i++) {
+            assertEquals(i, (int)trie.get(keys[i]));
+        }
+        assertNull(trie.get("AaAaAaAa"));
+
+        PersistentHashTrie<String, Integer> removed = trie;
+        for(int i = 0; i < 8; i++) {
+            removed = removed.remove(keys[i]);
+            assertNull(removed.get(keys[i]));
+            assertEquals(8 - i, removed.getSize());
+        }
+        assertEquals(100, (int)removed.get("other"));
+        assertEquals(3, (int)trie.get(keys[3]));
+
+    }
+
+    /**
+     * Test that a transient loads in bulk, does not change the version it came from, and cannot be used after persistent()
+     */
+    @Test
+    public void testTransient() {
+
+        PersistentHashTrie.Transient<Integer, Integer> editor = myTrie.asTransient();
+        for(int i = 100; i < 10_000; i++) {
+            editor.add(i, -i);
+        }
+        assertEquals(5, (int)editor.remove(3));
+        assertNull(editor.remove(3));
+        editor.add(1, 100);
+        assertEquals(6 + 9900, editor.getSize());
+
+        PersistentHashTrie<Integer, Integer> loaded = editor.persistent();
+        assertEquals(6 + 9900, loaded.getSize());
+        assertEquals(100, (int)loaded.get(1));
+        assertEquals(-5000, (int)loaded.get(5000));
+        assertNull(loaded.get(3));
+
+        // The starting version is unchanged
+        assertEquals(7, myTrie.getSize());
+        assertEquals(7, (int)myTrie.get(1));
+        assertEquals(5, (int)myTrie.get(3));
+
+        try {
+            editor.add(2, 2);
+            assertTrue(false);
+        } catch(IllegalStateException expected) {
+            assertEquals(6 + 9900, loaded.getSize());
+        }
+
+        // Versions made from the result do not disturb it
+        PersistentHashTrie<Integer, Integer> next = loaded.asTransient().persistent().add(5000, 0);
+        assertEquals(-5000, (int)loaded.get(5000));
+        assertEquals(0, (int)next.get(5000));
+
+    }
+
+    /**
+     * Test forEach visits every pair once
+     */
+    @Test
+    public void testForEach() {
+
+        HashMap<Integer, Integer> seen = new HashMap<>();
+        myTrie.forEach((key, value) -> assertNull(seen.put(key, value)));
+
+        assertEquals(7, seen.size());
+        for(int i = 1; i < 8; i++) {
+            assertEquals(8 - i, (int)seen.get(i));
+        }
+
+    }
+
+    /**
+     * Test a long random sequence of persistent and transient edits against reference maps, checking old versions afterwards
+     */
+    @Test
+    public void testRandomOperationsMatchReference() {
+
+        Random random = new Random(5);
+        PersistentHashTrie<Integer, Integer> trie = new PersistentHashTrie<>();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+
+        // Keep a few versions with a copy of what they held
+        PersistentHashTrie<?, ?>[] versions = new PersistentHashTrie<?, ?>[10];
+        Object[] snapshots = new Object[10];
+
+        for(int round = 0; round < 10; round++) {
+
+            // Alternate between persistent edits and a transient batch
+            PersistentHashTrie.Transient<Integer, Integer> editor = round % 2 == 0 ? null : trie.asTransient();
+
+            for(int i = 0; i < 5000; i++) {
+                int k = random.nextInt(4000);
+                if(random.nextInt(3) == 0) {
+                    reference.remove(k);
+                    if(editor == null) trie = trie.remove(k);
+                    else editor.remove(k);
+                }
+                else {
+                    reference.put(k, i);
+                    if(editor == null) trie = trie.add(k, i);
+                    else editor.add(k, i);
+                }
+            }
+            if(editor != null) trie = editor.persistent();
+
+            versions[round] = trie;
+            snapshots[round] = new HashMap<>(reference);
+        }
+
+        for(int round = 0; round < 10; round++) {
+            @SuppressWarnings("unchecked")
+            PersistentHashTrie<Integer, Integer> version = (PersistentHashTrie<Integer, Integer>)versions[round];
+            @SuppressWarnings("unchecked")
+            HashMap<Integer, Integer> expected = (HashMap<Integer, Integer>)snapshots[round];
+
+            assertEquals(expected.size(), version.getSize());
+            for(int k = 0; k < 4000; k++) {
+                assertEquals(expected.get(k), version.get(k));
+            }
+        }
+
+    }
+
+}
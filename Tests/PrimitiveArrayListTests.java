@@ -0,0 +1,298 @@
+package Tests;
+
+import ArrayList.DoubleArrayList;
+import ArrayList.GrowthPolicy;
+import ArrayList.IntArrayList;
+import ArrayList.LongArrayList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveArrayListTests {
+
+    /**
+     * Test add, get and set, including the doubling of the underlying array and the bounds checks
+     */
+    @Test
+    public void testIntAddGetSet() {
+
+        IntArrayList list = new IntArrayList();
+        assertEquals(0, list.size());
+        assertEquals(1, list.sizeUnderlying());
+
+        // The underlying array doubles when a value does not fit
+        for(int i = 0; i < 5; i++) {
+            list.add(i * 10);
+        }
+        assertEquals(5, list.size());
+        assertEquals(8, list.sizeUnderlying());
+        for(int i = 0; i < 5; i++) {
+            assertEquals(i * 10, list.get(i));
+        }
+
+        // Set replaces a value in range and reports failure outside it
+        assertTrue(list.set(-1, 2));
+        assertEquals(-1, list.get(2));
+        assertFalse(list.set(7, 5));
+        assertFalse(list.set(7, -1));
+        assertEquals(5, list.size());
+
+        // Reading past the size fails even though the underlying array is longer
+        try {
+            list.get(5);
+            assertTrue(false);
+        } catch(IndexOutOfBoundsException expected) {
+            assertEquals(5, list.size());
+        }
+
+    }
+
+    /**
+     * Test that addAll appends an array in one copy and toArray returns exactly the values
+     */
+    @Test
+    public void testIntAddAllAndToArray() {
+
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        list.addAll(new int[] {2, 3, 4, 5, 6, 7, 8, 9, 10});
+        list.addAll(new int[0]);
+
+        assertEquals(10, list.size());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, list.toArray());
+
+        // The returned array is a copy
+        list.toArray()[0] = 99;
+        assertEquals(1, list.get(0));
+
+        // Clearing keeps the underlying array for reuse
+        int capacity = list.sizeUnderlying();
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(capacity, list.sizeUnderlying());
+        assertArrayEquals(new int[0], list.toArray());
+
+    }
+
+    /**
+     * Test the reductions against a straightforward computation over random values, and that int sums do not overflow
+     */
+    @Test
+    public void testIntReductions() {
+
+        IntArrayList list = new IntArrayList();
+        Random random = new Random(5);
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for(int i = 0; i < 10000; i++) {
+            int value = random.nextInt();
+            list.add(value);
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        assertEquals(sum, list.sum());
+        assertEquals(min, list.min());
+        assertEquals(max, list.max());
+
+        // The sum is wider than an int
+        IntArrayList big = new IntArrayList();
+        big.addAll(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE});
+        assertEquals(2L * Integer.MAX_VALUE, big.sum());
+
+        // An empty list sums to 0 but has no minimum or maximum
+        IntArrayList empty = new IntArrayList();
+        assertEquals(0, empty.sum());
+        try {
+            empty.min();
+            assertTrue(false);
+        } catch(NoSuchElementException expected) {
+            assertEquals(0, empty.size());
+        }
+
+    }
+
+    /**
+     * Test the long list's operations, including values beyond the int range
+     */
+    @Test
+    public void testLongList() {
+
+        LongArrayList list = new LongArrayList();
+        list.add(Long.MIN_VALUE);
+        list.addAll(new long[] {3, 1L << 40, -7});
+
+        assertEquals(4, list.size());
+        assertEquals(1L << 40, list.get(2));
+        assertTrue(list.set(1L << 50, 1));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 1L << 50, 1L << 40, -7}, list.toArray());
+
+        assertEquals(Long.MIN_VALUE, list.min());
+        assertEquals(1L << 50, list.max());
+        assertEquals(Long.MIN_VALUE + (1L << 50) + (1L << 40) - 7, list.sum());
+
+    }
+
+    /**
+     * Test the double list's operations, including NaN handling in min and max
+     */
+    @Test
+    public void testDoubleList() {
+
+        DoubleArrayList list = new DoubleArrayList();
+        list.addAll(new double[] {1.5, -2.25, 4});
+        list.add(0.25);
+
+        assertEquals(4, list.size());
+        assertEquals(-2.25, list.get(1), 0);
+        assertArrayEquals(new double[] {1.5, -2.25, 4, 0.25}, list.toArray(), 0);
+        assertEquals(3.5, list.sum(), 0);
+        assertEquals(-2.25, list.min(), 0);
+        assertEquals(4, list.max(), 0);
+
+        // NaN propagates through the minimum and maximum
+        assertTrue(list.set(Double.NaN, 3));
+        assertTrue(Double.isNaN(list.min()));
+        assertTrue(Double.isNaN(list.max()));
+
+    }
+
+    /**
+     * Test the capacity constructor, ensureCapacity, trimToSize and a custom growth policy on the primitive lists
+     */
+    @Test
+    public void testCapacityAndGrowthPolicy() {
+
+        // A presized list grows by its policy once full
+        LongArrayList longs = new LongArrayList(4, GrowthPolicy.fixedIncrement(4));
+        for(int i = 0; i < 5; i++) {
+            longs.add(i);
+        }
+        assertEquals(8, longs.sizeUnderlying());
+        longs.addAll(new long[] {5, 6, 7, 8, 9, 10, 11, 12});
+        assertEquals(13, longs.sizeUnderlying());
+
+        // Trimming keeps the values and releases the slack
+        longs.trimToSize();
+        assertEquals(13, longs.sizeUnderlying());
+        assertEquals(78, longs.sum());
+
+        // ensureCapacity grows ahead of bulk adds
+        DoubleArrayList doubles = new DoubleArrayList(0);
+        doubles.ensureCapacity(1000);
+        assertEquals(1000, doubles.sizeUnderlying());
+        IntArrayList ints = new IntArrayList(3);
+        ints.addAll(new int[] {1, 2});
+        ints.trimToSize();
+        assertEquals(2, ints.sizeUnderlying());
+        ints.add(3);
+        assertArrayEquals(new int[] {1, 2, 3}, ints.toArray());
+
+    }
+
+    /**
+     * Test that the radix sorts order values exactly like Arrays.sort, below and above the radix threshold,
+     * including negative values, narrow ranges whose passes are skipped, and the double special values
+     */
+    @Test
+    public void testSortMatchesArraysSort() {
+
+        Random random = new Random(23);
+        for(int size: new int[] {0, 1, 100, 1023, 1024, 5000, 100000}) {
+
+            // Full range ints and ints within one byte of each other
+            int[] ints = new int[size];
+            int[] narrow = new int[size];
+            for(int i = 0; i < size; i++) {
+                ints[i] = random.nextInt();
+                narrow[i] = 1_000_000 + random.nextInt(200);
+            }
+            assertSortsLikeArrays(ints);
+            assertSortsLikeArrays(narrow);
+
+            // Full range longs
+            long[] longs = new long[size];
+            for(int i = 0; i < size; i++) {
+                longs[i] = random.nextLong();
+            }
+            LongArrayList longList = new LongArrayList();
+            longList.addAll(longs);
+            longList.sort();
+            Arrays.sort(longs);
+            assertArrayEquals(longs, longList.toArray());
+
+            // Doubles of both signs with zeros, infinities and NaN mixed in
+            double[] doubles = new double[size];
+            double[] specials = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE};
+            for(int i = 0; i < size; i++) {
+                doubles[i] = i % 10 == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian() * 1e6;
+            }
+            DoubleArrayList doubleList = new DoubleArrayList();
+            doubleList.addAll(doubles);
+            doubleList.sort();
+            Arrays.sort(doubles);
+
+            // Arrays.equals compares bit patterns, so -0.0 placed after 0.0 fails where a delta comparison would not
+            assertTrue(Arrays.equals(doubles, doubleList.toArray()));
+        }
+
+    }
+
+    /**
+     * Test the parallel sort and binary search of the primitive lists
+     */
+    @Test
+    public void testParallelSortAndBinarySearch() {
+
+        IntArrayList list = new IntArrayList();
+        Random random = new Random(29);
+        for(int i = 0; i < 50000; i++) {
+            list.add(random.nextInt(100000) * 2);
+        }
+        list.parallelSort();
+        int[] sorted = list.toArray();
+        for(int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1] <= sorted[i]);
+        }
+
+        // Even values present are found, odd values report their insertion point
+        int index = list.binarySearch(sorted[1234]);
+        assertEquals(sorted[1234], list.get(index));
+        int missing = list.binarySearch(sorted[1234] + 1);
+        assertTrue(missing < 0);
+        assertTrue(list.get(-missing - 1) > sorted[1234] + 1);
+
+        DoubleArrayList doubles = new DoubleArrayList();
+        doubles.addAll(new double[] {2.5, -1, 0.5});
+        doubles.parallelSort();
+        assertEquals(0, doubles.binarySearch(-1));
+        assertEquals(-3, doubles.binarySearch(1));
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Assert that sorting an IntArrayList holding the values gives the same result as Arrays.sort
+     * @param values int[]: values to sort
+     */
+    private static void assertSortsLikeArrays(int[] values) {
+        IntArrayList list = new IntArrayList();
+        list.addAll(values);
+        list.sort();
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, list.toArray());
+    }
+
+}
@@ -0,0 +1,158 @@
+package Tests;
+
+import HashTable.IntIntHashTable;
+import HashTable.IntObjectHashTable;
+import HashTable.LongLongHashTable;
+import HashTable.LongObjectHashTable;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class PrimitiveHashTableTests {
+
+    /**
+     * Test that 0 and negative keys are ordinary keys and that addTo starts counting from 0
+     */
+    @Test
+    public void testIntIntZeroKeyAndAddTo() {
+
+        IntIntHashTable table = new IntIntHashTable();
+        assertTrue(table.isEmpty());
+
+        // The zero key is not confused with an empty slot
+        assertFalse(table.containsKey(0));
+        table.add(0, 5);
+        assertTrue(table.containsKey(0));
+        assertEquals(5, table.getOrDefault(0, -1));
+
+        // Counting keys that are not present starts from 0
+        assertEquals(3, table.addTo(-7, 3));
+        assertEquals(7, table.addTo(-7, 4));
+        assertEquals(2, table.addTo(0, -3));
+        assertEquals(2, table.getSize());
+
+        // Removing returns whether the key was present
+        assertTrue(table.remove(0));
+        assertFalse(table.remove(0));
+        assertEquals(-1, table.getOrDefault(0, -1));
+        assertEquals(7, table.getOrDefault(-7, -1));
+        assertEquals(1, table.getSize());
+
+    }
+
+    /**
+     * Test many adds, addTos and removes against a reference map across several resizes
+     */
+    @Test
+    public void testIntIntRandomOperationsMatchReference() {
+
+        IntIntHashTable table = new IntIntHashTable();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(11);
+
+        for(int i = 0; i < 50000; i++) {
+            int key = random.nextInt(4000) - 2000;
+            int operation = random.nextInt(3);
+            if(operation == 0) assertEquals(reference.remove(key) != null, table.remove(key));
+            else if(operation == 1) assertEquals((int)reference.merge(key, 1, Integer::sum), table.addTo(key, 1));
+            else {
+                table.add(key, i);
+                reference.put(key, i);
+            }
+        }
+
+        assertEquals(reference.size(), table.getSize());
+        for(int key = -2000; key < 2000; key++) {
+            assertEquals((int)reference.getOrDefault(key, Integer.MIN_VALUE), table.getOrDefault(key, Integer.MIN_VALUE));
+        }
+
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertFalse(table.containsKey(0));
+
+    }
+
+    /**
+     * Test the long counter table with keys that only differ in their high bits
+     */
+    @Test
+    public void testLongLongHighBitKeys() {
+
+        LongLongHashTable table = new LongLongHashTable();
+
+        // Keys that would all collide if only the low 32 bits were hashed
+        for(long i = 0; i < 1000; i++) {
+            table.add(i << 32, i);
+        }
+        assertEquals(1000, table.getSize());
+
+        for(long i = 0; i < 1000; i++) {
+            assertEquals(i, table.getOrDefault(i << 32, -1));
+        }
+
+        // The key 0 (i = 0) is stored and counted like any other key
+        assertEquals(10, table.addTo(0L, 10));
+        assertEquals(Long.MAX_VALUE, table.addTo(Long.MIN_VALUE, Long.MAX_VALUE));
+
+        // Remove every other key and confirm the rest are still found
+        for(long i = 0; i < 1000; i += 2) {
+            assertTrue(table.remove(i << 32));
+        }
+        for(long i = 1; i < 1000; i += 2) {
+            assertEquals(i, table.getOrDefault(i << 32, -1));
+        }
+        assertEquals(501, table.getSize());
+
+    }
+
+    /**
+     * Test the object valued tables return, replace and remove values and ignore null values
+     */
+    @Test
+    public void testObjectValuedTables() {
+
+        IntObjectHashTable<String> intTable = new IntObjectHashTable<>();
+        LongObjectHashTable<String> longTable = new LongObjectHashTable<>();
+
+        for(int i = -500; i < 500; i++) {
+            intTable.add(i, "v" + i);
+            longTable.add(i * 1_000_000_007L, "v" + i);
+        }
+
+        // Null values are ignored like in HashTable
+        intTable.add(1, null);
+        longTable.add(1_000_000_007L, null);
+
+        assertEquals(1000, intTable.getSize());
+        assertEquals(1000, longTable.getSize());
+        assertEquals("v1", intTable.get(1));
+        assertEquals("v1", longTable.get(1_000_000_007L));
+        assertEquals("v0", intTable.get(0));
+        assertEquals("v0", longTable.get(0));
+        assertNull(intTable.get(500));
+        assertEquals("none", longTable.getOrDefault(500 * 1_000_000_007L, "none"));
+
+        // Replacing keeps the size, removing returns the value
+        intTable.add(7, "seven");
+        assertEquals("seven", intTable.remove(7));
+        assertNull(intTable.remove(7));
+        assertEquals("v0", longTable.remove(0));
+        assertNull(longTable.get(0));
+        assertEquals(999, intTable.getSize());
+        assertEquals(999, longTable.getSize());
+
+        for(int i = -500; i < 500; i++) {
+            if(i != 7) assertEquals("v" + i, intTable.get(i));
+            if(i != 0) assertEquals("v" + i, longTable.get(i * 1_000_000_007L));
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package Tests;
+
+import HashTable.SwissHashTable;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class SwissHashTableTests {
+
+    SwissHashTable<Integer, Integer> myTable;
+
+    /**
+     * Setup a table with keys 1 - 7 associated with values 7 - 1
+     */
+    @Before
+    public void setupHashTable() {
+
+        myTable = new SwissHashTable<>();
+
+        // Will represent values 7 - 1
+        int decrement = 7;
+
+        // Associate values 7 - 1 with keys 1 - 7
+        for(int i = 1; i < 8; i++) {
+            myTable.add(i, decrement--);
+        }
+
+    }
+
+    /**
+     * After the test, clear the table
+     */
+    @After
+    public void takedownHashTable() {
+        myTable.clear();
+    }
+
+    /**
+     * Verify the setup contents and that the initial capacity was not exceeded
+     */
+    @Test
+    public void setupHashTableSuccessful() {
+
+        assertFalse(myTable.isEmpty());
+        assertEquals(7, myTable.getSize());
+
+        // Check values 7 - 1 are associated with keys 1 - 7
+        int decrement = 7;
+        for(int i = 1; i < 8; i++) {
+            assertEquals(decrement--, (int)myTable.get(i));
+            assertTrue(myTable.containsKey(i));
+        }
+
+        assertFalse(myTable.containsKey(8));
+        assertEquals(16, myTable.getNumberOfBuckets());
+
+    }
+
+    /**
+     * Test that adding an existing key replaces its value without changing the size
+     */
+    @Test
+    public void testAddDuplicateKeyReplacesValue() {
+
+        for(int i = 1; i < 8; i++) {
+            myTable.add(i, i);
+        }
+
+        assertEquals(7, myTable.getSize());
+
+        for(int i = 1; i < 8; i++) {
+            assertEquals(i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test that filling 7/8 of the slots doubles the table and keeps every entry reachable
+     */
+    @Test
+    public void testAddLoadFactorResize() {
+
+        // 14 entries fill 16 slots to 7/8
+        for(int i = 8; i <= 14; i++) {
+            myTable.add(i, i);
+        }
+        assertEquals(16, myTable.getNumberOfBuckets());
+
+        // The 15th entry forces the table to grow
+        myTable.add(15, 15);
+        assertEquals(32, myTable.getNumberOfBuckets());
+        assertEquals(15, myTable.getSize());
+
+        for(int i = 8; i <= 15; i++) {
+            assertEquals(i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test remove returns the value, shrinks the table and leaves other keys reachable
+     */
+    @Test
+    public void testRemove() {
+
+        assertEquals(5, (int)myTable.remove(3));
+        assertEquals(6, myTable.getSize());
+        assertNull(myTable.get(3));
+        assertNull(myTable.remove(3));
+        assertFalse(myTable.containsKey(3));
+
+        for(int i = 1; i < 8; i++) {
+            if(i != 3) assertEquals(8 - i, (int)myTable.get(i));
+        }
+
+    }
+
+    /**
+     * Test that null keys and values are ignored like in HashTable
+     */
+    @Test
+    public void testNullKeysAndValuesIgnored() {
+        myTable.add(null, 1);
+        myTable.add(100, null);
+        assertEquals(7, myTable.getSize());
+        assertNull(myTable.get(null));
+        assertNull(myTable.get(100));
+        assertFalse(myTable.containsKey(null));
+    }
+
+    /**
+     * Test that a table churning through keys with a steady size reuses tombstones and rebuilds in place instead of growing
+     */
+    @Test
+    public void testTombstonesDoNotGrowTheTable() {
+
+        SwissHashTable<Integer, Integer> table = new SwissHashTable<>();
+
+        // Keep 100 keys live while 100,000 distinct keys pass through
+        for(int i = 0; i < 100_000; i++) {
+            table.add(i, i);
+            if(i >= 100) assertEquals(i - 100, (int)table.remove(i - 100));
+        }
+
+        assertEquals(100, table.getSize());
+        assertTrue(table.getNumberOfBuckets() <= 512);
+        for(int i = 100_000 - 100; i < 100_000; i++) {
+            assertEquals(i, (int)table.get(i));
+        }
+        assertNull(table.get(0));
+
+    }
+
+    /**
+     * Test a long random sequence of adds and removes against a reference map,
+     * exercising group probing, tombstones and rebuilds on keys that share their 7 control bits
+     */
+    @Test
+    public void testRandomOperationsMatchReference() {
+
+        SwissHashTable<Integer, Integer> table = new SwissHashTable<>();
+        java.util.HashMap<Integer, Integer> reference = new java.util.HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 50000; i++) {
+
+            // Small key range so the same keys are added and removed repeatedly
+            int key = random.nextInt(3000);
+
+            if(random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), table.remove(key));
+            }
+            else {
+                table.add(key, i);
+                reference.put(key, i);
+            }
+        }
+
+        assertEquals(reference.size(), table.getSize());
+        for(int key = 0; key < 3000; key++) {
+            assertEquals(reference.get(key), table.get(key));
+            assertEquals(reference.containsKey(key), table.containsKey(key));
+        }
+
+        assertTrue(table.getNumberOfBuckets() * 7 / 8 >= table.getSize());
+
+    }
+
+}
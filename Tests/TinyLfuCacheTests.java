@@ -0,0 +1,104 @@
+package Tests;
+
+import Cache.LRUCache;
+import Cache.TinyLfuCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TinyLfuCacheTests {
+
+    /**
+     * Test the basic get/put/remove contract and that the cache never exceeds its capacity
+     */
+    @Test
+    public void testBasicOperationsStayWithinCapacity() {
+
+        List<Integer> evicted = new ArrayList<>();
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100, (key, value) -> evicted.add(key));
+
+        for(int i = 0; i < 1000; i++) {
+            cache.put(i, i * 2);
+            assertTrue(cache.getSize() <= 100);
+        }
+        assertEquals(100, cache.getSize());
+        assertEquals(900, cache.getEvictionCount());
+        assertEquals(900, evicted.size());
+
+        // Replacing a cached value keeps the size
+        cache.put(999, -1);
+        assertEquals(-1, (int)cache.get(999));
+        assertEquals(100, cache.getSize());
+
+        assertEquals(-1, (int)cache.remove(999));
+        assertNull(cache.remove(999));
+        assertNull(cache.get(999));
+        assertEquals(99, cache.getSize());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+
+    }
+
+    /**
+     * Test that a frequently used working set survives a one-off scan larger than the cache,
+     * where an LRU of the same size loses all of it
+     */
+    @Test
+    public void testHotKeysSurviveScan() {
+
+        TinyLfuCache<Integer, Integer> tinyLfu = new TinyLfuCache<>(100);
+        LRUCache<Integer, Integer> lru = new LRUCache<>(100);
+
+        // Build up frequency on 50 hot keys
+        for(int round = 0; round < 10; round++) {
+            for(int key = 0; key < 50; key++) {
+                access(tinyLfu, key);
+                access(lru, key);
+            }
+        }
+
+        // Scan 1000 keys that are each used once
+        for(int key = 1000; key < 2000; key++) {
+            access(tinyLfu, key);
+            access(lru, key);
+        }
+
+        // Count how many hot keys are still cached
+        int tinyLfuHot = 0;
+        int lruHot = 0;
+        for(int key = 0; key < 50; key++) {
+            if(tinyLfu.get(key) != null) tinyLfuHot++;
+            if(lru.get(key) != null) lruHot++;
+        }
+
+        assertEquals(0, lruHot);
+        assertTrue(tinyLfuHot >= 45);
+
+    }
+
+    /**
+     * Read-through access: get, and put on a miss
+     * @param cache TinyLfuCache<Integer, Integer>: cache to access
+     * @param key int: key to access
+     */
+    private void access(TinyLfuCache<Integer, Integer> cache, int key) {
+        if(cache.get(key) == null) cache.put(key, key);
+    }
+
+    /**
+     * Read-through access: get, and put on a miss
+     * @param cache LRUCache<Integer, Integer>: cache to access
+     * @param key int: key to access
+     */
+    private void access(LRUCache<Integer, Integer> cache, int key) {
+        if(cache.get(key) == null) cache.put(key, key);
+    }
+
+}
@@ -3,6 +3,8 @@ package ArrayList;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
 
 /**
  * Alternative ArrayList implementation
@@ -18,13 +20,36 @@ public class ArrayList<E> implements Iterable<Object>{
     // Number of elements in the underlying list
     private int length;
 
+    // Decides the new length of the underlying list when it is full
+    private final GrowthPolicy growthPolicy;
+
     /**
-     * Initialize an array list with 
+     * Initialize an array list with an underlying list of length 1 that doubles when full
      */
     public ArrayList() {
-        arrMaxCapacity = 1;
+        this(1);
+    }
+
+    /**
+     * Initialize an array list whose underlying list already holds a number of elements, and doubles when full
+     * @param initialCapacity int: length of the underlying list
+     */
+    public ArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Initialize an array list with an initial capacity and a policy for growing the underlying list
+     * @param initialCapacity int: length of the underlying list
+     * @param growthPolicy GrowthPolicy: decides the new length of the underlying list when it is full
+     */
+    public ArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Initial capacity must not be negative");
+        if(growthPolicy == null) throw new IllegalArgumentException("Growth policy must not be null");
+        arrMaxCapacity = initialCapacity;
         length = 0;
         data = new Object[arrMaxCapacity];
+        this.growthPolicy = growthPolicy;
     }
 
     /**
@@ -34,10 +59,7 @@ public class ArrayList<E> implements Iterable<Object>{
     public void add(E element) {
 
         // If the current array is full, increase the size and make a copy
-        if(length == arrMaxCapacity) {
-            arrMaxCapacity = arrMaxCapacity << 1;
-            copyArray(arrMaxCapacity);
-        }
+        if(length == arrMaxCapacity) grow(length + 1);
 
         // Add the element specified to the array and increment the length by 1
         data[length++] = element;
@@ -71,6 +93,25 @@ public class ArrayList<E> implements Iterable<Object>{
         data = Arrays.copyOf(data, newSize);
     }
 
+    /**
+     * Grow the underlying array ahead of time so it holds at least a number of elements, avoiding the copies
+     * that adding them one at a time would make
+     * @param minCapacity int: number of elements the underlying array must hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity > arrMaxCapacity) grow(minCapacity);
+    }
+
+    /**
+     * Shrink the underlying array to exactly the number of elements, releasing the unused space
+     */
+    public void trimToSize() {
+        if(length < arrMaxCapacity) {
+            arrMaxCapacity = length;
+            copyArray(arrMaxCapacity);
+        }
+    }
+
     /**
      * Get the object at the given index
      * @param n int: index at which to grab the object from
@@ -98,17 +139,11 @@ public class ArrayList<E> implements Iterable<Object>{
             // Grab the object at n
             E o = (E)data[n];
 
-            // Nullify the spot
-            data[n] = null;
-
-            // Shift down the following elements by 1 space
-            for(int i = n; i < length - 1; i++) {
-                data[i] = data[i + 1];
-                data[i + 1] = null;
-            }
+            // Shift down the following elements by 1 space in one block copy
+            System.arraycopy(data, n + 1, data, n, length - n - 1);
 
-            // Decrement the length of the list by 1
-            length--;
+            // Decrement the length of the list by 1 and nullify the spot left at the end
+            data[--length] = null;
 
             // Return the deleted object
             return o;
@@ -132,13 +167,7 @@ public class ArrayList<E> implements Iterable<Object>{
             if(data[i].equals(o)) {
 
                 // Shift every element after the found object back one position
-                for(int j = i; j < length; j++) {
-                    data[j] = data[j + 1];
-                    data[j + 1] = null;
-                }
-                
-                // Decrement the length of the list by 1
-                length--;
+                delete(i);
 
                 // Return success
                 return true;
@@ -150,6 +179,112 @@ public class ArrayList<E> implements Iterable<Object>{
         
     }
 
+    /**
+     * Add every element of another list to the end of this list in order, growing the underlying array at most once
+     * @param other ArrayList<? extends E>: list whose elements to append, which may be this list
+     */
+    public void addAll(ArrayList<? extends E> other) {
+        insertAll(length, other);
+    }
+
+    /**
+     * Insert every element of another list at an index, shifting the elements from that index back in one block copy
+     * @param index int: position the first inserted element takes, from 0 to size()
+     * @param other ArrayList<? extends E>: list whose elements to insert, which may be this list
+     * @return boolean: success status, false if the index is out of range
+     */
+    public boolean insertAll(int index, ArrayList<? extends E> other) {
+
+        // If index is too big or small, return false
+        if(index > length || index < 0) return false;
+
+        // Take the elements before shifting so a list can be inserted into itself
+        int count = other.length;
+        Object[] source = other == this ? Arrays.copyOf(data, count) : other.data;
+
+        // Make room once for every inserted element
+        if(count > arrMaxCapacity - length) grow(length + count);
+
+        // Move the tail back, then copy the new elements into the gap
+        System.arraycopy(data, index, data, index + count, length - index);
+        System.arraycopy(source, 0, data, index, count);
+        length += count;
+
+        // Return success
+        return true;
+
+    }
+
+    /**
+     * Remove the elements from one index up to but not including another, closing the gap with one block copy
+     * @param fromIndex int: index of the first element to remove
+     * @param toIndex int: index after the last element to remove
+     * @return boolean: success status, false if the range is not within the list
+     */
+    public boolean removeRange(int fromIndex, int toIndex) {
+
+        // If the range does not lie inside the list, return false
+        if(fromIndex < 0 || toIndex > length || fromIndex > toIndex) return false;
+
+        // Shift the tail down over the removed elements and nullify the slots it vacated
+        System.arraycopy(data, toIndex, data, fromIndex, length - toIndex);
+        int newLength = length - (toIndex - fromIndex);
+        Arrays.fill(data, newLength, length, null);
+        length = newLength;
+
+        // Return success
+        return true;
+
+    }
+
+    /**
+     * Remove every element the filter accepts in a single pass that moves each kept element once
+     * @param filter Predicate<? super E>: returns true for the elements to remove
+     * @return int: number of elements removed
+     */
+    public int removeIf(Predicate<? super E> filter) {
+        return compact(filter, true);
+    }
+
+    /**
+     * Keep only the elements the filter accepts, removing the rest in a single pass, for example retainAll(set::contains)
+     * @param filter Predicate<? super E>: returns true for the elements to keep
+     * @return int: number of elements removed
+     */
+    public int retainAll(Predicate<? super E> filter) {
+        return compact(filter, false);
+    }
+
+    /**
+     * Sort the elements in place with a stable merge sort that takes runs already in order as they are
+     * @param comparator Comparator<? super E>: ordering of the elements, or null for their natural ordering
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        Arrays.sort((E[])data, 0, length, comparator);
+    }
+
+    /**
+     * Sort the elements with a stable merge sort whose halves are sorted and merged as fork-join tasks on the common pool.
+     * Lists too small to be worth splitting are sorted on the calling thread
+     * @param comparator Comparator<? super E>: ordering of the elements, or null for their natural ordering
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super E> comparator) {
+        Arrays.parallelSort((E[])data, 0, length, comparator);
+    }
+
+    /**
+     * Search a list sorted by a comparator for an element
+     * @param key E: element to search for
+     * @param comparator Comparator<? super E>: ordering the list is sorted by, or null for the natural ordering
+     * @return int: index of a matching element, or -(insertion point) - 1 if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public int binarySearch(E key, Comparator<? super E> comparator) {
+        return Arrays.binarySearch((E[])data, 0, length, key, comparator);
+    }
+
     /**
      * Return the amount of elements in the array
      * @return int: number of elements in the array
@@ -166,6 +301,54 @@ public class ArrayList<E> implements Iterable<Object>{
         return arrMaxCapacity;
     }
 
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Copy the elements into a new underlying array whose length is chosen by the growth policy
+     * @param minCapacity int: number of elements the new array must hold
+     */
+    private void grow(int minCapacity) {
+        arrMaxCapacity = growthPolicy.newCapacity(arrMaxCapacity, minCapacity);
+        copyArray(arrMaxCapacity);
+    }
+
+    /**
+     * Slide the elements kept by a filter to the front of the underlying array in order and nullify the rest
+     * If the filter throws, the elements it had not tested yet stay in the list
+     * @param filter Predicate<? super E>: filter to apply to each element
+     * @param removeMatches boolean: true to remove the elements the filter accepts, false to remove those it rejects
+     * @return int: number of elements removed
+     */
+    @SuppressWarnings("unchecked")
+    private int compact(Predicate<? super E> filter, boolean removeMatches) {
+
+        // Kept elements are written at kept, which never passes the read position i
+        int kept = 0;
+        int i = 0;
+        int removed;
+        try {
+            for(; i < length; i++) {
+                Object element = data[i];
+                if(filter.test((E)element) != removeMatches) data[kept++] = element;
+            }
+        } finally {
+
+            // Keep the untested elements if the filter threw part way through
+            if(i < length) {
+                System.arraycopy(data, i, data, kept, length - i);
+                kept += length - i;
+            }
+
+            // Nullify the vacated slots so removed elements can be collected
+            Arrays.fill(data, kept, length, null);
+            removed = length - kept;
+            length = kept;
+        }
+
+        return removed;
+
+    }
+
     /**
      * Iterator implementation to unlock for:each for array list and other benefits
      */
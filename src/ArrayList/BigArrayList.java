@@ -0,0 +1,246 @@
+package ArrayList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Concepts learned from fastutil's BigArrays and the chunked arrays of HPPC
+
+/**
+ * Array list addressed by long index whose elements live in fixed-size chunks instead of one Object[],
+ * so it can hold more than 2^31 elements and grows by appending a chunk rather than copying every element.
+ * Only the small array of chunk references is ever copied. Element i lives at slot (i & chunkMask) of chunk (i >>> chunkShift).
+ * Streams split at chunk boundaries, so a parallel stream hands each thread whole chunks
+ */
+public class BigArrayList<E> implements Iterable<E> {
+
+    // Log2 of the number of elements per chunk when none is given
+    private static final int DEFAULT_CHUNK_SHIFT = 16;
+
+    // Chunks holding the elements, only the first numChunks are allocated
+    private Object[][] chunks;
+
+    // Number of allocated chunks
+    private int numChunks;
+
+    // Log2 of the number of elements per chunk, and the mask giving an element's slot within its chunk
+    private final int chunkShift;
+    private final int chunkMask;
+
+    // Number of elements in the list
+    private long size;
+
+    /**
+     * Initialize an empty list with chunks of 65536 elements
+     */
+    public BigArrayList() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Initialize an empty list with chunks of 2^chunkShift elements
+     * @param chunkShift int: log2 of the number of elements per chunk, from 0 to 30
+     */
+    public BigArrayList(int chunkShift) {
+        if(chunkShift < 0 || chunkShift > 30) throw new IllegalArgumentException("Chunk shift must be between 0 and 30");
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        chunks = new Object[1][];
+    }
+
+    /**
+     * Add an element to the end of the list, allocating a new chunk when the last one is full
+     * @param element E: element to append
+     */
+    public void add(E element) {
+
+        // Allocate the next chunk when the element starts one
+        int chunk = (int)(size >>> chunkShift);
+        if(chunk == numChunks) addChunk();
+
+        // Place the element and increment the size by 1
+        chunks[chunk][(int)size & chunkMask] = element;
+        size++;
+
+    }
+
+    /**
+     * Get the element at the given index
+     * @param index long: position of the element
+     * @return E: element at the index
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long index) {
+        checkIndex(index);
+        return (E)chunks[(int)(index >>> chunkShift)][(int)index & chunkMask];
+    }
+
+    /**
+     * Set the element at a particular index in the list
+     * @param element E: element to set at index
+     * @param index long: position in the list at which to place the element
+     * @return boolean: success status
+     */
+    public boolean set(E element, long index) {
+
+        // If index is too big or small, return false
+        if(index >= size || index < 0) return false;
+
+        // Replace the element at index
+        chunks[(int)(index >>> chunkShift)][(int)index & chunkMask] = element;
+
+        // Return success
+        return true;
+
+    }
+
+    /**
+     * Remove the last element and return it
+     * @return E: the removed element, or null if the list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E removeLast() {
+
+        if(size == 0) return null;
+
+        // Take the element out of its slot so it can be collected
+        size--;
+        Object[] chunk = chunks[(int)(size >>> chunkShift)];
+        E element = (E)chunk[(int)size & chunkMask];
+        chunk[(int)size & chunkMask] = null;
+        return element;
+
+    }
+
+    /**
+     * Return the number of elements in the list
+     * @return long: number of elements
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return whether or not the list has any elements
+     * @return boolean: whether or not the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the number of elements the allocated chunks can hold
+     * @return long: capacity of the allocated chunks
+     */
+    public long capacity() {
+        return (long)numChunks << chunkShift;
+    }
+
+    /**
+     * Remove every element and release every chunk
+     */
+    public void clear() {
+        chunks = new Object[1][];
+        numChunks = 0;
+        size = 0;
+    }
+
+    /**
+     * Release the chunks after the one holding the last element, which removeLast leaves allocated
+     */
+    public void trimToSize() {
+        int usedChunks = (int)((size + chunkMask) >>> chunkShift);
+        Arrays.fill(chunks, usedChunks, numChunks, null);
+        numChunks = usedChunks;
+    }
+
+    /**
+     * Return an iterator over the elements in order
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new BigArrayListIterator();
+    }
+
+    /**
+     * Return a spliterator over the elements that splits at chunk boundaries
+     * @return Spliterator<E>: spliterator over the elements
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new BigArrayListSpliterator<>(chunks, chunkShift, 0, size);
+    }
+
+    /**
+     * Return a stream of the elements, call parallel() on it to process the chunks across threads
+     * @return Stream<E>: stream of the elements
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Allocate the next chunk, doubling the array of chunk references if it is full
+     */
+    private void addChunk() {
+
+        // Only the chunk references are copied, never the elements
+        if(numChunks == chunks.length) {
+            if(numChunks == Integer.MAX_VALUE - 8) throw new OutOfMemoryError("Too many chunks");
+            chunks = Arrays.copyOf(chunks, (int)Math.min((long)numChunks << 1, Integer.MAX_VALUE - 8));
+        }
+
+        chunks[numChunks++] = new Object[chunkMask + 1];
+
+    }
+
+    /**
+     * Throw if an index does not refer to an element in the list
+     * @param index long: index to check
+     */
+    private void checkIndex(long index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * Iterator that walks the elements in order, one chunk at a time
+     */
+    class BigArrayListIterator implements Iterator<E> {
+
+        // Index of the next element
+        long current = 0;
+
+        /**
+         * If iteration not at the end of the list, return true
+         */
+        @Override
+        public boolean hasNext() {
+            return current < BigArrayList.this.size;
+        }
+
+        /**
+         * If not at the end of the list, return the current element
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if(hasNext()) {
+                long index = current++;
+                return (E)chunks[(int)(index >>> chunkShift)][(int)index & chunkMask];
+            }
+
+            // If at the end of the list, return this exception as required by Java
+            throw new NoSuchElementException();
+        }
+
+    }
+
+}
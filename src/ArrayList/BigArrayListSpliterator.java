@@ -0,0 +1,93 @@
+package ArrayList;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Walks a range of a BigArrayList's elements. Splitting halves the range at a chunk boundary, so parallel streams
+ * give each thread whole chunks and no two threads read the same chunk. forEachRemaining runs a plain loop over
+ * each chunk's array. The list must not be modified while it is being walked.
+ */
+class BigArrayListSpliterator<E> implements Spliterator<E> {
+
+    // Chunks of the list when the walk was created
+    private final Object[][] chunks;
+
+    // Log2 of the number of elements per chunk, and the mask giving an element's slot within its chunk
+    private final int chunkShift;
+    private final int chunkMask;
+
+    // Next element to visit and one past the last element of this range
+    private long index;
+    private final long fence;
+
+    /**
+     * Create a walk over a range of elements
+     * @param chunks Object[][]: chunks of the list
+     * @param chunkShift int: log2 of the number of elements per chunk
+     * @param index long: first element of the range
+     * @param fence long: one past the last element of the range
+     */
+    BigArrayListSpliterator(Object[][] chunks, int chunkShift, long index, long fence) {
+        this.chunks = chunks;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super E> action) {
+
+        if(index >= fence) return false;
+
+        action.accept((E)chunks[(int)(index >>> chunkShift)][(int)index & chunkMask]);
+        index++;
+        return true;
+
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+
+        // Walk each chunk's part of the range as a plain array loop
+        while(index < fence) {
+            Object[] chunk = chunks[(int)(index >>> chunkShift)];
+            int from = (int)index & chunkMask;
+            int to = (int)Math.min(chunk.length, from + (fence - index));
+            for(int i = from; i < to; i++) {
+                action.accept((E)chunk[i]);
+            }
+            index += to - from;
+        }
+
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+
+        // Split at the chunk boundary at or below the middle, or else the first boundary of the range, never inside a chunk
+        long mid = ((index + fence) >>> 1) & ~(long)chunkMask;
+        if(mid <= index) mid = (index | chunkMask) + 1;
+        if(mid >= fence) return null;
+
+        // Hand the lower half to the new spliterator and keep the upper half
+        BigArrayListSpliterator<E> prefix = new BigArrayListSpliterator<>(chunks, chunkShift, index, mid);
+        index = mid;
+        return prefix;
+
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+}
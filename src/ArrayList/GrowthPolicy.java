@@ -0,0 +1,73 @@
+package ArrayList;
+
+/**
+ * Decides how far an array list's underlying array grows when it runs out of room, trading memory left
+ * unused against the number of times every element is copied into a new array
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    // Largest array length every JVM can allocate
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Return the new length of an underlying array that must hold more elements
+     * @param capacity int: current length of the underlying array
+     * @param minCapacity int: number of elements the new array must hold, greater than capacity
+     * @return int: new length, at least minCapacity
+     */
+    public int newCapacity(int capacity, int minCapacity);
+
+    /**
+     * Return a policy that doubles the array, so n adds copy fewer than 2n elements but up to half the array may be unused
+     * @return GrowthPolicy: doubling policy
+     */
+    public static GrowthPolicy doubling() {
+        return (capacity, minCapacity) -> clamp((long)capacity << 1, minCapacity);
+    }
+
+    /**
+     * Return a policy that grows the array by half, so n adds copy fewer than 3n elements and at most a third is unused
+     * @return GrowthPolicy: 1.5x policy
+     */
+    public static GrowthPolicy oneAndAHalf() {
+        return (capacity, minCapacity) -> clamp(capacity + ((long)capacity >> 1), minCapacity);
+    }
+
+    /**
+     * Return a policy that adds a fixed number of slots, wasting at most that many but copying O(n^2 / increment)
+     * elements for n adds
+     * @param increment int: slots added by each growth
+     * @return GrowthPolicy: fixed increment policy
+     */
+    public static GrowthPolicy fixedIncrement(int increment) {
+        if(increment < 1) throw new IllegalArgumentException("Increment must be positive");
+        return (capacity, minCapacity) -> clamp((long)capacity + increment, minCapacity);
+    }
+
+    /**
+     * Return a policy that doubles the array until it would add more than maxIncrement slots, and then adds maxIncrement,
+     * bounding the memory a large list can waste while keeping small lists cheap to grow
+     * @param maxIncrement int: most slots added by one growth
+     * @return GrowthPolicy: capped doubling policy
+     */
+    public static GrowthPolicy capped(int maxIncrement) {
+        if(maxIncrement < 1) throw new IllegalArgumentException("Maximum increment must be positive");
+        return (capacity, minCapacity) -> clamp((long)capacity + Math.min(capacity, maxIncrement), minCapacity);
+    }
+
+    /**
+     * Bring a proposed length into the range of lengths that hold minCapacity elements and can be allocated
+     * @param proposed long: length chosen by the policy, which may overflow an int
+     * @param minCapacity int: number of elements the new array must hold
+     * @return int: new length
+     */
+    private static int clamp(long proposed, int minCapacity) {
+
+        // The caller's required size overflowed or cannot be allocated
+        if(minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH) throw new OutOfMemoryError("Required array length too large");
+
+        return (int)Math.max(minCapacity, Math.min(proposed, MAX_ARRAY_LENGTH));
+    }
+
+}
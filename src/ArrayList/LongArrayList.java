@@ -0,0 +1,246 @@
+package ArrayList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array list of long values stored unboxed in a long[], for numeric buffers where ArrayList<Long>
+ * would allocate an object per element and follow a pointer on every read.
+ * The reductions loop straight over the backing array, reading each value without unboxing it
+ */
+public class LongArrayList {
+
+    // Underlying array that stores the values
+    private long[] data;
+
+    // Number of values in the underlying array
+    private int length;
+
+    // Decides the new length of the underlying array when it is full
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Initialize an empty array list
+     */
+    public LongArrayList() {
+        this(1);
+    }
+
+    /**
+     * Initialize an empty array list whose underlying array already holds a number of values, and doubles when full
+     * @param initialCapacity int: length of the underlying array
+     */
+    public LongArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Initialize an empty array list with an initial capacity and a policy for growing the underlying array
+     * @param initialCapacity int: length of the underlying array
+     * @param growthPolicy GrowthPolicy: decides the new length of the underlying array when it is full
+     */
+    public LongArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Initial capacity must not be negative");
+        if(growthPolicy == null) throw new IllegalArgumentException("Growth policy must not be null");
+        data = new long[initialCapacity];
+        length = 0;
+        this.growthPolicy = growthPolicy;
+    }
+
+    /**
+     * Add a value to the end of the list
+     * @param value long: value to append
+     */
+    public void add(long value) {
+
+        // If the current array is full, grow it
+        if(length == data.length) grow(length + 1);
+
+        // Add the value and increment the length by 1
+        data[length++] = value;
+
+    }
+
+    /**
+     * Add every value of an array to the end of the list in order
+     * @param values long[]: values to append
+     */
+    public void addAll(long[] values) {
+
+        // Grow once for the whole array instead of once per value
+        if(values.length > data.length - length) grow(length + values.length);
+
+        // Copy the values after the existing ones
+        System.arraycopy(values, 0, data, length, values.length);
+        length += values.length;
+
+    }
+
+    /**
+     * Get the value at the given index
+     * @param index int: position of the value
+     * @return long: value at the index
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    /**
+     * Set the value at a particular index in the list
+     * @param value long: value to set at index
+     * @param index int: position in the list at which to place the value
+     * @return boolean: success status
+     */
+    public boolean set(long value, int index) {
+
+        // If index is too big or small, return false
+        if(index > length - 1 || index < 0) return false;
+
+        // Replace the value at index
+        data[index] = value;
+
+        // Return success
+        return true;
+
+    }
+
+    /**
+     * Return the number of values in the list
+     * @return int: number of values
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Return the length of the underlying array
+     * @return int: length of the underlying array
+     */
+    public int sizeUnderlying() {
+        return data.length;
+    }
+
+    /**
+     * Grow the underlying array ahead of time so it holds at least a number of values
+     * @param minCapacity int: number of values the underlying array must hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity > data.length) grow(minCapacity);
+    }
+
+    /**
+     * Shrink the underlying array to exactly the number of values, releasing the unused space
+     */
+    public void trimToSize() {
+        if(length < data.length) data = Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Remove every value, keeping the underlying array
+     */
+    public void clear() {
+        length = 0;
+    }
+
+    /**
+     * Return a copy of the values in order
+     * @return long[]: array of exactly size() values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Return the sum of the values, wrapping around on overflow like long arithmetic
+     * @return long: sum of every value, 0 for an empty list
+     */
+    public long sum() {
+        long sum = 0;
+        for(int i = 0; i < length; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Return the smallest value
+     * @return long: minimum value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long min() {
+        checkNotEmpty();
+        long min = data[0];
+        for(int i = 1; i < length; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Return the largest value
+     * @return long: maximum value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long max() {
+        checkNotEmpty();
+        long max = data[0];
+        for(int i = 1; i < length; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Sort the values in ascending order. Lists of at least a thousand values use a radix sort
+     * that makes one counting pass and a scatter pass per byte, rather than comparing values
+     */
+    public void sort() {
+        RadixSort.sort(data, length);
+    }
+
+    /**
+     * Sort the values in ascending order, splitting large lists into fork-join tasks on the common pool
+     */
+    public void parallelSort() {
+        Arrays.parallelSort(data, 0, length);
+    }
+
+    /**
+     * Search a sorted list for a value
+     * @param value long: value to search for
+     * @return int: index of a matching value, or -(insertion point) - 1 if there is none
+     */
+    public int binarySearch(long value) {
+        return Arrays.binarySearch(data, 0, length, value);
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Copy the values into a new underlying array whose length is chosen by the growth policy
+     * @param minCapacity int: number of values the new array must hold
+     */
+    private void grow(int minCapacity) {
+        data = Arrays.copyOf(data, growthPolicy.newCapacity(data.length, minCapacity));
+    }
+
+    /**
+     * Throw if an index does not refer to a value in the list
+     * @param index int: index to check
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + length);
+        }
+    }
+
+    /**
+     * Throw if the list has no values to reduce
+     */
+    private void checkNotEmpty() {
+        if(length == 0) throw new NoSuchElementException("List is empty");
+    }
+
+}
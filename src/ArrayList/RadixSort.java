@@ -0,0 +1,174 @@
+package ArrayList;
+
+import java.util.Arrays;
+
+// Concepts learned from "Radix Sort Revisited" by Pierre Terdiman and the LSD radix sorts in fastutil
+
+/**
+ * Least significant digit radix sorts for the primitive array lists, one byte per pass.
+ * A single pass over the values counts every byte position at once, and a pass is skipped when all values share
+ * that byte, so ints spanning a small range only pay for the bytes that differ. Each sort needs a scratch array
+ * as long as the values, and small arrays go to Arrays.sort where a comparison sort is quicker
+ */
+final class RadixSort {
+
+    // Arrays shorter than this are sorted with Arrays.sort
+    static final int THRESHOLD = 1024;
+
+    // Number of values a single byte can take
+    private static final int RADIX = 256;
+
+    private RadixSort() {}
+
+    /**
+     * Sort the first length values of an array in ascending order
+     * @param values int[]: array to sort in place
+     * @param length int: number of values to sort from the start of the array
+     */
+    static void sort(int[] values, int length) {
+
+        if(length < THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+
+        // Count every byte position in one pass, flipping the sign bit so negative values sort first
+        int[] counts = new int[Integer.BYTES * RADIX];
+        for(int i = 0; i < length; i++) {
+            int key = values[i] ^ Integer.MIN_VALUE;
+            for(int pass = 0; pass < Integer.BYTES; pass++) {
+                counts[pass * RADIX + (key >>> (pass << 3) & 0xFF)]++;
+            }
+        }
+
+        // Scatter by each byte in turn, from the lowest, alternating between the array and the scratch array
+        int[] from = values;
+        int[] to = new int[length];
+        for(int pass = 0; pass < Integer.BYTES; pass++) {
+            int offset = pass * RADIX;
+            if(!startOffsets(counts, offset, length)) continue;
+
+            int shift = pass << 3;
+            for(int i = 0; i < length; i++) {
+                int value = from[i];
+                to[counts[offset + ((value ^ Integer.MIN_VALUE) >>> shift & 0xFF)]++] = value;
+            }
+
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        // An odd number of passes leaves the result in the scratch array
+        if(from != values) System.arraycopy(from, 0, values, 0, length);
+
+    }
+
+    /**
+     * Sort the first length values of an array in ascending order
+     * @param values long[]: array to sort in place
+     * @param length int: number of values to sort from the start of the array
+     */
+    static void sort(long[] values, int length) {
+
+        if(length < THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+
+        sortKeys(values, length);
+
+    }
+
+    /**
+     * Sort the first length values of an array in the order of Arrays.sort: -0.0 before 0.0 and NaN last.
+     * NaNs with unusual bit patterns come back as the standard NaN
+     * @param values double[]: array to sort in place
+     * @param length int: number of values to sort from the start of the array
+     */
+    static void sort(double[] values, int length) {
+
+        if(length < THRESHOLD) {
+            Arrays.sort(values, 0, length);
+            return;
+        }
+
+        // Map each double to a long that orders the same way: negative doubles have their magnitude bits flipped
+        long[] keys = new long[length];
+        for(int i = 0; i < length; i++) {
+            long bits = Double.doubleToLongBits(values[i]);
+            keys[i] = bits ^ (bits >> 63 & Long.MAX_VALUE);
+        }
+
+        sortKeys(keys, length);
+
+        // The mapping is its own inverse
+        for(int i = 0; i < length; i++) {
+            long key = keys[i];
+            values[i] = Double.longBitsToDouble(key ^ (key >> 63 & Long.MAX_VALUE));
+        }
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Radix sort the first length longs of an array in ascending order
+     * @param values long[]: array to sort in place
+     * @param length int: number of values to sort from the start of the array
+     */
+    private static void sortKeys(long[] values, int length) {
+
+        // Count every byte position in one pass, flipping the sign bit so negative values sort first
+        int[] counts = new int[Long.BYTES * RADIX];
+        for(int i = 0; i < length; i++) {
+            long key = values[i] ^ Long.MIN_VALUE;
+            for(int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass * RADIX + (int)(key >>> (pass << 3) & 0xFF)]++;
+            }
+        }
+
+        // Scatter by each byte in turn, from the lowest, alternating between the array and the scratch array
+        long[] from = values;
+        long[] to = new long[length];
+        for(int pass = 0; pass < Long.BYTES; pass++) {
+            int offset = pass * RADIX;
+            if(!startOffsets(counts, offset, length)) continue;
+
+            int shift = pass << 3;
+            for(int i = 0; i < length; i++) {
+                long value = from[i];
+                to[counts[offset + (int)((value ^ Long.MIN_VALUE) >>> shift & 0xFF)]++] = value;
+            }
+
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        // An odd number of passes leaves the result in the scratch array
+        if(from != values) System.arraycopy(from, 0, values, 0, length);
+
+    }
+
+    /**
+     * Turn one byte position's counts into the index at which each byte value's run starts
+     * @param counts int[]: counts of every byte position
+     * @param offset int: index of this byte position's first count
+     * @param length int: number of values being sorted
+     * @return boolean: false if every value has the same byte here, so the pass would not move anything
+     */
+    private static boolean startOffsets(int[] counts, int offset, int length) {
+
+        int start = 0;
+        for(int digit = offset; digit < offset + RADIX; digit++) {
+            int count = counts[digit];
+            if(count == length) return false;
+            counts[digit] = start;
+            start += count;
+        }
+        return true;
+
+    }
+
+}
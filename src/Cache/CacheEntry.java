@@ -0,0 +1,72 @@
+package Cache;
+
+import LinkedList.Node;
+
+/**
+ * Linked list node holding a cached value, extended with the key and weight so an entry
+ * found through the hash table can be unlinked directly and an evicted entry can be removed from the table
+ */
+class CacheEntry<K, V> extends Node<V> {
+
+    // Key this entry is stored under
+    private final K key;
+
+    // Weight counted against the cache's capacity
+    private int weight;
+
+    // Which of a segmented cache's lists the entry is on
+    private int segment;
+
+    /**
+     * Constructor for an entry that is not yet on a list
+     * @param key K: key of the entry
+     * @param value V: cached value
+     * @param weight int: weight of the entry
+     */
+    CacheEntry(K key, V value, int weight) {
+        super(value);
+        this.key = key;
+        this.weight = weight;
+    }
+
+    /**
+     * Return the key of the entry
+     * @return K: key of the entry
+     */
+    K getKey() {
+        return key;
+    }
+
+    /**
+     * Return the weight of the entry
+     * @return int: weight of the entry
+     */
+    int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Set the weight of the entry
+     * @param weight int: new weight
+     */
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Return which list of a segmented cache the entry is on
+     * @return int: segment identifier chosen by the cache
+     */
+    int getSegment() {
+        return segment;
+    }
+
+    /**
+     * Record which list of a segmented cache the entry is on
+     * @param segment int: segment identifier chosen by the cache
+     */
+    void setSegment(int segment) {
+        this.segment = segment;
+    }
+
+}
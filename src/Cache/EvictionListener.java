@@ -0,0 +1,16 @@
+package Cache;
+
+/**
+ * Callback told about every entry a cache evicts to stay within its capacity
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    /**
+     * Called after an entry has been evicted
+     * @param key K: key of the evicted entry
+     * @param value V: value of the evicted entry
+     */
+    public void onEviction(K key, V value);
+
+}
@@ -0,0 +1,104 @@
+package Cache;
+
+// Concepts learned from: https://arxiv.org/abs/1512.00727 (TinyLFU) and the frequency sketch in Caffeine
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often each key has been seen recently.
+ * Sixteen counters are packed into each long, every key maps to one counter in each of four rows,
+ * and the estimate is the smallest of the four. After a sample period all counters are halved
+ * so old popularity fades (aging).
+ */
+class FrequencySketch {
+
+    // Seeds for the four row hash functions
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    // Clears the low bit of every 4-bit counter after a right shift, halving each counter
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    // Packed counters, 16 per long
+    private final long[] table;
+
+    // Number of counters - 1
+    private final int counterMask;
+
+    // Number of increments after which the counters are halved
+    private final int sampleSize;
+
+    // Increments since the last halving
+    private int additions;
+
+    /**
+     * Create a sketch sized for a cache of the given capacity
+     * @param maximumSize int: number of entries the cache holds
+     */
+    FrequencySketch(int maximumSize) {
+
+        // One long (16 counters) per cached entry, rounded up to a power of two
+        int longs = 1;
+        while(longs < maximumSize && longs < (1 << 26)) longs <<= 1;
+        table = new long[longs];
+        counterMask = longs * 16 - 1;
+        sampleSize = 10 * Math.max(1, maximumSize);
+
+    }
+
+    /**
+     * Return the estimated number of recent occurrences of a key, at most 15
+     * @param hashCode int: hash code of the key
+     * @return int: estimated frequency
+     */
+    int frequency(int hashCode) {
+        int frequency = 15;
+        for(int row = 0; row < 4; row++) {
+            int counter = counterIndex(hashCode, row);
+            frequency = Math.min(frequency, (int)((table[counter >>> 4] >>> ((counter & 15) << 2)) & 15L));
+        }
+        return frequency;
+    }
+
+    /**
+     * Record an occurrence of a key, halving every counter once the sample period is over
+     * @param hashCode int: hash code of the key
+     */
+    void increment(int hashCode) {
+
+        boolean added = false;
+        for(int row = 0; row < 4; row++) {
+            int counter = counterIndex(hashCode, row);
+            int index = counter >>> 4;
+            int shift = (counter & 15) << 2;
+
+            // Saturate at 15
+            if(((table[index] >>> shift) & 15L) != 15L) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if(added && ++additions == sampleSize) reset();
+    }
+
+    /**
+     * Halve every counter
+     */
+    private void reset() {
+        for(int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    /**
+     * Select the counter for a key in one row
+     * @param hashCode int: hash code of the key
+     * @param row int: row 0 - 3
+     * @return int: index of the 4-bit counter across the whole table
+     */
+    private int counterIndex(int hashCode, int row) {
+        long h = (hashCode + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return (int)h & counterMask;
+    }
+
+}
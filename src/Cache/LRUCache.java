@@ -0,0 +1,225 @@
+package Cache;
+
+import HashTable.HashTable;
+
+/**
+ * Bounded least recently used cache.
+ * A HashTable maps each key straight to its entry, and the entry is itself a node of the recency list,
+ * so get, put and evict are all O(1): no list scan is needed to find the entry being touched.
+ * The bound is either a maximum number of entries or a maximum total weight.
+ */
+public class LRUCache<K, V> {
+
+    // Key to entry, the entry is linked into the recency list
+    private final HashTable<K, CacheEntry<K, V>> table;
+
+    // Entries from most to least recently used
+    private final RecencyList<K, V> recency;
+
+    // Maximum total weight before entries are evicted
+    private final long maxWeight;
+
+    // Weight of each entry, every entry weighs 1 when bounded by entry count
+    private final Weigher<K, V> weigher;
+
+    // Told about each evicted entry, may be null
+    private final EvictionListener<K, V> evictionListener;
+
+    // Total weight of the cached entries
+    private long totalWeight;
+
+    // Statistics
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Initialize a cache holding at most a number of entries
+     * @param maxEntries int: maximum number of entries
+     */
+    public LRUCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Initialize a cache holding at most a number of entries, reporting evictions to a listener
+     * @param maxEntries int: maximum number of entries
+     * @param evictionListener EvictionListener<K, V>: told about each evicted entry, may be null
+     */
+    public LRUCache(int maxEntries, EvictionListener<K, V> evictionListener) {
+        this(maxEntries, (key, value) -> 1, evictionListener);
+    }
+
+    /**
+     * Initialize a cache bounded by the total weight of its entries
+     * @param maxWeight long: maximum total weight
+     * @param weigher Weigher<K, V>: computes the weight of each entry
+     * @param evictionListener EvictionListener<K, V>: told about each evicted entry, may be null
+     */
+    public LRUCache(long maxWeight, Weigher<K, V> weigher, EvictionListener<K, V> evictionListener) {
+
+        if(maxWeight < 0) throw new IllegalArgumentException("Maximum weight must not be negative");
+        if(weigher == null) throw new IllegalArgumentException("Weigher must not be null");
+
+        table = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        recency = new RecencyList<>();
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+
+    }
+
+    /**
+     * Return the cached value for a key and mark it as the most recently used
+     * @param key K: key to look up
+     * @return V: cached value, or null on a miss
+     */
+    public V get(K key) {
+
+        CacheEntry<K, V> entry = table.get(key);
+
+        // Count the miss
+        if(entry == null) {
+            missCount++;
+            return null;
+        }
+
+        // Count the hit and move the entry to the front in place
+        hitCount++;
+        recency.moveToFront(entry);
+        return entry.getContent();
+
+    }
+
+    /**
+     * Add or replace a cached value, then evict least recently used entries until the cache is within its bound
+     * @param key K: key to cache under
+     * @param value V: value to cache
+     */
+    public void put(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        int weight = weigher.weigh(key, value);
+        if(weight < 0) throw new IllegalArgumentException("Weight must not be negative");
+
+        // Offer a new entry, which hashes the key and searches its bucket only once whether or not the key is cached
+        CacheEntry<K, V> entry = new CacheEntry<>(key, value, weight);
+        CacheEntry<K, V> existing = table.addIfAbsent(key, entry);
+
+        // Replace the value of an existing entry and refresh its recency
+        if(existing != null) {
+            totalWeight += weight - existing.getWeight();
+            existing.setContent(value);
+            existing.setWeight(weight);
+            recency.moveToFront(existing);
+        }
+
+        // The new entry was added, link it in as the most recently used
+        else {
+            recency.addFirst(entry);
+            totalWeight += weight;
+        }
+
+        evictToBound();
+
+    }
+
+    /**
+     * Remove a key from the cache without counting it as an eviction
+     * @param key K: key to remove
+     * @return V: value that was cached, or null if the key was not cached
+     */
+    public V remove(K key) {
+
+        CacheEntry<K, V> entry = table.remove(key);
+        if(entry == null) return null;
+
+        recency.remove(entry);
+        totalWeight -= entry.getWeight();
+        return entry.getContent();
+
+    }
+
+    /**
+     * Return the number of cached entries
+     * @return int: number of entries
+     */
+    public int getSize() {
+        return table.getSize();
+    }
+
+    /**
+     * Return the total weight of the cached entries (the entry count when bounded by entries)
+     * @return long: total weight
+     */
+    public long getWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Remove every entry without counting evictions, statistics are kept
+     */
+    public void clear() {
+        table.clear();
+        recency.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Return the number of get calls that found a value
+     * @return long: hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of get calls that found nothing
+     * @return long: miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the number of entries evicted to stay within the bound
+     * @return long: eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the fraction of get calls that were hits
+     * @return double: hit ratio, 0 if get has not been called
+     */
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double)hitCount / requests;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Evict from the least recently used end until the total weight is within the bound
+     */
+    private void evictToBound() {
+
+        while(totalWeight > maxWeight) {
+
+            CacheEntry<K, V> victim = recency.last();
+            if(victim == null) return;
+
+            recency.remove(victim);
+            table.remove(victim.getKey());
+            totalWeight -= victim.getWeight();
+            evictionCount++;
+
+            if(evictionListener != null) evictionListener.onEviction(victim.getKey(), victim.getContent());
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package Cache;
+
+import LinkedList.Node;
+
+/**
+ * Doubly linked list of cache entries ordered from most to least recently used.
+ * Entries are linked in place, so moving or removing an entry found through the hash table is O(1)
+ */
+class RecencyList<K, V> {
+
+    // Sentinels on either side of the entries, never removed
+    private final Node<V> dummyHead;
+    private final Node<V> dummyTail;
+
+    // Number of entries on the list
+    private int length;
+
+    /**
+     * Initialize an empty list
+     */
+    RecencyList() {
+        dummyHead = new Node<>(null);
+        dummyTail = new Node<>(null);
+        dummyHead.setNextNode(dummyTail);
+        dummyTail.setPreviousNode(dummyHead);
+        length = 0;
+    }
+
+    /**
+     * Return the number of entries on the list
+     * @return int: number of entries
+     */
+    int size() {
+        return length;
+    }
+
+    /**
+     * Link an entry in as the most recently used
+     * @param entry CacheEntry<K, V>: entry not currently on any list
+     */
+    void addFirst(CacheEntry<K, V> entry) {
+        entry.setPreviousNode(dummyHead);
+        entry.setNextNode(dummyHead.getNextNode());
+        dummyHead.getNextNode().setPreviousNode(entry);
+        dummyHead.setNextNode(entry);
+        length++;
+    }
+
+    /**
+     * Unlink an entry from this list
+     * @param entry CacheEntry<K, V>: entry currently on this list
+     */
+    void remove(CacheEntry<K, V> entry) {
+        entry.getPreviousNode().setNextNode(entry.getNextNode());
+        entry.getNextNode().setPreviousNode(entry.getPreviousNode());
+        entry.setPreviousNode(null);
+        entry.setNextNode(null);
+        length--;
+    }
+
+    /**
+     * Mark an entry on this list as the most recently used
+     * @param entry CacheEntry<K, V>: entry currently on this list
+     */
+    void moveToFront(CacheEntry<K, V> entry) {
+        remove(entry);
+        addFirst(entry);
+    }
+
+    /**
+     * Return the least recently used entry without removing it
+     * @return CacheEntry<K, V>: least recently used entry, or null if the list is empty
+     */
+    @SuppressWarnings("unchecked")
+    CacheEntry<K, V> last() {
+        Node<V> last = dummyTail.getPreviousNode();
+        return last == dummyHead ? null : (CacheEntry<K, V>)last;
+    }
+
+    /**
+     * Unlink every entry
+     */
+    void clear() {
+        dummyHead.setNextNode(dummyTail);
+        dummyTail.setPreviousNode(dummyHead);
+        length = 0;
+    }
+
+}
@@ -0,0 +1,278 @@
+package Cache;
+
+import java.util.Objects;
+
+import HashTable.HashTable;
+
+// Concepts learned from: https://arxiv.org/abs/1512.00727 (W-TinyLFU) and the eviction policy of Caffeine
+
+/**
+ * Bounded cache using the W-TinyLFU policy, which keeps its hit ratio under scans that flush a plain LRU.
+ * New entries go to a small LRU window (1% of capacity). Entries leaving the window compete for a place in the
+ * main space against its eviction candidate, and the one a frequency sketch has seen more often wins.
+ * The main space is a segmented LRU: entries start on probation and move to the protected segment (80%)
+ * when they are hit again.
+ */
+public class TinyLfuCache<K, V> {
+
+    // Segment identifiers stored on each entry
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    // Key to entry, the entry is linked into one of the three lists
+    private final HashTable<K, CacheEntry<K, V>> table;
+
+    // Admission window, probation and protected segments, each from most to least recently used
+    private final RecencyList<K, V> window;
+    private final RecencyList<K, V> probation;
+    private final RecencyList<K, V> protectedSegment;
+
+    // Recent access frequency of every key seen, cached or not
+    private final FrequencySketch sketch;
+
+    // Capacities
+    private final int maxEntries;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    // Told about each evicted entry, may be null
+    private final EvictionListener<K, V> evictionListener;
+
+    // Statistics
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Initialize a cache holding at most a number of entries
+     * @param maxEntries int: maximum number of entries
+     */
+    public TinyLfuCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Initialize a cache holding at most a number of entries, reporting evictions to a listener
+     * @param maxEntries int: maximum number of entries
+     * @param evictionListener EvictionListener<K, V>: told about each evicted entry, may be null
+     */
+    public TinyLfuCache(int maxEntries, EvictionListener<K, V> evictionListener) {
+
+        if(maxEntries <= 0) throw new IllegalArgumentException("Maximum entries must be positive");
+
+        table = new HashTable<>(HashTable.Option.POWER_OF_TWO_BUCKETS);
+        window = new RecencyList<>();
+        probation = new RecencyList<>();
+        protectedSegment = new RecencyList<>();
+        sketch = new FrequencySketch(maxEntries);
+
+        // 1% window, 80% of the rest protected
+        this.maxEntries = maxEntries;
+        maxWindow = Math.max(1, maxEntries / 100);
+        maxProtected = (int)((maxEntries - maxWindow) * 0.8);
+
+        this.evictionListener = evictionListener;
+
+    }
+
+    /**
+     * Return the cached value for a key, recording the access
+     * @param key K: key to look up
+     * @return V: cached value, or null on a miss
+     */
+    public V get(K key) {
+
+        // Every access counts towards the key's frequency, even misses
+        sketch.increment(Objects.hashCode(key));
+
+        CacheEntry<K, V> entry = table.get(key);
+        if(entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        onAccess(entry);
+        return entry.getContent();
+
+    }
+
+    /**
+     * Add or replace a cached value; a new entry enters the window and may push an entry through admission
+     * @param key K: key to cache under
+     * @param value V: value to cache
+     */
+    public void put(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        CacheEntry<K, V> entry = table.get(key);
+
+        // Replacing counts as an access
+        if(entry != null) {
+            sketch.increment(key.hashCode());
+            entry.setContent(value);
+            onAccess(entry);
+            return;
+        }
+
+        // New entries start in the window
+        entry = new CacheEntry<>(key, value, 1);
+        entry.setSegment(WINDOW);
+        table.add(key, entry);
+        window.addFirst(entry);
+
+        // Entries pushed out of the window compete for the main space
+        while(window.size() > maxWindow) {
+            CacheEntry<K, V> candidate = window.last();
+            window.remove(candidate);
+            admit(candidate);
+        }
+
+    }
+
+    /**
+     * Remove a key from the cache without counting it as an eviction
+     * @param key K: key to remove
+     * @return V: value that was cached, or null if the key was not cached
+     */
+    public V remove(K key) {
+
+        CacheEntry<K, V> entry = table.remove(key);
+        if(entry == null) return null;
+
+        listFor(entry).remove(entry);
+        return entry.getContent();
+
+    }
+
+    /**
+     * Return the number of cached entries
+     * @return int: number of entries
+     */
+    public int getSize() {
+        return table.getSize();
+    }
+
+    /**
+     * Remove every entry without counting evictions, statistics and frequencies are kept
+     */
+    public void clear() {
+        table.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    /**
+     * Return the number of get calls that found a value
+     * @return long: hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of get calls that found nothing
+     * @return long: miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the number of entries evicted or refused admission to stay within the bound
+     * @return long: eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the fraction of get calls that were hits
+     * @return double: hit ratio, 0 if get has not been called
+     */
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double)hitCount / requests;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Update an entry's position after a hit
+     * @param entry CacheEntry<K, V>: entry that was accessed
+     */
+    private void onAccess(CacheEntry<K, V> entry) {
+
+        // A second hit on probation earns a place in the protected segment
+        if(entry.getSegment() == PROBATION) {
+            probation.remove(entry);
+            entry.setSegment(PROTECTED);
+            protectedSegment.addFirst(entry);
+
+            // Overflow from the protected segment goes back on probation
+            while(protectedSegment.size() > maxProtected) {
+                CacheEntry<K, V> demoted = protectedSegment.last();
+                protectedSegment.remove(demoted);
+                demoted.setSegment(PROBATION);
+                probation.addFirst(demoted);
+            }
+        }
+
+        else listFor(entry).moveToFront(entry);
+
+    }
+
+    /**
+     * Let an entry leaving the window into the main space if there is room, otherwise keep
+     * whichever of it and the main space's eviction candidate has been seen more often
+     * @param candidate CacheEntry<K, V>: entry pushed out of the window
+     */
+    private void admit(CacheEntry<K, V> candidate) {
+
+        // Room in the main space, no competition needed
+        if(probation.size() + protectedSegment.size() < maxEntries - maxWindow) {
+            candidate.setSegment(PROBATION);
+            probation.addFirst(candidate);
+            return;
+        }
+
+        // The main space's least recently used probation entry (or protected if probation is empty)
+        CacheEntry<K, V> victim = probation.last() != null ? probation.last() : protectedSegment.last();
+
+        // Only a strictly more frequent candidate replaces the victim
+        if(victim != null && sketch.frequency(candidate.getKey().hashCode()) > sketch.frequency(victim.getKey().hashCode())) {
+            listFor(victim).remove(victim);
+            evict(victim);
+            candidate.setSegment(PROBATION);
+            probation.addFirst(candidate);
+        }
+        else evict(candidate);
+
+    }
+
+    /**
+     * Drop an entry that is no longer on any list from the table and report it
+     * @param entry CacheEntry<K, V>: entry to evict
+     */
+    private void evict(CacheEntry<K, V> entry) {
+        table.remove(entry.getKey());
+        evictionCount++;
+        if(evictionListener != null) evictionListener.onEviction(entry.getKey(), entry.getContent());
+    }
+
+    /**
+     * Return the list an entry is currently on
+     * @param entry CacheEntry<K, V>: cached entry
+     * @return RecencyList<K, V>: window, probation or protected list
+     */
+    private RecencyList<K, V> listFor(CacheEntry<K, V> entry) {
+        if(entry.getSegment() == WINDOW) return window;
+        if(entry.getSegment() == PROBATION) return probation;
+        return protectedSegment;
+    }
+
+}
@@ -0,0 +1,17 @@
+package Cache;
+
+/**
+ * Computes how much of a weight-bounded cache's capacity an entry uses
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Return the weight of an entry
+     * @param key K: key of the entry
+     * @param value V: value of the entry
+     * @return int: non-negative weight of the entry
+     */
+    public int weigh(K key, V value);
+
+}
@@ -0,0 +1,500 @@
+package HashTable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Concepts learned from the segmented design of java.util.concurrent.ConcurrentHashMap in Java 7
+
+/**
+ * Thread-safe alternative to HashTable.
+ * The buckets are split into independently locked segments, so writers only contend when they hit the same segment,
+ * and get never locks: it reads a volatile bucket array whose chains are only ever changed in ways readers can follow.
+ * Each segment resizes on its own, so threads writing to different segments grow the table in parallel.
+ */
+public class ConcurrentHashTable<K, V> {
+
+    // Number of segments used when no concurrency level is given
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    // Number of buckets each segment starts with (must be a power of two)
+    private static final int INITIAL_SEGMENT_BUCKETS = 2;
+
+    // Load factor at which a segment doubles its buckets
+    private static final double LOAD_FACTOR = 0.75;
+
+    // Independently locked parts of the table
+    private final Segment<K, V>[] segments;
+
+    // Segment count - 1, used to select a segment from the high bits of the spread hash
+    private final int segmentMask;
+
+    // Shift bringing the high bits of the spread hash down to select a segment
+    private final int segmentShift;
+
+    /**
+     * Initialize a table with the default number of segments
+     */
+    public ConcurrentHashTable() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Initialize a table sized for a number of concurrently writing threads
+     * @param concurrencyLevel int: expected number of writer threads, rounded up to a power of two segments
+     */
+    public ConcurrentHashTable(int concurrencyLevel) {
+
+        if(concurrencyLevel <= 0) throw new IllegalArgumentException("Concurrency level must be positive");
+
+        // Round the segment count up to a power of two
+        int segmentCount = 1;
+        int shift = 0;
+        while(segmentCount < concurrencyLevel && segmentCount < (1 << 16)) {
+            segmentCount <<= 1;
+            shift++;
+        }
+
+        segmentMask = segmentCount - 1;
+        segmentShift = 32 - shift;
+
+        // Initialize each segment with its own small bucket array
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment<K, V>[] newSegments = (Segment<K, V>[]) new Segment[segmentCount];
+        segments = newSegments;
+        for(int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(INITIAL_SEGMENT_BUCKETS);
+        }
+
+    }
+
+    /**
+     * Return the number of elements contained in the table, a moving estimate while other threads write
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        long sum = 0;
+        for(Segment<K, V> segment: segments) {
+            sum += segment.count;
+        }
+        return (int)Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        for(Segment<K, V> segment: segments) {
+            if(segment.count != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every element, one segment at a time
+     */
+    public void clear() {
+        for(Segment<K, V> segment: segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Return the total number of buckets across all segments (for testing only)
+     * @return int: number of buckets in the table
+     */
+    public int getNumberOfBuckets() {
+        int sum = 0;
+        for(Segment<K, V> segment: segments) {
+            sum += segment.table.length();
+        }
+        return sum;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     */
+    public void add(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        int hash = getHashCode(key);
+        segmentFor(hash).add(key, hash, value, false);
+
+    }
+
+    /**
+     * Atomically add a key/value pair only if the key is not already in the table
+     * @param key K: key to add
+     * @param value V: value to associate with the key if it is absent
+     * @return V: value already associated with the key, or null if the pair was added
+     */
+    public V addIfAbsent(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return null;
+
+        int hash = getHashCode(key);
+        return segmentFor(hash).add(key, hash, value, true);
+
+    }
+
+    /**
+     * Return the value for a key, atomically computing and adding it first if the key is absent
+     * The function runs at most once per call, under the segment lock, and must not modify this table
+     * @param key K: key to search for
+     * @param mappingFunction Function<? super K, ? extends V>: computes the value of an absent key, null adds nothing
+     * @return V: existing or computed value, or null if the function returned null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Present keys are answered without locking
+        int hash = getHashCode(key);
+        V value = find(key, hash);
+        if(value != null) return value;
+
+        return segmentFor(hash).compute(key, hash, (k, current) -> current != null ? current : mappingFunction.apply(k));
+
+    }
+
+    /**
+     * Atomically replace the value of a key that is present with one computed from it, removing the key if the result is null
+     * The function runs under the segment lock and must not modify this table
+     * @param key K: key to search for
+     * @param remappingFunction BiFunction<? super K, ? super V, ? extends V>: computes the new value from the key and current value
+     * @return V: new value, or null if the key is absent or was removed
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Absent keys are answered without locking
+        int hash = getHashCode(key);
+        if(find(key, hash) == null) return null;
+
+        return segmentFor(hash).compute(key, hash, (k, current) -> current == null ? null : remappingFunction.apply(k, current));
+
+    }
+
+    /**
+     * Atomically compute a key's value from its current value (null if absent), removing the key if the result is null
+     * The function runs under the segment lock and must not modify this table
+     * @param key K: key to compute the value for
+     * @param remappingFunction BiFunction<? super K, ? super V, ? extends V>: computes the new value from the key and current value
+     * @return V: new value, or null if the key is now absent
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        int hash = getHashCode(key);
+        return segmentFor(hash).compute(key, hash, remappingFunction);
+
+    }
+
+    /**
+     * Atomically add a value for an absent key, or combine it with the current value of a present key, removing the key if the result is null
+     * The function runs under the segment lock and must not modify this table
+     * @param key K: key to merge the value into
+     * @param value V: value to add, or to combine with the current value
+     * @param remappingFunction BiFunction<? super V, ? super V, ? extends V>: combines the current value with the given one
+     * @return V: new value, or null if the key was removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return null;
+
+        int hash = getHashCode(key);
+        return segmentFor(hash).compute(key, hash, (k, current) -> current == null ? value : remappingFunction.apply(current, value));
+
+    }
+
+    /**
+     * Remove the entry with a particular key from the table
+     * @param key K: key for the entry to remove
+     * @return V: value contained by the deleted entry, or null on failure
+     */
+    public V remove(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        int hash = getHashCode(key);
+        return segmentFor(hash).remove(key, hash);
+
+    }
+
+    /**
+     * Return the value associated with the parameterized key without locking
+     * @param key K: key to search for in the table
+     * @return V: value associated with parameterized key, or null if it is not present
+     */
+    public V get(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        return find(key, getHashCode(key));
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Return the value associated with a key without locking
+     * @param key K: key to search for, not null
+     * @param hash int: spread hash of the key
+     * @return V: associated value, or null if the key is not present
+     */
+    private V find(K key, int hash) {
+
+        // Read the segment's current bucket array once and walk the chain
+        AtomicReferenceArray<Node<K, V>> table = segmentFor(hash).table;
+        Node<K, V> node = table.get(hash & (table.length() - 1));
+        while(node != null) {
+            if(node.hash == hash && node.key.equals(key)) return node.value;
+            node = node.next;
+        }
+
+        return null;
+    }
+
+    /**
+     * Spread the key's hash code so both the segment bits and the bucket bits depend on every bit
+     * @param key K: an object to get the hash code for
+     * @return int: the spread hash code
+     */
+    private int getHashCode(K key) {
+        return Hashing.spread(Objects.hashCode(key));
+    }
+
+    /**
+     * Select the segment for a hash from its high bits, leaving the low bits to select the bucket
+     * @param hash int: spread hash code
+     * @return Segment<K, V>: segment responsible for the hash
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Chain node; key and hash never change, value and next are volatile so lock-free readers see updates
+     */
+    static final class Node<K, V> {
+
+        final K key;
+        final int hash;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+    }
+
+    /**
+     * One independently locked part of the table with its own bucket array
+     */
+    static final class Segment<K, V> extends ReentrantLock {
+
+        // ReentrantLock is Serializable, segments are never serialized on their own
+        private static final long serialVersionUID = 1L;
+
+        // Bucket array, replaced as a whole when the segment resizes
+        volatile AtomicReferenceArray<Node<K, V>> table;
+
+        // Number of elements in this segment
+        volatile int count;
+
+        // Count at which the bucket array doubles
+        int threshold;
+
+        /**
+         * Create a segment with a given number of buckets
+         * @param buckets int: initial number of buckets, a power of two
+         */
+        Segment(int buckets) {
+            setTable(new AtomicReferenceArray<>(buckets));
+        }
+
+        /**
+         * Add or replace a key under the segment lock
+         * @param key K: key to add
+         * @param hash int: spread hash of the key
+         * @param value V: value to associate with the key
+         * @param onlyIfAbsent boolean: whether to keep the value of a key that is already present
+         * @return V: value the key had before, or null if it was absent
+         */
+        V add(K key, int hash, V value, boolean onlyIfAbsent) {
+            lock();
+            try {
+
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node<K, V> head = tab.get(index);
+
+                // Replace the value if the key is already present
+                for(Node<K, V> node = head; node != null; node = node.next) {
+                    if(node.hash == hash && node.key.equals(key)) {
+                        V previous = node.value;
+                        if(!onlyIfAbsent) node.value = value;
+                        return previous;
+                    }
+                }
+
+                // Publish a fully built node at the front of the chain
+                tab.set(index, new Node<>(key, hash, value, head));
+
+                // Grow once the load factor is crossed
+                if(++count > threshold) resize();
+                return null;
+
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Remove a key under the segment lock
+         * @param key K: key to remove
+         * @param hash int: spread hash of the key
+         * @return V: removed value, or null if the key was not present
+         */
+        V remove(K key, int hash) {
+            lock();
+            try {
+
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node<K, V> prev = null;
+                Node<K, V> node = tab.get(index);
+
+                // Look for the node to remove
+                while(node != null && !(node.hash == hash && node.key.equals(key))) {
+                    prev = node;
+                    node = node.next;
+                }
+
+                if(node == null) return null;
+
+                // Unlink it; a reader standing on the removed node still reaches the rest of the chain
+                if(prev == null) tab.set(index, node.next);
+                else prev.next = node.next;
+
+                count--;
+                return node.value;
+
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Compute a key's new value from its current one under the segment lock, in a single walk of the chain
+         * @param key K: key to compute the value for
+         * @param hash int: spread hash of the key
+         * @param remappingFunction BiFunction<? super K, ? super V, ? extends V>: computes the new value, null removes the key
+         * @return V: new value, or null if the key is now absent
+         */
+        V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+            lock();
+            try {
+
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node<K, V> prev = null;
+                Node<K, V> node = tab.get(index);
+
+                // Look for the key, remembering the node before it in case it is removed
+                while(node != null && !(node.hash == hash && node.key.equals(key))) {
+                    prev = node;
+                    node = node.next;
+                }
+
+                V current = node == null ? null : node.value;
+                V value = remappingFunction.apply(key, current);
+
+                // Absent key: add it unless the result is null
+                if(node == null) {
+                    if(value == null) return null;
+                    tab.set(index, new Node<>(key, hash, value, tab.get(index)));
+                    if(++count > threshold) resize();
+                }
+
+                // Present key: remove it on null, otherwise replace the value if it changed
+                else if(value == null) {
+                    if(prev == null) tab.set(index, node.next);
+                    else prev.next = node.next;
+                    count--;
+                }
+                else if(value != current) node.value = value;
+
+                return value;
+
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Replace the bucket array with an empty one of the initial size
+         */
+        void clear() {
+            lock();
+            try {
+                setTable(new AtomicReferenceArray<>(INITIAL_SEGMENT_BUCKETS));
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Double this segment's buckets, the same redistribution HashTable does but per segment.
+         * Nodes are copied rather than relinked so readers still walking the old array see unchanged chains;
+         * the new array is published with a single volatile write once it is complete.
+         */
+        private void resize() {
+
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            int newLength = oldTable.length() << 1;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newLength);
+
+            for(int i = 0; i < oldTable.length(); i++) {
+                for(Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & (newLength - 1);
+                    newTable.set(index, new Node<>(node.key, node.hash, node.value, newTable.get(index)));
+                }
+            }
+
+            setTable(newTable);
+        }
+
+        /**
+         * Install a bucket array and recompute the resize threshold
+         * @param newTable AtomicReferenceArray<Node<K, V>>: bucket array to install
+         */
+        private void setTable(AtomicReferenceArray<Node<K, V>> newTable) {
+            threshold = (int)(newTable.length() * LOAD_FACTOR);
+            table = newTable;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package HashTable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct and memory-mapped buffers as soon as they are no longer needed,
+ * instead of whenever the garbage collector happens to collect the buffer objects
+ */
+final class DirectBuffers {
+
+    // Unsafe.invokeCleaner and its receiver, null if the JDK does not allow access
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch(ReflectiveOperationException | RuntimeException e) {
+            // Fall back to the garbage collector freeing buffers once they are unreachable
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectBuffers() {}
+
+    /**
+     * Free a direct buffer's memory, or unmap a mapped buffer, right away; the buffer must not be used afterwards
+     * @param buffer ByteBuffer: direct or mapped buffer, ignored if null
+     */
+    static void free(ByteBuffer buffer) {
+
+        if(buffer == null || INVOKE_CLEANER == null) return;
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch(ReflectiveOperationException e) {
+            // Left for the garbage collector
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+package HashTable;
+
+import java.util.Arrays;
+
+// Concepts learned from: Belazzougui, Botelho and Dietzfelbinger, "Hash, displace, and compress" (the CHD algorithm)
+
+/**
+ * Immutable table produced by HashTable.freeze(), for tables that are built once and then only read.
+ * Keys are placed with a minimal perfect hash function: every distinct hash code owns exactly one slot of arrays
+ * sized to the number of distinct hash codes, so a lookup computes its slot directly and compares one key,
+ * with no chains, no probing and no per-entry node objects.
+ * The hash codes are split into small buckets, and each bucket stores the seed that scattered its hash codes into
+ * free slots (or, for a bucket of one, the slot itself); buckets are placed largest first while free slots are plentiful.
+ * A perfect hash cannot separate keys with the same hash code, so those keys share their slot in a small overflow
+ * group that is searched linearly.
+ */
+public class FrozenHashTable<K, V> {
+
+    // Average number of distinct hash codes per bucket, fewer means more seeds but a faster build
+    private static final int HASHES_PER_BUCKET = 2;
+
+    // Seed of each bucket, or -(slot + 1) for a bucket of one hash code placed directly
+    private final int[] seeds;
+
+    // Hash code owning each slot
+    private final int[] hashes;
+
+    // Key of each slot, null if the slot's hash code is shared and its keys are in an overflow group
+    private final Object[] keys;
+
+    // Value of each slot, or the slot's Overflow group
+    private final Object[] values;
+
+    // Number of key/value pairs in the table
+    private final int size;
+
+    /**
+     * Keys sharing one hash code, stored in the slot of that hash code
+     */
+    private static final class Overflow {
+
+        // Keys with the slot's hash code and their values, in matching positions
+        final Object[] keys;
+        final Object[] values;
+
+        Overflow(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Build the perfect hash over a set of entries; the arrays are not kept
+     * @param entryKeys Object[]: distinct, non-null keys
+     * @param entryValues Object[]: value of each key
+     * @param entryHashes int[]: hash code of each key
+     * @param count int: number of entries in the arrays
+     */
+    FrozenHashTable(Object[] entryKeys, Object[] entryValues, int[] entryHashes, int count) {
+
+        size = count;
+
+        // Sort the entries by hash code so equal hash codes are adjacent, keeping each entry's position in the low bits
+        long[] order = new long[count];
+        for(int i = 0; i < count; i++) {
+            order[i] = (long)entryHashes[i] << 32 | i;
+        }
+        Arrays.sort(order);
+
+        // Each run of equal hash codes becomes one slot
+        int[] runStart = new int[count + 1];
+        int slots = 0;
+        for(int i = 0; i < count; i++) {
+            if(i == 0 || (int)(order[i] >> 32) != (int)(order[i - 1] >> 32)) runStart[slots++] = i;
+        }
+        runStart[slots] = count;
+
+        hashes = new int[slots];
+        keys = new Object[slots];
+        values = new Object[slots];
+        seeds = new int[Math.max(1, slots / HASHES_PER_BUCKET)];
+
+        // Find a slot for every distinct hash code
+        int[] slotOfRun = placeRuns(order, runStart, slots);
+
+        // Fill each slot, moving keys that share a hash code into an overflow group
+        for(int run = 0; run < slots; run++) {
+
+            int slot = slotOfRun[run];
+            int first = runStart[run];
+            int length = runStart[run + 1] - first;
+            hashes[slot] = (int)(order[first] >> 32);
+
+            if(length == 1) {
+                keys[slot] = entryKeys[(int)order[first]];
+                values[slot] = entryValues[(int)order[first]];
+                continue;
+            }
+
+            Object[] groupKeys = new Object[length];
+            Object[] groupValues = new Object[length];
+            for(int j = 0; j < length; j++) {
+                groupKeys[j] = entryKeys[(int)order[first + j]];
+                groupValues[j] = entryValues[(int)order[first + j]];
+            }
+            values[slot] = new Overflow(groupKeys, groupValues);
+        }
+
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Return the number of slots, one per distinct hash code (for testing only)
+     * @return int: number of slots in the table
+     */
+    public int getNumberOfBuckets() {
+        return hashes.length;
+    }
+
+    /**
+     * Return the value associated with the parameterized key
+     * @param key K: key to search for in the table
+     * @return V: value associated with parameterized key, or null if the key is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+
+        // Null keys are never stored
+        if(key == null || hashes.length == 0) return null;
+
+        int hashCode = key.hashCode();
+        int slot = slotOf(hashCode);
+
+        // Every hash code maps to some slot, an absent one is rejected by the stored hash code
+        if(hashes[slot] != hashCode) return null;
+
+        Object stored = keys[slot];
+        if(stored != null) return key.equals(stored) ? (V)values[slot] : null;
+
+        // Keys sharing this hash code
+        Overflow overflow = (Overflow)values[slot];
+        for(int i = 0; i < overflow.keys.length; i++) {
+            if(key.equals(overflow.keys[i])) return (V)overflow.values[i];
+        }
+        return null;
+
+    }
+
+    /**
+     * Return whether a key is in the table
+     * @param key K: key to search for
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(K key) {
+
+        // Values are never null, so a found value means a present key
+        return get(key) != null;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Return the bucket of a hash code
+     * @param hashCode int: hash code of a key
+     * @return int: index into seeds
+     */
+    private int bucketOf(int hashCode) {
+
+        // Multiply-shift range reduction, no division
+        return (int)(((Hashing.spread(hashCode) & 0xFFFFFFFFL) * seeds.length) >>> 32);
+    }
+
+    /**
+     * Return the slot a seed sends a hash code to
+     * @param hashCode int: hash code of a key
+     * @param seed int: seed of the hash code's bucket, positive
+     * @return int: slot index
+     */
+    private int slotFor(int hashCode, int seed) {
+        long mixed = Hashing.spread((long)seed << 32 | (hashCode & 0xFFFFFFFFL)) & 0xFFFFFFFFL;
+        return (int)((mixed * hashes.length) >>> 32);
+    }
+
+    /**
+     * Return the slot owned by a hash code, if it is in the table
+     * @param hashCode int: hash code of a key
+     * @return int: slot index
+     */
+    private int slotOf(int hashCode) {
+        int seed = seeds[bucketOf(hashCode)];
+        return seed < 0 ? -seed - 1 : slotFor(hashCode, seed);
+    }
+
+    /**
+     * Choose the seed of every bucket so that each distinct hash code gets its own slot
+     * @param order long[]: entries sorted by hash code, hash code in the high 32 bits
+     * @param runStart int[]: first entry of each distinct hash code, followed by the entry count
+     * @param runs int: number of distinct hash codes, which is also the number of slots
+     * @return int[]: slot of each distinct hash code
+     */
+    private int[] placeRuns(long[] order, int[] runStart, int runs) {
+
+        int numBuckets = seeds.length;
+
+        // Group the distinct hash codes by bucket: count, then prefix sums, then fill
+        int[] bucketStart = new int[numBuckets + 1];
+        int[] runBucket = new int[runs];
+        for(int run = 0; run < runs; run++) {
+            runBucket[run] = bucketOf((int)(order[runStart[run]] >> 32));
+            bucketStart[runBucket[run] + 1]++;
+        }
+        int largest = 0;
+        for(int b = 0; b < numBuckets; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[runs];
+        int[] fill = Arrays.copyOf(bucketStart, numBuckets);
+        for(int run = 0; run < runs; run++) {
+            members[fill[runBucket[run]]++] = run;
+        }
+
+        // Order the buckets from largest to smallest with a counting sort on their sizes
+        int[] sizeStart = new int[largest + 2];
+        for(int b = 0; b < numBuckets; b++) {
+            sizeStart[largest - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+        }
+        for(int s = 0; s <= largest; s++) {
+            sizeStart[s + 1] += sizeStart[s];
+        }
+        int[] bucketOrder = new int[numBuckets];
+        for(int b = 0; b < numBuckets; b++) {
+            bucketOrder[sizeStart[largest - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+        }
+
+        int[] slotOfRun = new int[runs];
+        boolean[] taken = new boolean[runs];
+        int freeCursor = 0;
+
+        for(int bucket: bucketOrder) {
+
+            int first = bucketStart[bucket];
+            int length = bucketStart[bucket + 1] - first;
+
+            // Buckets are sorted, so only empty buckets remain
+            if(length == 0) break;
+
+            // A bucket of one needs no search, it takes the next free slot
+            if(length == 1) {
+                while(taken[freeCursor]) freeCursor++;
+                taken[freeCursor] = true;
+                slotOfRun[members[first]] = freeCursor;
+                seeds[bucket] = -freeCursor - 1;
+                continue;
+            }
+
+            // Try seeds until every member lands on a free slot and no two members collide
+            for(int seed = 1; ; seed++) {
+
+                if(seed == Integer.MAX_VALUE) throw new IllegalStateException("No seed places bucket " + bucket);
+
+                int placed = 0;
+                for(; placed < length; placed++) {
+                    int run = members[first + placed];
+                    int slot = slotFor((int)(order[runStart[run]] >> 32), seed);
+                    if(taken[slot]) break;
+                    taken[slot] = true;
+                    slotOfRun[run] = slot;
+                }
+
+                if(placed == length) {
+                    seeds[bucket] = seed;
+                    break;
+                }
+
+                // Release the slots this attempt took
+                for(int j = 0; j < placed; j++) {
+                    taken[slotOfRun[members[first + j]]] = false;
+                }
+            }
+        }
+
+        return slotOfRun;
+    }
+
+}
@@ -0,0 +1,174 @@
+package HashTable;
+
+import java.util.Iterator;
+import java.util.Objects;
+import ArrayList.ArrayList;
+
+/**
+ * Map from each key to a list of values, built on the HashTable core. A key's list is created by its first value
+ * and dropped with its last, so a present key always has at least one value.
+ * Values are kept in the order they were added, and the same value may be stored more than once under a key
+ */
+public class HashMultimap<K, V> {
+
+    // Table of each key's values
+    private final HashTable<K, ArrayList<V>> table;
+
+    // Number of key/value pairs across every key
+    private int size;
+
+    /**
+     * Initialize an empty multimap
+     * @param options HashTable.Option...: behaviours to enable for the underlying table
+     */
+    public HashMultimap(HashTable.Option... options) {
+        table = new HashTable<>(options);
+    }
+
+    /**
+     * Initialize an empty multimap with room for an expected number of keys without resizing
+     * @param expectedKeys int: number of distinct keys the multimap is expected to hold
+     * @param options HashTable.Option...: behaviours to enable for the underlying table
+     */
+    public HashMultimap(int expectedKeys, HashTable.Option... options) {
+        table = new HashTable<>(expectedKeys, options);
+    }
+
+    /**
+     * Return the number of key/value pairs, counting every value of every key
+     * @return int: number of pairs in the multimap
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return the number of distinct keys
+     * @return int: number of keys with at least one value
+     */
+    public int getKeyCount() {
+        return table.getSize();
+    }
+
+    /**
+     * Return whether or not there is a pair placed in the multimap
+     * @return boolean: whether or not the multimap is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Remove every pair from the multimap
+     */
+    public void clear() {
+        table.clear();
+        size = 0;
+    }
+
+    /**
+     * Add a value to a key's list, creating the list if the key is new
+     * @param key K: key to add the value under
+     * @param value V: value to add
+     */
+    public void put(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        // One probe finds or creates the key's list
+        table.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        size++;
+
+    }
+
+    /**
+     * Return the values of a key in the order they were added
+     * The list belongs to the multimap and must only be changed through put and remove
+     * @param key K: key to search for
+     * @return ArrayList<V>: values of the key, or null if the key is not present
+     */
+    public ArrayList<V> get(K key) {
+        return table.get(key);
+    }
+
+    /**
+     * Return whether a key has any values
+     * @param key K: key to search for
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(K key) {
+        return table.get(key) != null;
+    }
+
+    /**
+     * Return whether a value is stored under a key
+     * @param key K: key to search for
+     * @param value V: value to search for in the key's list
+     * @return boolean: true if the pair is present
+     */
+    public boolean containsEntry(K key, V value) {
+        ArrayList<V> values = table.get(key);
+        return values != null && indexOf(values, value) >= 0;
+    }
+
+    /**
+     * Remove one occurrence of a value from a key's list, dropping the key if it was its last value
+     * @param key K: key to remove the value from
+     * @param value V: value to remove
+     * @return boolean: true if the pair was present
+     */
+    public boolean remove(K key, V value) {
+
+        ArrayList<V> values = table.get(key);
+        if(values == null) return false;
+
+        int index = indexOf(values, value);
+        if(index < 0) return false;
+
+        values.delete(index);
+        size--;
+
+        // A key without values is not kept
+        if(values.size() == 0) table.remove(key);
+        return true;
+
+    }
+
+    /**
+     * Remove a key and every value stored under it
+     * @param key K: key to remove
+     * @return ArrayList<V>: values the key had, or null if the key was not present
+     */
+    public ArrayList<V> removeAll(K key) {
+
+        ArrayList<V> values = table.remove(key);
+        if(values != null) size -= values.size();
+        return values;
+
+    }
+
+    /**
+     * Return an iterator over the distinct keys in bucket order
+     * @return Iterator<K>: iterator over the keys
+     */
+    public Iterator<K> keys() {
+        return table.keys();
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Find the first occurrence of a value in a list
+     * @param values ArrayList<V>: list to search
+     * @param value V: value to look for
+     * @return int: index of the value, or -1 if not present
+     */
+    private int indexOf(ArrayList<V> values, V value) {
+        for(int i = 0; i < values.size(); i++) {
+            if(Objects.equals(values.get(i), value)) return i;
+        }
+        return -1;
+    }
+
+}
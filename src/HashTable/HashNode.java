@@ -13,6 +13,9 @@ public class HashNode<K, V> {
 
     // Address for the next node in the list
     private HashNode<K, V> nextNode;
+
+    // Expiration timer for entries added with a time-to-live, null if the entry never expires
+    private TimerWheel.Timer<K> timer;
     
     /**
      * Constructor for a node in the HashTable bucket list
@@ -83,13 +86,27 @@ public class HashNode<K, V> {
     }
 
     /**
-     * Set the next node in the bucket (public becuase not done at node construction)
+     * Set the next node in the bucket. Package-private so code walking the table's entries cannot cut or loop a chain
      * @param nextNode HashNode<K, V>: next node in the list
      */
-    public void setNextNode(HashNode<K, V> nextNode) {
+    void setNextNode(HashNode<K, V> nextNode) {
         this.nextNode = nextNode;
     }
 
-    
+    /**
+     * Return the expiration timer of this node
+     * @return TimerWheel.Timer<K>: timer, or null if the node never expires
+     */
+    TimerWheel.Timer<K> getTimer() {
+        return timer;
+    }
+
+    /**
+     * Set the expiration timer of this node
+     * @param timer TimerWheel.Timer<K>: timer, or null if the node never expires
+     */
+    void setTimer(TimerWheel.Timer<K> timer) {
+        this.timer = timer;
+    }
 
 }
@@ -0,0 +1,172 @@
+package HashTable;
+
+import java.util.Iterator;
+
+/**
+ * Set of distinct elements built on the HashTable core, so it shares the table's hashing, bucket options, resizing
+ * and tree bins. Every element is stored with one shared marker value instead of a value per element; a node is
+ * 32 bytes with or without a value field once object alignment is applied, so a dedicated value-less node would not
+ * be any smaller.
+ * The set algebra operations iterate the smaller of the two sets and look its elements up in the larger one.
+ */
+public class HashSet<E> implements Iterable<E> {
+
+    // Value stored with every element
+    private static final Object PRESENT = Boolean.TRUE;
+
+    // Table holding the elements as keys
+    private final HashTable<E, Object> table;
+
+    // Options the table was created with, reused for the sets the algebra operations return
+    private final HashTable.Option[] options;
+
+    /**
+     * Initialize an empty set
+     * @param options HashTable.Option...: behaviours to enable for the underlying table
+     */
+    public HashSet(HashTable.Option... options) {
+        this.options = options.clone();
+        table = new HashTable<>(options);
+    }
+
+    /**
+     * Initialize an empty set with room for an expected number of elements without resizing
+     * @param expectedSize int: number of elements the set is expected to hold
+     * @param options HashTable.Option...: behaviours to enable for the underlying table
+     */
+    public HashSet(int expectedSize, HashTable.Option... options) {
+        this.options = options.clone();
+        table = new HashTable<>(expectedSize, options);
+    }
+
+    /**
+     * Return the number of elements contained in the set
+     * @return int: number of elements in the set
+     */
+    public int getSize() {
+        return table.getSize();
+    }
+
+    /**
+     * Return whether or not there is an element placed in the set
+     * @return boolean: whether or not the set is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Remove every element from the set
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Add an element to the set
+     * @param element E: element to add, null is ignored
+     * @return boolean: true if the element was not already in the set
+     */
+    public boolean add(E element) {
+        if(element == null) return false;
+        return table.addIfAbsent(element, PRESENT) == null;
+    }
+
+    /**
+     * Remove an element from the set
+     * @param element E: element to remove
+     * @return boolean: true if the element was in the set
+     */
+    public boolean remove(E element) {
+        return table.remove(element) != null;
+    }
+
+    /**
+     * Return whether an element is in the set
+     * @param element E: element to search for
+     * @return boolean: true if the element is present
+     */
+    public boolean contains(E element) {
+        return table.get(element) != null;
+    }
+
+    /**
+     * Return an iterator over the set's elements in bucket order
+     * The set must not be modified through add or remove while iterating
+     * @return Iterator<E>: iterator over the elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return table.keys();
+    }
+
+    /**
+     * Return a new set holding the elements in either set; neither set is changed
+     * @param other HashSet<E>: set to combine with this one
+     * @return HashSet<E>: union of the two sets
+     */
+    public HashSet<E> union(HashSet<E> other) {
+
+        HashSet<E> larger = getSize() >= other.getSize() ? this : other;
+        HashSet<E> smaller = larger == this ? other : this;
+
+        // Start from a copy of the larger set, then only the smaller set's elements are looked up
+        HashSet<E> result = new HashSet<>(getSize() + other.getSize(), options);
+        for(E element: larger) {
+            result.table.add(element, PRESENT);
+        }
+        for(E element: smaller) {
+            result.add(element);
+        }
+
+        return result;
+    }
+
+    /**
+     * Return a new set holding the elements in both sets; neither set is changed
+     * @param other HashSet<E>: set to intersect with this one
+     * @return HashSet<E>: intersection of the two sets
+     */
+    public HashSet<E> intersect(HashSet<E> other) {
+
+        HashSet<E> larger = getSize() >= other.getSize() ? this : other;
+        HashSet<E> smaller = larger == this ? other : this;
+
+        // Every element of the intersection is in the smaller set
+        HashSet<E> result = new HashSet<>(smaller.getSize(), options);
+        for(E element: smaller) {
+            if(larger.contains(element)) result.table.add(element, PRESENT);
+        }
+
+        return result;
+    }
+
+    /**
+     * Return a new set holding the elements of this set that are not in another; neither set is changed
+     * @param other HashSet<E>: set whose elements are left out
+     * @return HashSet<E>: this set minus the other
+     */
+    public HashSet<E> difference(HashSet<E> other) {
+
+        HashSet<E> result = new HashSet<>(getSize(), options);
+
+        // A smaller this is filtered against the other set
+        if(getSize() <= other.getSize()) {
+            for(E element: this) {
+                if(!other.contains(element)) result.table.add(element, PRESENT);
+            }
+            return result;
+        }
+
+        // A smaller other is removed from a copy of this set
+        for(E element: this) {
+            result.table.add(element, PRESENT);
+        }
+        for(E element: other) {
+            result.table.remove(element);
+        }
+
+        return result;
+    }
+
+}
@@ -1,6 +1,20 @@
 package HashTable;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import ArrayList.ArrayList;
 
 // Concepts learned from: https://www.geeksforgeeks.org/implementing-our-own-hash-table-with-separate-chaining-in-java/
@@ -8,7 +22,7 @@ import ArrayList.ArrayList;
 /**
  * Alternative implementation of the HashTable data structures
  */
-public class HashTable<K, V> {
+public class HashTable<K, V> implements Iterable<HashNode<K, V>> {
 
     // Total number of buckets
     int numBuckets;
@@ -22,28 +36,95 @@ public class HashTable<K, V> {
     // For testing purposes, may disable the load factor to verify delete only deletes the desired node from a bucket
     boolean disableLoadFactor;
 
+    // Bucket counts are powers of two and the index is a mask of the spread hash code
+    boolean powerOfTwoBuckets;
+
+    // Resize by migrating a few buckets per operation instead of all at once
+    boolean incrementalResize;
+
+    // Bucket list being drained during an incremental resize, null when no resize is in progress
+    ArrayList<HashNode<K, V>> oldBuckets;
+
+    // Number of buckets in the list being drained
+    int numOldBuckets;
+
+    // Old buckets below this index have already been moved to the new bucket list
+    int rehashIndex;
+
+    // Bucket count the table starts with (and returns to when cleared), set from an expected size
+    private int minimumBuckets;
+
+    // Expiration timers of entries added with a time-to-live, created on first use
+    TimerWheel<K> timerWheel;
+
+    // Removes the entry of each timer the wheel fires
+    private final Consumer<TimerWheel.Timer<K>> expirer = this::expire;
+
+    // Source of the current time in nanoseconds for time-to-live entries
+    private LongSupplier ticker = System::nanoTime;
+
+    // Secret key of keyed hashing, null when String keys use their own hash code
+    private long[] hashKey;
+
+    // Whether the activity counters below are kept, when false they stay zero and cost one branch per chain search
+    private boolean recordStatistics;
+
+    // Chain searches made by lookups, and the chain nodes they compared
+    private long chainSearches;
+    private long nodesVisited;
+
+    // Times the bucket list grew, and the time spent moving nodes to the larger list
+    private long resizes;
+    private long resizeNanos;
+
+    // Initial bucket count for the default modulo indexing
+    private static final int INITIAL_BUCKETS = 10;
+
+    // Initial bucket count when bucket counts are powers of two
+    private static final int INITIAL_POWER_OF_TWO_BUCKETS = 16;
+
+    // Number of old buckets an incremental resize moves during each operation
+    private static final int REHASH_BUCKETS_PER_OPERATION = 4;
+
+    // Chain length at which a bucket is converted into a balanced tree
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    // Tree size at which a bucket is converted back into a chain
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    // Most buckets a table sized from an expected size starts with
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+
+    // Time for which the statistics MXBean reuses one shape snapshot, long enough to cover one refresh of every attribute
+    private static final long STATISTICS_SNAPSHOT_NANOS = 1_000_000_000L;
+
+    // Time-to-live marking an entry that never expires
+    private static final long NO_EXPIRATION = -1;
+
     /**
-     * Initialize the bucket list and peripheral values
+     * Optional behaviours that can be enabled when constructing a table
      */
-    public HashTable() {
+    public enum Option {
 
-        // Initialize the buckets
-        buckets = new ArrayList<>();
+        // Keep the bucket count a power of two and select buckets by masking a spread hash code instead of using modulo
+        POWER_OF_TWO_BUCKETS,
 
-        // Number of elements in the table
-        size = 0;
+        // Spread resizing across later operations (two bucket lists, a few buckets moved per call) instead of stopping the add that crosses the load factor
+        INCREMENTAL_RESIZE,
 
-        // Total number of buckets
-        numBuckets = 10;
+        // Count chain searches, nodes visited, resizes and resize time for getStatistics(), and emit a JFR event per resize
+        STATISTICS,
 
-        // Initialize each bucket as null
-        for(int i = 0; i < numBuckets; i++) {
-            buckets.add(null);
-        }
+        // Hash String keys with SipHash under a random per-table key, so clients choosing keys cannot make them collide
+        KEYED_HASHING
 
-        // Default usage should use load factor when resizing table
-        disableLoadFactor = false;
+    }
 
+    /**
+     * Initialize the bucket list and peripheral values
+     */
+    public HashTable() {
+        this(false);
     }
 
     /**
@@ -51,22 +132,51 @@ public class HashTable<K, V> {
      */
     public HashTable(boolean disableLoadFactor) {
 
+        // Set whether the load factor bucket multiplication is enabled or not
+        this.disableLoadFactor = disableLoadFactor;
+
+        // Default usage keeps the original modulo bucket indexing
+        powerOfTwoBuckets = false;
+
         // Initialize the buckets
-        buckets = new ArrayList<>();
+        resetBuckets();
 
-        // Number of elements in the table
-        size = 0;
+    }
 
-        // Total number of buckets
-        numBuckets = 10;
+    /**
+     * Initialize the bucket list with optional behaviours enabled
+     * @param options Option...: behaviours to enable for this table
+     */
+    public HashTable(Option... options) {
+        this(0, options);
+    }
 
-        // Initialize each bucket as null
-        for(int i = 0; i < numBuckets; i++) {
-            buckets.add(null);
+    /**
+     * Initialize the bucket list with enough buckets to hold an expected number of elements without resizing
+     * @param expectedSize int: number of elements the table is expected to hold
+     * @param options Option...: behaviours to enable for this table
+     */
+    public HashTable(int expectedSize, Option... options) {
+
+        // Reject a bad size before allocating anything
+        if(expectedSize < 0) throw new IllegalArgumentException("Expected size must not be negative");
+
+        // Default usage should use load factor when resizing table
+        disableLoadFactor = false;
+
+        // Enable each requested option
+        for(Option option: options) {
+            if(option == Option.POWER_OF_TWO_BUCKETS) powerOfTwoBuckets = true;
+            if(option == Option.INCREMENTAL_RESIZE) incrementalResize = true;
+            if(option == Option.STATISTICS) recordStatistics = true;
+            if(option == Option.KEYED_HASHING) hashKey = Hashing.randomKey();
         }
 
-        // Set whether the load factor bucket multiplication is enabled or not
-        this.disableLoadFactor = disableLoadFactor;
+        // Start (and restart after clear) with room for the expected size, which depends on the bucket indexing chosen
+        minimumBuckets = bucketsFor(expectedSize);
+
+        // Initialize the buckets once, already large enough
+        resetBuckets();
 
     }
 
@@ -91,19 +201,7 @@ public class HashTable<K, V> {
      * Identical to the constructor
      */
     public void clear() {
-        // Initialize the buckets
-        buckets = new ArrayList<>();
-
-        // Number of elements in the table
-        size = 0;
-
-        // Total number of buckets
-        numBuckets = 10;
-
-        // Initialize each bucket as null
-        for(int i = 0; i < numBuckets; i++) {
-            buckets.add(null);
-        }
+        resetBuckets();
     }
 
     /**
@@ -116,213 +214,1197 @@ public class HashTable<K, V> {
 
     /**
      * Add a key/value pair to the hash table
+     * Replacing the value of a key added with a time-to-live makes it permanent
      * @param key K: key to add
      * @param value V: value to add and associate with the key
      */
     public void add(K key, V value) {
+        addEntry(key, value, NO_EXPIRATION);
+    }
 
-        // Do not permit null keys or values
-        if(key == null || value == null) return;
+    /**
+     * Add a key/value pair that expires once a time-to-live has passed
+     * Replacing the value of an existing key restarts its time-to-live
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     * @param ttl Duration: how long the entry stays in the table, must be positive
+     */
+    public void add(K key, V value, Duration ttl) {
 
-        // Get the hash code for the key
-        int hashCode = getHashCode(key);
+        if(ttl == null || ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("Time-to-live must be positive");
 
-        // Get the bucket index this key belongs in
-        int index = getIndex(key);
+        // Durations too long to count in nanoseconds are capped at about 292 years
+        long ttlNanos;
+        try {
+            ttlNanos = ttl.toNanos();
+        } catch(ArithmeticException e) {
+            ttlNanos = Long.MAX_VALUE;
+        }
 
-        // Get the first node of the bucket this key belongs to
-        HashNode<K, V> head = buckets.get(index);
+        addEntry(key, value, ttlNanos);
 
-        // Iterate through the bucket looking for the key provided
-        while(head != null) {
+    }
 
-            // Once found...
-            if(head.getHashCode() == hashCode && head.getKey().equals(key)) {
+    /**
+     * Set the source of the current time used for time-to-live entries (for testing only)
+     * @param ticker LongSupplier: returns the current time in nanoseconds
+     */
+    public void setTicker(LongSupplier ticker) {
 
-                // Set a new value associated with the key
-                head.setValue(value);
+        // Timers already scheduled were computed with the old ticker
+        if(timerWheel != null && timerWheel.size() > 0) throw new IllegalStateException("Ticker must be set before adding entries with a time-to-live");
 
-                // Task is done
-                return;
-            }
+        this.ticker = ticker;
+        timerWheel = null;
+    }
 
-            // Iterate to the next node
-            head = head.getNextNode();
-        }
+    /**
+     * Remove the node with a particular key from the table
+     * @param key K: key for the node to remove
+     * @return V: value contained by the deleted node, or null on failure
+     */
+    public V remove(K key) {
 
-        // Note another node will be added to the table
-        size++;
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
 
-        // If the node was never found, make it
-        HashNode<K, V> newNode = new HashNode<>(key, value, hashCode);
+        // Drop entries whose time-to-live has passed
+        expireEntries();
 
-        // Put it at the beginning of the bucket list
-        newNode.setNextNode(buckets.get(index));
+        // Remove the node holding the key
+        HashNode<K, V> removed = removeNode(key, getHashCode(key));
 
-        // Set the new node at the proper index of the bucket list
-        buckets.set(newNode, index);
+        // If the node to remove was not found, or its time-to-live passed before the wheel fired, return null
+        if(removed == null || isExpired(removed)) return null;
 
-        // If the load factor is too large now, remake the bucket list 
-        if(getLoadFactor() >= 0.75 && !disableLoadFactor) {
+        // Return the value of the deleted node
+        return removed.getValue();
 
-            // Double the amount of buckts, redistribute the content in the hash table to reduce collisions/collision potential
-            bucketAdditionAndRedistribution();
+    }
 
-        }
+    /**
+     * Return the value associated with the parameterized key
+     * @param key K: key to search for in the table
+     * @return V: value associated with parameterized key
+     */
+    public V get(K key) {
+        
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Find the node holding the key
+        HashNode<K, V> node = findLiveNode(key, getHashCode(key));
+
+        // Key does not exist in the table, so return null
+        if(node == null) return null;
+
+        return node.getValue();
 
     }
 
     /**
-     * Remove the node with a particular key from the table
-     * @param key K: key for the node to remove
-     * @return V: value contained by the deleted node, or null on failure
+     * Add a key/value pair only if the key is not already in the table, hashing the key and walking its bucket once
+     * @param key K: key to add
+     * @param value V: value to associate with the key if it is absent
+     * @return V: value already associated with the key, or null if the pair was added
      */
-    public V remove(K key) {
+    public V addIfAbsent(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return null;
 
-        // Get the hash code for future checking 
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Keep the existing value
         int hashCode = getHashCode(key);
+        HashNode<K, V> node = findLiveNode(key, hashCode);
+        if(node != null) return node.getValue();
 
-        // Get the index of the bucket this key would be placed in
-        int index = getIndex(key);
+        // The bucket was just searched, so link the new node without searching again
+        linkNewNode(key, value, hashCode, NO_EXPIRATION);
+        return null;
 
-        HashNode<K, V> head = buckets.get(index);
-        HashNode<K, V> prev = null;
+    }
 
-        // Look for the element to remove
-        while(head != null) {
+    /**
+     * Return the value for a key, computing and adding it first if the key is absent
+     * The function must not modify this table
+     * @param key K: key to search for
+     * @param mappingFunction Function<? super K, ? extends V>: computes the value of an absent key, null adds nothing
+     * @return V: existing or computed value, or null if the function returned null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
 
-            // If the element was found, leave the loop
-            if(head.getHashCode() == hashCode && head.getKey().equals(key)) break;
+        // Null keys are never stored
+        if(key == null) return null;
 
-            // Go to the next node in the list
-            prev = head;
-            head = head.getNextNode();
-        }
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
 
-        // If the node to remove was not found, return null
-        if(head == null) return null;
+        // Drop entries whose time-to-live has passed
+        expireEntries();
 
-        // If the node to remove was found, save its value to return
-        V value = head.getValue();
+        // An existing value is returned without calling the function
+        int hashCode = getHashCode(key);
+        HashNode<K, V> node = findLiveNode(key, hashCode);
+        if(node != null) return node.getValue();
 
-        // If the node to remove was found at the start of the list
-        if(prev == null) {
+        // Add the computed value without searching the bucket again
+        V value = mappingFunction.apply(key);
+        if(value != null) linkNewNode(key, value, hashCode, NO_EXPIRATION);
+        return value;
 
-            // Set the start of the list equal to the next node
-            buckets.set(head.getNextNode(), index);
+    }
 
-        } 
-        
-        // Otherwise, set the previous node's next link equal to the node to delete's next link
-        else {
-            prev.setNextNode(head.getNextNode());
-        }
+    /**
+     * Replace the value of a key that is present with one computed from it, removing the key if the result is null
+     * A time-to-live on the entry is kept. The function must not modify this table
+     * @param key K: key to search for
+     * @param remappingFunction BiFunction<? super K, ? super V, ? extends V>: computes the new value from the key and current value
+     * @return V: new value, or null if the key is absent or was removed
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
 
-        // Decrement the size of the table by 1 because an element was removed
-        size--;
+        // Null keys are never stored
+        if(key == null) return null;
 
-        // Return the value of the deleted node
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Nothing to do for an absent key
+        int hashCode = getHashCode(key);
+        HashNode<K, V> node = findLiveNode(key, hashCode);
+        if(node == null) return null;
+
+        return remap(node, remappingFunction.apply(key, node.getValue()));
+
+    }
+
+    /**
+     * Compute a key's value from its current value (null if absent), removing the key if the result is null
+     * A time-to-live on an existing entry is kept. The function must not modify this table
+     * @param key K: key to compute the value for
+     * @param remappingFunction BiFunction<? super K, ? super V, ? extends V>: computes the new value from the key and current value
+     * @return V: new value, or null if the key is now absent
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        int hashCode = getHashCode(key);
+        HashNode<K, V> node = findLiveNode(key, hashCode);
+
+        // Present keys are replaced or removed in place
+        if(node != null) return remap(node, remappingFunction.apply(key, node.getValue()));
+
+        // Absent keys are added without searching the bucket again
+        V value = remappingFunction.apply(key, null);
+        if(value != null) linkNewNode(key, value, hashCode, NO_EXPIRATION);
         return value;
 
     }
 
     /**
-     * Return the value associated with the parameterized key
-     * @param key K: key to search for in the table
-     * @return V: value associated with parameterized key
+     * Add a value for an absent key, or combine it with the current value of a present key, removing the key if the result is null
+     * A time-to-live on an existing entry is kept. The function must not modify this table
+     * @param key K: key to merge the value into
+     * @param value V: value to add, or to combine with the current value
+     * @param remappingFunction BiFunction<? super V, ? super V, ? extends V>: combines the current value with the given one
+     * @return V: new value, or null if the key was removed
      */
-    public V get(K key) {
-        
-        // Get the hash code for future checking 
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return null;
+
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
         int hashCode = getHashCode(key);
+        HashNode<K, V> node = findLiveNode(key, hashCode);
+
+        // Combine with a present key in place
+        if(node != null) return remap(node, remappingFunction.apply(node.getValue(), value));
 
-        // Get the index of the bucket this key would be placed in
-        int index = getIndex(key);
+        // Absent keys are added without searching the bucket again
+        linkNewNode(key, value, hashCode, NO_EXPIRATION);
+        return value;
 
-        // Get the first element of the bucket
-        HashNode<K, V> head = buckets.get(index);
+    }
 
-        // Iterate through the bucket list...
-        while(head != null) {
+    /**
+     * Add many key/value pairs at once, growing the bucket list a single time up front rather than
+     * doubling repeatedly while adding; pairs with a null key or value are skipped
+     * @param keys K[]: keys to add
+     * @param values V[]: values to add, values[i] is associated with keys[i]
+     */
+    public void addAll(K[] keys, V[] values) {
 
-            // If the key with correct hash code is found, return the value
-            if(head.getKey().equals(key) && head.getHashCode() == hashCode) return head.getValue();
+        if(keys.length != values.length) throw new IllegalArgumentException("Keys and values must have the same length");
 
-            // Otherwise continue iterating
-            head = head.getNextNode();
-        }
+        // Drop entries whose time-to-live has passed
+        expireEntries();
 
-        // Key does not exist in the table, so return null
-        return null;
+        // Hash every key before touching any bucket
+        int[] hashCodes = hashAll(keys);
+
+        // Size once for the worst case of every key being new
+        if(!disableLoadFactor) ensureBuckets(bucketsFor((long)size + keys.length));
+
+        for(int i = 0; i < keys.length; i++) {
+
+            // Do not permit null keys or values
+            if(keys[i] == null || values[i] == null) continue;
+
+            // Replace the value of a key that is already present, making it permanent like add
+            HashNode<K, V> existing = findNode(keys[i], hashCodes[i]);
+            if(existing != null) {
+                existing.setValue(values[i]);
+                setExpiration(existing, NO_EXPIRATION);
+                continue;
+            }
+
+            // Link a new node into its bucket, only growing if the table could not be sized far enough up front
+            linkNewNode(keys[i], values[i], hashCodes[i], NO_EXPIRATION);
+        }
 
     }
 
-    // ========================== Helper Functions ==========================
+    /**
+     * Return the values associated with many keys at once
+     * @param keys K[]: keys to search for in the table
+     * @return ArrayList<V>: the value for each key in the same order, null where a key is not present
+     */
+    public ArrayList<V> getAll(K[] keys) {
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Hash every key before touching any bucket
+        int[] hashCodes = hashAll(keys);
+
+        // One value per key, so the list never grows
+        ArrayList<V> values = new ArrayList<>(keys.length);
+        for(int i = 0; i < keys.length; i++) {
+
+            // Missing and expired keys have no value
+            HashNode<K, V> node = findLiveNode(keys[i], hashCodes[i]);
+            values.add(node == null ? null : node.getValue());
+        }
+
+        return values;
+
+    }
 
     /**
-     * Use the java Objects hash code method to get the parameter's hash code
-     * @param key K: an object to get the hash code for
-     * @return int: the parameter's hash code
+     * Remove the entries for many keys at once
+     * @param keys K[]: keys for the entries to remove
+     * @return int: number of entries removed
      */
-    private int getHashCode(K key) {
-        return Objects.hashCode(key);
+    public int removeAll(K[] keys) {
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Hash every key before touching any bucket
+        int[] hashCodes = hashAll(keys);
+
+        // Expired entries the wheel has not fired yet are unlinked but not counted
+        int removed = 0;
+        for(int i = 0; i < keys.length; i++) {
+            HashNode<K, V> node = removeNode(keys[i], hashCodes[i]);
+            if(node != null && !isExpired(node)) removed++;
+        }
+
+        return removed;
+
     }
 
     /**
-     * Get the index for this key in the bucket list
-     * @param key K: key to calculate the bucket list index for
-     * @return int: index in the bucket list for the parameterized key
+     * Return an iterator over the table's entries, the same as entries()
+     * @return Iterator<HashNode<K, V>>: iterator over the entries
      */
-    private int getIndex(K key) {
-        int hashCode = getHashCode(key);
-        return Math.abs(hashCode % numBuckets);
+    @Override
+    public Iterator<HashNode<K, V>> iterator() {
+        return entries();
     }
 
     /**
-     * Calculate the load factor: number of elements in the table / number of buckets
-     * @return double: the load factor
+     * Return an iterator over the table's entries in bucket order; setting a returned node's value updates the table
+     * The table must not be modified through add or remove while iterating
+     * @return Iterator<HashNode<K, V>>: iterator over the entries
      */
-    private double getLoadFactor() {
-        return (1.0 * size) / numBuckets;
+    public Iterator<HashNode<K, V>> entries() {
+        return Spliterators.iterator(walk(node -> node, Spliterator.DISTINCT));
     }
 
     /**
-     * Helper method for distributing content and adding buckets after load factor is 0.75 or greater
+     * Return an iterator over the table's keys in bucket order
+     * @return Iterator<K>: iterator over the keys
      */
-    private void bucketAdditionAndRedistribution() {
+    public Iterator<K> keys() {
+        return Spliterators.iterator(walk(HashNode::getKey, Spliterator.DISTINCT));
+    }
 
-        // Save the current list of buckets in a temporary list
-        ArrayList<HashNode<K, V>> temp = buckets;
+    /**
+     * Return an iterator over the table's values in bucket order
+     * @return Iterator<V>: iterator over the values
+     */
+    public Iterator<V> values() {
+        return Spliterators.iterator(walk(HashNode::getValue, 0));
+    }
 
-        // Create a new bucket list that's twice the size of the old one
-        buckets = new ArrayList<>();
-        int numOldBuckets = numBuckets;
-        numBuckets = numBuckets * 2;
+    /**
+     * Return a spliterator over the table's entries that splits by bucket range
+     * @return Spliterator<HashNode<K, V>>: spliterator over the entries
+     */
+    @Override
+    public Spliterator<HashNode<K, V>> spliterator() {
+        return walk(node -> node, Spliterator.DISTINCT);
+    }
 
-        // Must reset the size of the table to prevent load factor from triggering deep recursion
-        size = 0;
+    /**
+     * Return a stream of the table's entries, call parallel() on it to split the buckets across threads
+     * @return Stream<HashNode<K, V>>: stream of the entries
+     */
+    public Stream<HashNode<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 
-        // Set each new bucket equal to null
-        for(int i = 0; i < numBuckets; i++) {
-            buckets.add(null);
+    /**
+     * Return an immutable copy of the table that finds every key with a single probe through a minimal perfect hash,
+     * for tables that are only read once built; later changes to this table do not affect the copy
+     * @return FrozenHashTable<K, V>: immutable table holding the current, unexpired entries
+     */
+    public FrozenHashTable<K, V> freeze() {
+
+        // Gather the live entries and the hash codes their nodes already hold
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        int[] hashCodes = new int[size];
+        int count = 0;
+        for(HashNode<K, V> node: this) {
+            keys[count] = node.getKey();
+            values[count] = node.getValue();
+
+            // The frozen table looks keys up by their own hash code, not this table's keyed hash
+            hashCodes[count] = hashKey == null ? node.getHashCode() : node.getKey().hashCode();
+            count++;
         }
-        
-        // Re-add all of the items previously in the table
-        for(int i = 0; i < numOldBuckets; i++) {
 
-            // Head of the bucket
-            HashNode<K, V> head = temp.get(i);
+        return new FrozenHashTable<>(keys, values, hashCodes, count);
 
-            // Re-add each item in the current bucket list
-            while(head != null) {
+    }
 
-                // Recursive add call, but this call is guaranteed to be a leaf call 
-                // because the size of the table has not changed
-                add(head.getKey(), head.getValue());
-                head = head.getNextNode();
-            }   
+    /**
+     * Return a snapshot of the table's shape, measured by walking every bucket, and of its activity counters,
+     * which are only kept when the table was created with Option.STATISTICS
+     * @return HashTableStatistics: statistics as of this call
+     */
+    public HashTableStatistics getStatistics() {
+
+        int[] histogram = new int[HashTableStatistics.HISTOGRAM_LIMIT + 1];
+        int[] totals = new int[4];
+
+        // Unmoved old buckets of an incremental resize, then the current buckets
+        ArrayList<HashNode<K, V>> old = oldBuckets;
+        if(old != null) measureBuckets(old, rehashIndex, numOldBuckets, histogram, totals);
+        measureBuckets(buckets, 0, numBuckets, histogram, totals);
+
+        int bucketCount = numBuckets + (old != null ? numOldBuckets - rehashIndex : 0);
+        return new HashTableStatistics(size, bucketCount, bucketCount - histogram[0], totals[0], totals[1], histogram,
+                                       totals[2], chainSearches, nodesVisited, resizes, resizeNanos);
+
+    }
+
+    /**
+     * Register a JMX MXBean that exposes this table's statistics to tools such as JConsole, under a name of the form
+     * "HashTable:type=HashTable,name=<name>"; unregister it through the platform MBean server once the table is discarded
+     * The table is not thread safe, so values read while another thread changes it are approximate.
+     * Size, bucket and counter attributes read the table's fields; the attributes that need a walk of every bucket share
+     * one snapshot for STATISTICS_SNAPSHOT_NANOS, so a tool refreshing every attribute walks the table once
+     * @param name String: name distinguishing this table from others
+     * @return ObjectName: name the MXBean was registered under
+     * @throws JMException if the name is invalid or already registered
+     */
+    public ObjectName registerStatisticsMBean(String name) throws JMException {
+
+        ObjectName objectName = new ObjectName("HashTable:type=HashTable,name=" + ObjectName.quote(name));
+
+        // Counters are read directly, the shape attributes share one snapshot per refresh
+        HashTableStatisticsMXBean bean = new StatisticsBean();
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(bean, HashTableStatisticsMXBean.class, true), objectName);
+        return objectName;
 
-        }
     }
-    
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Create a walk over every bucket, including the unmoved buckets of an incremental resize
+     * @param mapper Function<HashNode<K, V>, T>: turns each node into the element handed out
+     * @param characteristics int: spliterator characteristics of the elements besides NONNULL
+     * @return HashTableSpliterator<K, V, T>: walk over the whole table
+     */
+    private <T> HashTableSpliterator<K, V, T> walk(Function<HashNode<K, V>, T> mapper, int characteristics) {
+
+        // Entries are only skipped as expired if some entry has a time-to-live
+        long now = timerWheel != null && timerWheel.size() > 0 ? ticker.getAsLong() : 0;
+
+        return new HashTableSpliterator<>(oldBuckets, numOldBuckets, rehashIndex, buckets, 0, numOldBuckets + numBuckets,
+                                          size, now, mapper, characteristics | Spliterator.NONNULL);
+    }
+
+    /**
+     * Shared implementation of both add methods
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     * @param ttlNanos long: time-to-live in nanoseconds, or NO_EXPIRATION
+     */
+    private void addEntry(K key, V value, long ttlNanos) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        // Do a bounded amount of work on any resize in progress
+        rehashStep();
+
+        // Drop entries whose time-to-live has passed
+        expireEntries();
+
+        // Get the hash code for the key
+        int hashCode = getHashCode(key);
+
+        // Look for the key in the buckets it could currently be in
+        HashNode<K, V> existing = findNode(key, hashCode);
+
+        // Once found, set a new value associated with the key and the task is done
+        if(existing != null) {
+            existing.setValue(value);
+            setExpiration(existing, ttlNanos);
+            return;
+        }
+
+        // If the node was never found, make it and put it in its bucket
+        linkNewNode(key, value, hashCode, ttlNanos);
+
+    }
+
+    /**
+     * Link a node for a key known to be absent into its bucket, then grow the bucket list if needed
+     * @param key K: key of the new node
+     * @param value V: value of the new node
+     * @param hashCode int: hash code of the key
+     * @param ttlNanos long: time-to-live in nanoseconds, or NO_EXPIRATION
+     */
+    private void linkNewNode(K key, V value, int hashCode, long ttlNanos) {
+
+        // Get the bucket index this key belongs in, new keys always go to the newest bucket list
+        int index = getIndex(hashCode, numBuckets);
+
+        // Note another node will be added to the table
+        size++;
+
+        // Make the node and put it in its bucket, with its timer set before it can be copied into a tree node
+        HashNode<K, V> newNode = new HashNode<>(key, value, hashCode);
+        setExpiration(newNode, ttlNanos);
+        linkNode(buckets, index, newNode);
+
+        // If the load factor is too large now, remake the bucket list 
+        growIfNeeded();
+
+    }
+
+    /**
+     * Store the result of a remapping function in a present node, removing the node if the result is null
+     * @param node HashNode<K, V>: node holding the key
+     * @param value V: result of the function
+     * @return V: the result
+     */
+    private V remap(HashNode<K, V> node, V value) {
+        if(value == null) unlinkFoundNode(node);
+        else node.setValue(value);
+        return value;
+    }
+
+    /**
+     * Double the bucket list if the load factor has grown too large
+     */
+    private void growIfNeeded() {
+
+        if(getLoadFactor() >= 0.75 && !disableLoadFactor) {
+
+            // Time the resize when recording statistics
+            HashTableResizeEvent event = null;
+            long start = 0;
+            if(recordStatistics) {
+                event = new HashTableResizeEvent();
+                event.begin();
+                start = System.nanoTime();
+            }
+            int oldBucketCount = numBuckets;
+
+            // Double the amount of buckets and move the content over a few buckets at a time
+            if(incrementalResize) startIncrementalResize();
+
+            // Double the amount of buckts, redistribute the content in the hash table to reduce collisions/collision potential
+            else bucketAdditionAndRedistribution();
+
+            if(recordStatistics) {
+                resizes++;
+                resizeNanos += System.nanoTime() - start;
+                if(event.shouldCommit()) {
+                    event.size = size;
+                    event.oldBuckets = oldBucketCount;
+                    event.newBuckets = numBuckets;
+                    event.incremental = incrementalResize;
+                    event.commit();
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * Compute the hash code of every key in one pass
+     * @param keys K[]: keys to hash
+     * @return int[]: hash code of each key in the same order
+     */
+    private int[] hashAll(K[] keys) {
+        int[] hashCodes = new int[keys.length];
+        for(int i = 0; i < keys.length; i++) {
+            hashCodes[i] = getHashCode(keys[i]);
+        }
+        return hashCodes;
+    }
+
+    /**
+     * Return the bucket count that keeps a number of elements under the load factor
+     * @param expectedSize long: number of elements to hold
+     * @return int: bucket count, a power of two when the table uses power of two buckets
+     */
+    private int bucketsFor(long expectedSize) {
+
+        // Strictly more buckets than expectedSize / 0.75 so adding the last element does not trigger a resize
+        long needed = Math.min((long)(expectedSize / 0.75) + 1, MAXIMUM_BUCKETS);
+        if(!powerOfTwoBuckets) return (int)needed;
+
+        // Round up to a power of two
+        int bucketCount = 1;
+        while(bucketCount < needed) bucketCount <<= 1;
+        return bucketCount;
+    }
+
+    /**
+     * Grow the bucket list straight to a bucket count in one redistribution, finishing any incremental resize first
+     * @param bucketCount int: bucket count wanted, nothing happens if the table already has at least this many
+     */
+    private void ensureBuckets(int bucketCount) {
+        if(bucketCount <= numBuckets) return;
+        finishIncrementalResize();
+        redistribute(bucketCount);
+    }
+
+
+    /**
+     * Use the java Objects hash code method to get the parameter's hash code, or SipHash for String keys with keyed hashing
+     * @param key K: an object to get the hash code for
+     * @return int: the parameter's hash code
+     */
+    private int getHashCode(K key) {
+
+        // String hash codes are public knowledge, so with keyed hashing they are replaced by a secret keyed hash
+        if(hashKey != null && key instanceof String) return Hashing.sipHash((String)key, hashKey[0], hashKey[1]);
+
+        return Objects.hashCode(key);
+    }
+
+    /**
+     * Get the index for a hash code in a bucket list
+     * @param hashCode int: hash code of the key to calculate the bucket list index for
+     * @param bucketCount int: number of buckets in the bucket list
+     * @return int: index in the bucket list for the parameterized hash code
+     */
+    private int getIndex(int hashCode, int bucketCount) {
+
+        // Power of two bucket counts avoid the division, spreading keeps keys with poor low bits apart
+        if(powerOfTwoBuckets) return Hashing.spread(hashCode) & (bucketCount - 1);
+
+        return Math.abs(hashCode % bucketCount);
+    }
+
+    /**
+     * Find the node holding a key, looking in the old bucket list first while a resize is in progress
+     * @param key K: key to search for
+     * @param hashCode int: hash code of the key
+     * @return HashNode<K, V>: node holding the key, or null if it is not in the table
+     */
+    private HashNode<K, V> findNode(K key, int hashCode) {
+
+        // Keys in old buckets that have not been moved yet are only in the old bucket list
+        if(oldBuckets != null) {
+            int oldIndex = getIndex(hashCode, numOldBuckets);
+            if(oldIndex >= rehashIndex) {
+                HashNode<K, V> node = findInChain(oldBuckets.get(oldIndex), key, hashCode);
+                if(node != null) return node;
+            }
+        }
+
+        return findInChain(buckets.get(getIndex(hashCode, numBuckets)), key, hashCode);
+    }
+
+    /**
+     * Find the node holding a key, dropping it instead if its time-to-live has passed
+     * The wheel works in whole ticks, so an entry can pass its deadline before the wheel fires
+     * @param key K: key to search for
+     * @param hashCode int: hash code of the key
+     * @return HashNode<K, V>: node holding the key, or null if it is absent or expired
+     */
+    private HashNode<K, V> findLiveNode(K key, int hashCode) {
+
+        HashNode<K, V> node = findNode(key, hashCode);
+
+        if(node != null && isExpired(node)) {
+            unlinkFoundNode(node);
+            return null;
+        }
+
+        return node;
+    }
+
+    /**
+     * Remove the node holding a key from whichever bucket list it is in, cancelling its expiration timer
+     * @param key K: key for the node to remove
+     * @param hashCode int: hash code of the key
+     * @return HashNode<K, V>: the removed node, or null if the key is not in the table
+     */
+    private HashNode<K, V> removeNode(K key, int hashCode) {
+
+        // A key in an old bucket that has not been moved yet is still in the old bucket list
+        HashNode<K, V> removed = null;
+        if(oldBuckets != null) {
+            int oldIndex = getIndex(hashCode, numOldBuckets);
+            if(oldIndex >= rehashIndex) removed = unlinkNode(oldBuckets, oldIndex, key, hashCode);
+        }
+
+        // Otherwise look in the bucket this key would be placed in
+        if(removed == null) removed = unlinkNode(buckets, getIndex(hashCode, numBuckets), key, hashCode);
+
+        // If the node to remove was not found, return null
+        if(removed == null) return null;
+
+        forgetNode(removed);
+        return removed;
+    }
+
+    /**
+     * Remove a node that a lookup has just found, without comparing keys again
+     * The node must still be in the table, so nothing may change the table between the lookup and this call
+     * @param node HashNode<K, V>: node returned by findNode
+     */
+    private void unlinkFoundNode(HashNode<K, V> node) {
+
+        // The node is in the old bucket list if its old bucket has not been moved yet, otherwise in its current bucket
+        int hashCode = node.getHashCode();
+        ArrayList<HashNode<K, V>> list = buckets;
+        int index = getIndex(hashCode, numBuckets);
+        if(oldBuckets != null) {
+            int oldIndex = getIndex(hashCode, numOldBuckets);
+            if(oldIndex >= rehashIndex) {
+                list = oldBuckets;
+                index = oldIndex;
+            }
+        }
+
+        HashNode<K, V> head = list.get(index);
+
+        // Tree nodes know their parent, so the tree unlinks the node directly, turning back into a chain once small enough
+        if(head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>)head;
+            bin.unlink((TreeNode<K, V>)node);
+            if(bin.count <= UNTREEIFY_THRESHOLD) list.set(bin.untreeify(), index);
+        }
+
+        // A chain is shorter than TREEIFY_THRESHOLD, so finding the predecessor by reference is a few pointer reads
+        else {
+            HashNode<K, V> prev = null;
+            for(HashNode<K, V> current = head; current != node; current = current.getNextNode()) {
+                prev = current;
+            }
+            if(prev == null) list.set(node.getNextNode(), index);
+            else prev.setNextNode(node.getNextNode());
+        }
+
+        forgetNode(node);
+    }
+
+    /**
+     * Account for a node that has been unlinked from its bucket
+     * @param removed HashNode<K, V>: the unlinked node
+     */
+    private void forgetNode(HashNode<K, V> removed) {
+
+        // Decrement the size of the table by 1 because an element was removed
+        size--;
+
+        // A removed entry no longer needs to expire
+        if(removed.getTimer() != null) timerWheel.cancel(removed.getTimer());
+
+    }
+
+    /**
+     * Walk a bucket's chain looking for a key
+     * @param head HashNode<K, V>: first node of the bucket
+     * @param key K: key to search for
+     * @param hashCode int: hash code of the key
+     * @return HashNode<K, V>: node holding the key, or null if it is not in the chain
+     */
+    private HashNode<K, V> findInChain(HashNode<K, V> head, K key, int hashCode) {
+
+        // Treeified buckets are searched as a tree
+        if(head instanceof TreeBin) return ((TreeBin<K, V>)head).find(hashCode, key);
+
+        // Iterate through the bucket list...
+        HashNode<K, V> node = head;
+        while(node != null) {
+
+            // If the key with correct hash code is found, return the node
+            if(node.getHashCode() == hashCode && node.getKey().equals(key)) break;
+
+            // Otherwise continue iterating
+            node = node.getNextNode();
+        }
+
+        // Tables recording statistics count the compared nodes afterwards, so the search loop itself does no extra work
+        if(recordStatistics) recordSearch(head, node);
+
+        return node;
+    }
+
+    /**
+     * Count a chain search and the nodes it compared
+     * @param head HashNode<K, V>: first node of the searched chain
+     * @param found HashNode<K, V>: node the search stopped at, or null if it walked the whole chain
+     */
+    private void recordSearch(HashNode<K, V> head, HashNode<K, V> found) {
+        chainSearches++;
+        for(HashNode<K, V> node = head; node != found; node = node.getNextNode()) {
+            nodesVisited++;
+        }
+        if(found != null) nodesVisited++;
+    }
+
+    /**
+     * Add the chain lengths and collisions of a range of buckets to the statistics being gathered
+     * @param list ArrayList<HashNode<K, V>>: bucket list to measure
+     * @param from int: first bucket to measure
+     * @param to int: bucket after the last one to measure
+     * @param histogram int[]: buckets per chain length, the last entry for long chains
+     * @param totals int[]: tree bins, longest chain and elements with a duplicated hash code, in that order
+     */
+    private void measureBuckets(ArrayList<HashNode<K, V>> list, int from, int to, int[] histogram, int[] totals) {
+
+        for(int i = from; i < to; i++) {
+
+            // A tree bin knows its size and counts its duplicate hash codes in one walk in hash order,
+            // so a flooded bucket of thousands of keys is measured in linear time
+            HashNode<K, V> head = list.get(i);
+            int length = 0;
+            if(head instanceof TreeBin) {
+                TreeBin<K, V> bin = (TreeBin<K, V>)head;
+                totals[0]++;
+                length = bin.count;
+                totals[2] += bin.duplicateHashCodes();
+            }
+
+            // A plain chain is shorter than TREEIFY_THRESHOLD, so comparing each node with the earlier ones stays cheap
+            else {
+                for(HashNode<K, V> node = head; node != null; node = node.getNextNode()) {
+                    length++;
+                    for(HashNode<K, V> earlier = head; earlier != node; earlier = earlier.getNextNode()) {
+                        if(earlier.getHashCode() == node.getHashCode()) {
+                            totals[2]++;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            histogram[Math.min(length, HashTableStatistics.HISTOGRAM_LIMIT)]++;
+            totals[1] = Math.max(totals[1], length);
+        }
+    }
+
+    /**
+     * Remove the node holding a key from one bucket
+     * @param list ArrayList<HashNode<K, V>>: bucket list containing the bucket
+     * @param index int: index of the bucket
+     * @param key K: key for the node to remove
+     * @param hashCode int: hash code of the key
+     * @return HashNode<K, V>: the unlinked node, or null if the key is not in the bucket
+     */
+    private HashNode<K, V> unlinkNode(ArrayList<HashNode<K, V>> list, int index, K key, int hashCode) {
+
+        HashNode<K, V> head = list.get(index);
+        HashNode<K, V> prev = null;
+
+        // Treeified buckets remove from the tree, turning back into a chain once small enough
+        if(head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>)head;
+            HashNode<K, V> removed = bin.remove(hashCode, key);
+            if(removed != null && bin.count <= UNTREEIFY_THRESHOLD) list.set(bin.untreeify(), index);
+            return removed;
+        }
+
+        // Look for the element to remove
+        while(head != null) {
+
+            // If the element was found, leave the loop
+            if(head.getHashCode() == hashCode && head.getKey().equals(key)) break;
+
+            // Go to the next node in the list
+            prev = head;
+            head = head.getNextNode();
+        }
+
+        // If the node to remove was not found, return null
+        if(head == null) return null;
+
+        // If the node to remove was found at the start of the list, set the start of the list equal to the next node
+        if(prev == null) list.set(head.getNextNode(), index);
+
+        // Otherwise, set the previous node's next link equal to the node to delete's next link
+        else prev.setNextNode(head.getNextNode());
+
+        return head;
+    }
+
+    /**
+     * Replace the bucket list with an empty one of the initial size
+     */
+    private void resetBuckets() {
+
+        // Number of elements in the table
+        size = 0;
+
+        // Total number of buckets
+        numBuckets = Math.max(minimumBuckets, powerOfTwoBuckets ? INITIAL_POWER_OF_TWO_BUCKETS : INITIAL_BUCKETS);
+
+        // Initialize the buckets
+        buckets = createBucketList(numBuckets);
+
+        // No resize is in progress
+        oldBuckets = null;
+        numOldBuckets = 0;
+        rehashIndex = 0;
+
+        // No entry is waiting to expire
+        if(timerWheel != null) timerWheel.clear();
+    }
+
+    /**
+     * Create a bucket list with every bucket set to null
+     * @param bucketCount int: number of buckets
+     * @return ArrayList<HashNode<K, V>>: the empty bucket list
+     */
+    private ArrayList<HashNode<K, V>> createBucketList(int bucketCount) {
+
+        ArrayList<HashNode<K, V>> list = new ArrayList<>();
+
+        // Initialize each bucket as null
+        for(int i = 0; i < bucketCount; i++) {
+            list.add(null);
+        }
+
+        return list;
+    }
+
+    /**
+     * Calculate the load factor: number of elements in the table / number of buckets
+     * @return double: the load factor
+     */
+    private double getLoadFactor() {
+        return (1.0 * size) / numBuckets;
+    }
+
+    /**
+     * Helper method for distributing content and adding buckets after load factor is 0.75 or greater
+     */
+    private void bucketAdditionAndRedistribution() {
+
+        // Finish any incremental resize first so every node is in the current bucket list
+        finishIncrementalResize();
+
+        // Create a new bucket list that's twice the size of the old one
+        redistribute(numBuckets * 2);
+    }
+
+    /**
+     * Move every node into a new bucket list of a given size
+     * @param bucketCount int: number of buckets in the new list
+     */
+    private void redistribute(int bucketCount) {
+
+        // Save the current list of buckets in a temporary list
+        ArrayList<HashNode<K, V>> temp = buckets;
+
+        // Create the new bucket list
+        int oldBucketCount = numBuckets;
+        numBuckets = bucketCount;
+        buckets = createBucketList(numBuckets);
+
+        // Move every node previously in the table, reusing the nodes rather than re-adding their contents
+        for(int i = 0; i < oldBucketCount; i++) {
+            moveBucket(temp, i);
+        }
+    }
+
+    /**
+     * Begin an incremental resize: the current bucket list becomes the old list and is drained by later operations
+     */
+    private void startIncrementalResize() {
+
+        // A resize can only drain one old bucket list at a time
+        finishIncrementalResize();
+
+        // The current list becomes the one being drained
+        oldBuckets = buckets;
+        numOldBuckets = numBuckets;
+        rehashIndex = 0;
+
+        // New keys go to a bucket list that's twice the size of the old one
+        numBuckets = numBuckets * 2;
+        buckets = createBucketList(numBuckets);
+    }
+
+    /**
+     * Move a bounded number of old buckets into the new bucket list if a resize is in progress
+     */
+    private void rehashStep() {
+
+        // Nothing to do unless an incremental resize is in progress
+        if(oldBuckets == null) return;
+
+        // Moving buckets is part of the time spent resizing
+        long start = recordStatistics ? System.nanoTime() : 0;
+
+        // Move up to a fixed number of buckets so no single operation pays for the whole resize
+        int end = Math.min(rehashIndex + REHASH_BUCKETS_PER_OPERATION, numOldBuckets);
+        while(rehashIndex < end) {
+            moveBucket(oldBuckets, rehashIndex++);
+        }
+
+        if(recordStatistics) resizeNanos += System.nanoTime() - start;
+
+        // Once every old bucket is moved, drop the old bucket list
+        if(rehashIndex == numOldBuckets) {
+            oldBuckets = null;
+            numOldBuckets = 0;
+            rehashIndex = 0;
+        }
+    }
+
+    /**
+     * Move every remaining old bucket into the new bucket list
+     */
+    private void finishIncrementalResize() {
+        while(oldBuckets != null) {
+            rehashStep();
+        }
+    }
+
+    /**
+     * Relink every node of one bucket into the current bucket list and empty the source bucket
+     * @param source ArrayList<HashNode<K, V>>: bucket list the bucket belongs to
+     * @param index int: index of the bucket to move
+     */
+    private void moveBucket(ArrayList<HashNode<K, V>> source, int index) {
+
+        // Head of the bucket
+        HashNode<K, V> head = source.get(index);
+        source.set(null, index);
+
+        // A treeified bucket is split up through its node list
+        if(head instanceof TreeBin) head = ((TreeBin<K, V>)head).untreeify();
+
+        // Push each node into its new bucket
+        while(head != null) {
+            HashNode<K, V> next = head.getNextNode();
+            linkNode(buckets, getIndex(head.getHashCode(), numBuckets), head);
+            head = next;
+        }
+    }
+
+    /**
+     * Put a node that is not yet in the table into a bucket, treeifying the bucket if its chain grows too long
+     * @param list ArrayList<HashNode<K, V>>: bucket list containing the bucket
+     * @param index int: index of the bucket
+     * @param node HashNode<K, V>: node to add
+     */
+    private void linkNode(ArrayList<HashNode<K, V>> list, int index, HashNode<K, V> node) {
+
+        HashNode<K, V> head = list.get(index);
+
+        // Treeified buckets take the node into the tree
+        if(head instanceof TreeBin) {
+            ((TreeBin<K, V>)head).insert(toTreeNode(node));
+            return;
+        }
+
+        // Put it at the beginning of the bucket list
+        if(node instanceof TreeNode) ((TreeNode<K, V>)node).clearTreeLinks();
+        node.setNextNode(head);
+        list.set(node, index);
+
+        // Count the chain, stopping at the threshold
+        int length = 0;
+        for(HashNode<K, V> current = node; current != null && length < TREEIFY_THRESHOLD; current = current.getNextNode()) {
+            length++;
+        }
+
+        // Too many keys share this bucket, search it as a tree from now on
+        if(length >= TREEIFY_THRESHOLD) {
+            TreeBin<K, V> bin = new TreeBin<>();
+            HashNode<K, V> current = node;
+            while(current != null) {
+                HashNode<K, V> next = current.getNextNode();
+                bin.insert(toTreeNode(current));
+                current = next;
+            }
+            list.set(bin, index);
+        }
+    }
+
+    /**
+     * Return the node itself if it can go in a tree, otherwise a tree node with the same contents
+     * @param node HashNode<K, V>: node to convert
+     * @return TreeNode<K, V>: node usable in a TreeBin
+     */
+    private TreeNode<K, V> toTreeNode(HashNode<K, V> node) {
+        if(node instanceof TreeNode) return (TreeNode<K, V>)node;
+        TreeNode<K, V> treeNode = new TreeNode<>(node.getKey(), node.getValue(), node.getHashCode());
+        treeNode.setTimer(node.getTimer());
+        return treeNode;
+    }
+
+    /**
+     * Give a node a time-to-live, or take it away
+     * @param node HashNode<K, V>: node in (or about to be in) the table
+     * @param ttlNanos long: time-to-live in nanoseconds, or NO_EXPIRATION to make the node permanent
+     */
+    private void setExpiration(HashNode<K, V> node, long ttlNanos) {
+
+        TimerWheel.Timer<K> timer = node.getTimer();
+
+        // Permanent entries have no timer
+        if(ttlNanos == NO_EXPIRATION) {
+            if(timer != null) {
+                timerWheel.cancel(timer);
+                node.setTimer(null);
+            }
+            return;
+        }
+
+        // Saturate instead of overflowing for very long time-to-live values
+        long now = ticker.getAsLong();
+        long deadline = now + ttlNanos;
+        if(deadline - now < 0) deadline = now + Long.MAX_VALUE;
+
+        if(timerWheel == null) timerWheel = new TimerWheel<>(now);
+
+        // Reuse the node's timer when it already has one
+        if(timer != null) timerWheel.reschedule(timer, deadline);
+        else {
+            timer = new TimerWheel.Timer<>(node.getKey(), node.getHashCode(), deadline);
+            node.setTimer(timer);
+            timerWheel.schedule(timer);
+        }
+    }
+
+    /**
+     * Return whether a node's time-to-live has passed
+     * @param node HashNode<K, V>: node in the table
+     * @return boolean: true if the node has expired
+     */
+    private boolean isExpired(HashNode<K, V> node) {
+        TimerWheel.Timer<K> timer = node.getTimer();
+        return timer != null && timer.deadline - ticker.getAsLong() <= 0;
+    }
+
+    /**
+     * Advance the timer wheel, removing every entry whose timer fires; free when no entry has a time-to-live
+     */
+    private void expireEntries() {
+        if(timerWheel != null && timerWheel.size() > 0) timerWheel.advance(ticker.getAsLong(), expirer);
+    }
+
+    /**
+     * Remove the entry a fired timer belongs to, unless the key has since been re-added with a different timer
+     * @param timer TimerWheel.Timer<K>: timer that fired
+     */
+    private void expire(TimerWheel.Timer<K> timer) {
+        HashNode<K, V> node = findNode(timer.key, timer.hashCode);
+        if(node != null && node.getTimer() == timer) removeNode(timer.key, timer.hashCode);
+    }
+
+    /**
+     * MXBean registered by registerStatisticsMBean. Attributes kept in fields are read directly, and the attributes
+     * that need every bucket walked come from one snapshot reused for STATISTICS_SNAPSHOT_NANOS
+     */
+    private class StatisticsBean implements HashTableStatisticsMXBean {
+
+        // Snapshot of the table's shape and the time it was taken
+        private HashTableStatistics snapshot;
+        private long snapshotTime;
+
+        public int getSize() { return size; }
+        public int getBuckets() { return numBuckets + (oldBuckets != null ? numOldBuckets - rehashIndex : 0); }
+        public double getLoadFactor() { int buckets = getBuckets(); return buckets == 0 ? 0 : (double)size / buckets; }
+        public int getMaxChainLength() { return shape().getMaxChainLength(); }
+        public int[] getChainLengthHistogram() { return shape().getChainLengthHistogram(); }
+        public int getTreeBins() { return shape().getTreeBins(); }
+        public double getCollisionRate() { return shape().getCollisionRate(); }
+        public int getHashCodeCollisions() { return shape().getHashCodeCollisions(); }
+        public long getChainSearches() { return chainSearches; }
+        public double getAverageProbeLength() { return chainSearches == 0 ? 0 : (double)nodesVisited / chainSearches; }
+        public long getResizes() { return resizes; }
+        public long getResizeNanos() { return resizeNanos; }
+
+        /**
+         * Return the shape snapshot, taking a new one if the last is older than STATISTICS_SNAPSHOT_NANOS
+         * @return HashTableStatistics: recent snapshot
+         */
+        private synchronized HashTableStatistics shape() {
+            long now = System.nanoTime();
+            if(snapshot == null || now - snapshotTime >= STATISTICS_SNAPSHOT_NANOS) {
+                snapshot = getStatistics();
+                snapshotTime = now;
+            }
+            return snapshot;
+        }
+
+    }
+
 }
@@ -0,0 +1,32 @@
+package HashTable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event committed each time a HashTable created with Option.STATISTICS grows its bucket list.
+ * The event's duration covers the whole resize for a one-shot resize, and only starting it for an incremental one.
+ * Recordings only contain it when the event is enabled, for example with 'jfr configure' or a custom .jfc file
+ */
+@Name("HashTable.Resize")
+@Label("Hash Table Resize")
+@Category("Data Structures")
+@Description("A HashTable grew its bucket list")
+class HashTableResizeEvent extends Event {
+
+    @Label("Elements")
+    int size;
+
+    @Label("Old Bucket Count")
+    int oldBuckets;
+
+    @Label("New Bucket Count")
+    int newBuckets;
+
+    @Label("Incremental")
+    boolean incremental;
+
+}
@@ -0,0 +1,168 @@
+package HashTable;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import ArrayList.ArrayList;
+
+// Concepts learned from the HashIterator and KeySpliterator of java.util.HashMap
+
+/**
+ * Walks a range of a HashTable's buckets, handing out the nodes (or their keys or values) one at a time.
+ * During an incremental resize the old bucket list's unmoved buckets come first, followed by the current bucket list,
+ * so the range covers every node exactly once. Splitting halves the bucket range, which lets parallel streams
+ * give each thread its own run of buckets. Stepping reuses the nodes in place and allocates nothing.
+ * Entries whose time-to-live has passed when the walk starts are skipped.
+ * The table must not be modified while it is being walked.
+ */
+class HashTableSpliterator<K, V, T> implements Spliterator<T> {
+
+    // Bucket list being drained by an incremental resize, or null
+    private final ArrayList<HashNode<K, V>> oldBuckets;
+
+    // Buckets of the old list covered by the walk, and the first one not yet moved
+    private final int numOldBuckets;
+    private final int rehashIndex;
+
+    // Current bucket list
+    private final ArrayList<HashNode<K, V>> buckets;
+
+    // Turns each node into the element handed out
+    private final Function<HashNode<K, V>, T> mapper;
+
+    // Ticker time at the start of the walk, entries past their deadline at this time are skipped
+    private final long now;
+
+    // Spliterator characteristics of the elements
+    private final int characteristics;
+
+    // Next bucket to visit and one past the last bucket of this range, counting old buckets first
+    private int index;
+    private final int fence;
+
+    // Next node of the bucket being walked, null between buckets
+    private HashNode<K, V> current;
+
+    // Estimated number of elements left in this range
+    private long estimate;
+
+    /**
+     * Create a walk over a range of buckets
+     * @param oldBuckets ArrayList<HashNode<K, V>>: bucket list being drained, or null when no resize is in progress
+     * @param numOldBuckets int: number of buckets in the old list, 0 when there is none
+     * @param rehashIndex int: old buckets below this index have already been moved
+     * @param buckets ArrayList<HashNode<K, V>>: current bucket list
+     * @param index int: first bucket of the range
+     * @param fence int: one past the last bucket of the range
+     * @param estimate long: estimated number of elements in the range
+     * @param now long: current ticker time
+     * @param mapper Function<HashNode<K, V>, T>: turns each node into the element handed out
+     * @param characteristics int: spliterator characteristics of the elements
+     */
+    HashTableSpliterator(ArrayList<HashNode<K, V>> oldBuckets, int numOldBuckets, int rehashIndex, ArrayList<HashNode<K, V>> buckets,
+                         int index, int fence, long estimate, long now, Function<HashNode<K, V>, T> mapper, int characteristics) {
+        this.oldBuckets = oldBuckets;
+        this.numOldBuckets = numOldBuckets;
+        this.rehashIndex = rehashIndex;
+        this.buckets = buckets;
+        this.index = index;
+        this.fence = fence;
+        this.estimate = estimate;
+        this.now = now;
+        this.mapper = mapper;
+        this.characteristics = characteristics;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+
+        HashNode<K, V> node = nextNode();
+        if(node == null) return false;
+
+        action.accept(mapper.apply(node));
+        return true;
+
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+
+        // Only split between buckets, and only ranges of at least two buckets
+        int mid = (index + fence) >>> 1;
+        if(current != null || index >= mid) return null;
+
+        // Hand the lower half to the new spliterator and keep the upper half
+        estimate >>>= 1;
+        HashTableSpliterator<K, V, T> prefix = new HashTableSpliterator<>(oldBuckets, numOldBuckets, rehashIndex, buckets,
+                                                                          index, mid, estimate, now, mapper, characteristics);
+        index = mid;
+        return prefix;
+
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Return the next live node of the range
+     * @return HashNode<K, V>: next node, or null once the range is exhausted
+     */
+    private HashNode<K, V> nextNode() {
+
+        while(true) {
+
+            // Continue along the bucket being walked
+            if(current != null) {
+                HashNode<K, V> node = current;
+                current = node.getNextNode();
+                if(!isExpired(node)) return node;
+                continue;
+            }
+
+            // Move on to the next bucket of the range
+            if(index >= fence) return null;
+            current = headOf(index++);
+        }
+
+    }
+
+    /**
+     * Return the first node of a bucket, counting the old bucket list's buckets first
+     * @param bucket int: position of the bucket in the range
+     * @return HashNode<K, V>: first node of the bucket, or null if it is empty or already moved
+     */
+    private HashNode<K, V> headOf(int bucket) {
+
+        HashNode<K, V> head;
+
+        // Old buckets that were already moved are empty
+        if(bucket < numOldBuckets) head = bucket < rehashIndex ? null : oldBuckets.get(bucket);
+        else head = buckets.get(bucket - numOldBuckets);
+
+        // A treeified bucket is walked through its node list
+        if(head instanceof TreeBin) head = ((TreeBin<K, V>)head).first;
+
+        return head;
+
+    }
+
+    /**
+     * Return whether a node's time-to-live had passed when the walk started
+     * @param node HashNode<K, V>: node in the table
+     * @return boolean: true if the node has expired
+     */
+    private boolean isExpired(HashNode<K, V> node) {
+        TimerWheel.Timer<K> timer = node.getTimer();
+        return timer != null && timer.deadline - now <= 0;
+    }
+
+}
@@ -0,0 +1,175 @@
+package HashTable;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a HashTable's shape and activity, returned by HashTable.getStatistics().
+ * The shape (bucket use, chain lengths, collisions) is measured by walking every bucket when the snapshot is taken.
+ * The activity counters (chain searches, nodes visited, resizes) are only kept by tables created with
+ * Option.STATISTICS and are zero otherwise
+ */
+public final class HashTableStatistics {
+
+    // Chain lengths counted exactly in the histogram, longer chains share its last entry
+    static final int HISTOGRAM_LIMIT = 8;
+
+    // Number of elements in the table
+    private final int size;
+
+    // Total number of buckets, including the unmoved old buckets of an incremental resize
+    private final int buckets;
+
+    // Buckets holding at least one element
+    private final int usedBuckets;
+
+    // Buckets converted into balanced trees
+    private final int treeBins;
+
+    // Longest chain (or tree bin) in the table
+    private final int maxChainLength;
+
+    // Entry i counts the buckets holding exactly i elements, the last entry those holding HISTOGRAM_LIMIT or more
+    private final int[] chainLengthHistogram;
+
+    // Elements whose full hash code equals that of another element in the same bucket
+    private final int hashCodeCollisions;
+
+    // Chain searches made by lookups, and the chain nodes they visited
+    private final long chainSearches;
+    private final long nodesVisited;
+
+    // Times the bucket list grew, and the time spent moving nodes to the larger list
+    private final long resizes;
+    private final long resizeNanos;
+
+    HashTableStatistics(int size, int buckets, int usedBuckets, int treeBins, int maxChainLength, int[] chainLengthHistogram,
+                        int hashCodeCollisions, long chainSearches, long nodesVisited, long resizes, long resizeNanos) {
+        this.size = size;
+        this.buckets = buckets;
+        this.usedBuckets = usedBuckets;
+        this.treeBins = treeBins;
+        this.maxChainLength = maxChainLength;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.hashCodeCollisions = hashCodeCollisions;
+        this.chainSearches = chainSearches;
+        this.nodesVisited = nodesVisited;
+        this.resizes = resizes;
+        this.resizeNanos = resizeNanos;
+    }
+
+    /**
+     * Return the number of elements in the table
+     * @return int: number of elements
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return the number of buckets, including old buckets an incremental resize has not moved yet
+     * @return int: number of buckets
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Return the number of buckets holding at least one element
+     * @return int: number of used buckets
+     */
+    public int getUsedBuckets() {
+        return usedBuckets;
+    }
+
+    /**
+     * Return the number of buckets that were converted into balanced trees because too many keys shared them
+     * @return int: number of tree bins
+     */
+    public int getTreeBins() {
+        return treeBins;
+    }
+
+    /**
+     * Return the elements per bucket
+     * @return double: load factor
+     */
+    public double getLoadFactor() {
+        return buckets == 0 ? 0 : (double)size / buckets;
+    }
+
+    /**
+     * Return the number of elements in the fullest bucket
+     * @return int: longest chain length
+     */
+    public int getMaxChainLength() {
+        return maxChainLength;
+    }
+
+    /**
+     * Return how many buckets hold each number of elements: entry i counts the buckets holding exactly i elements,
+     * and the last entry counts the buckets holding that many or more
+     * @return int[]: copy of the chain length histogram
+     */
+    public int[] getChainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    /**
+     * Return the fraction of elements that share their bucket with an element placed before them
+     * @return double: bucket collision rate between 0 and 1
+     */
+    public double getCollisionRate() {
+        return size == 0 ? 0 : (double)(size - usedBuckets) / size;
+    }
+
+    /**
+     * Return the number of elements whose full hash code equals another element's, which no bucket count can separate
+     * @return int: elements with a duplicated hash code
+     */
+    public int getHashCodeCollisions() {
+        return hashCodeCollisions;
+    }
+
+    /**
+     * Return the number of chain searches made by lookups, 0 unless the table records statistics
+     * A lookup during an incremental resize may search two chains, and searches of tree bins are not counted
+     * @return long: number of chain searches
+     */
+    public long getChainSearches() {
+        return chainSearches;
+    }
+
+    /**
+     * Return the average number of chain nodes a search compared, 0 unless the table records statistics
+     * @return double: average probe length
+     */
+    public double getAverageProbeLength() {
+        return chainSearches == 0 ? 0 : (double)nodesVisited / chainSearches;
+    }
+
+    /**
+     * Return the number of times the bucket list grew, 0 unless the table records statistics
+     * @return long: number of resizes
+     */
+    public long getResizes() {
+        return resizes;
+    }
+
+    /**
+     * Return the time spent growing the bucket list and moving nodes into it, 0 unless the table records statistics
+     * @return long: nanoseconds spent resizing
+     */
+    public long getResizeNanos() {
+        return resizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d buckets=%d used=%d load=%.3f maxChain=%d histogram=%s treeBins=%d collisionRate=%.3f "
+                             + "hashCodeCollisions=%d searches=%d avgProbe=%.3f resizes=%d resizeMs=%.3f",
+                             size, buckets, usedBuckets, getLoadFactor(), maxChainLength, Arrays.toString(chainLengthHistogram),
+                             treeBins, getCollisionRate(), hashCodeCollisions, chainSearches, getAverageProbeLength(),
+                             resizes, resizeNanos / 1e6);
+    }
+
+}
@@ -0,0 +1,70 @@
+package HashTable;
+
+/**
+ * Management interface through which JMX clients such as JConsole read a HashTable's statistics,
+ * see HashTable.registerStatisticsMBean. Size, bucket and counter attributes are read live, while the attributes that
+ * need every bucket walked share one HashTableStatistics snapshot for about a second
+ */
+public interface HashTableStatisticsMXBean {
+
+    /**
+     * @return int: number of elements in the table
+     */
+    int getSize();
+
+    /**
+     * @return int: number of buckets
+     */
+    int getBuckets();
+
+    /**
+     * @return double: elements per bucket
+     */
+    double getLoadFactor();
+
+    /**
+     * @return int: number of elements in the fullest bucket
+     */
+    int getMaxChainLength();
+
+    /**
+     * @return int[]: buckets holding each number of elements
+     */
+    int[] getChainLengthHistogram();
+
+    /**
+     * @return int: number of buckets converted into balanced trees
+     */
+    int getTreeBins();
+
+    /**
+     * @return double: fraction of elements sharing their bucket with an earlier element
+     */
+    double getCollisionRate();
+
+    /**
+     * @return int: elements whose full hash code equals another element's
+     */
+    int getHashCodeCollisions();
+
+    /**
+     * @return long: chain searches made by lookups
+     */
+    long getChainSearches();
+
+    /**
+     * @return double: average chain nodes compared per search
+     */
+    double getAverageProbeLength();
+
+    /**
+     * @return long: times the bucket list grew
+     */
+    long getResizes();
+
+    /**
+     * @return long: nanoseconds spent resizing
+     */
+    long getResizeNanos();
+
+}
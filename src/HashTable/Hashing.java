@@ -0,0 +1,144 @@
+package HashTable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+
+/**
+ * Hash mixing helpers shared by the hash table implementations in this package
+ */
+final class Hashing {
+
+    // Reads 8 bytes of a byte array as one little endian long
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // 2^64 divided by the golden ratio, an odd multiplier whose high bits depend on every input bit
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    // Source of the secret keys of keyed hashing
+    private static final SecureRandom KEY_SOURCE = new SecureRandom();
+
+    private Hashing() {}
+
+    /**
+     * Murmur3 32-bit finalizer: every input bit affects every output bit,
+     * so masking off the low bits for an index does not throw away the high bits
+     * @param h int: raw hash code
+     * @return int: mixed hash code
+     */
+    static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Murmur3 64-bit finalizer folded down to an int for indexing
+     * @param h long: raw 64-bit key
+     * @return int: mixed hash code
+     */
+    static int spread(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int)h;
+    }
+
+    /**
+     * Hash the contents of a byte array eight bytes at a time, then apply the 64-bit finalizer.
+     * Unlike Arrays.hashCode, keys that differ only in a few bytes do not collide before mixing
+     * @param bytes byte[]: bytes to hash
+     * @return int: mixed hash code
+     */
+    static int spread(byte[] bytes) {
+
+        long h = bytes.length;
+        int i = 0;
+
+        // Fold in whole words, each step is a bijection of the running hash for a fixed word
+        for(; i + 8 <= bytes.length; i += 8) {
+            h = Long.rotateLeft((h ^ (long)LONGS.get(bytes, i)) * GOLDEN, 31);
+        }
+
+        // Pack the remaining bytes into one last word
+        long tail = 0;
+        for(int shift = 0; i < bytes.length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+
+        return spread((h ^ tail) * GOLDEN);
+    }
+
+    /**
+     * Create a random 128-bit key for sipHash, from a cryptographically strong source so it cannot be guessed
+     * @return long[]: the two halves of the key
+     */
+    static long[] randomKey() {
+        return new long[] {KEY_SOURCE.nextLong(), KEY_SOURCE.nextLong()};
+    }
+
+    /**
+     * SipHash-1-3 of a String's UTF-16 code units under a secret key. Without the key, nobody can choose strings that
+     * collide, or even predict which bucket a string lands in, so a table cannot be flooded with colliding keys
+     * @param s String: string to hash
+     * @param k0 long: first half of the key
+     * @param k1 long: second half of the key
+     * @return int: 64-bit SipHash folded to an int
+     */
+    static int sipHash(String s, long k0, long k1) {
+
+        // State initialized from the key and the constants "somepseudorandomlygeneratedbytes"
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        int length = s.length();
+        int i = 0;
+
+        // Compress four chars (one 64-bit word) per SipRound
+        for(; i + 4 <= length; i += 4) {
+
+            long m = s.charAt(i) | (long)s.charAt(i + 1) << 16 | (long)s.charAt(i + 2) << 32 | (long)s.charAt(i + 3) << 48;
+            v3 ^= m;
+
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+
+            v0 ^= m;
+        }
+
+        // The last word holds the remaining chars and the message length in bytes in its top byte
+        long m = (long)(length << 1) << 56;
+        for(int shift = 0; i < length; i++, shift += 16) {
+            m |= (long)s.charAt(i) << shift;
+        }
+
+        // One compression round for the last word, then three finalization rounds
+        v3 ^= m;
+        for(int round = 0; round < 4; round++) {
+
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+
+            if(round == 0) {
+                v0 ^= m;
+                v2 ^= 0xff;
+            }
+        }
+
+        long h = v0 ^ v1 ^ v2 ^ v3;
+        return (int)(h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,272 @@
+package HashTable;
+
+import java.util.Arrays;
+
+/**
+ * Hash table from int keys to int values with no boxing and no per-entry objects.
+ * Keys and values live in parallel primitive arrays with linear probing; 0 marks an empty key slot,
+ * and the key 0 itself is stored outside the arrays so every int is a valid key.
+ */
+public class IntIntHashTable {
+
+    // Number of slots the table starts with (must be a power of two)
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fraction of occupied slots that triggers a resize
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Keys stored in each slot, 0 marks an empty slot
+    private int[] keys;
+
+    // Values stored in each slot, parallel to keys
+    private int[] values;
+
+    // Capacity - 1, used to turn a hash into a slot index
+    private int mask;
+
+    // Number of key/value pairs in the arrays (not counting the zero key)
+    private int assigned;
+
+    // Whether the key 0 is present and its value
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    // Number of assigned slots at which the arrays are doubled
+    private int resizeThreshold;
+
+    /**
+     * Initialize an empty table
+     */
+    public IntIntHashTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Removes every element, keeping the current capacity
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists
+     * @param key int: key to add
+     * @param value int: value to associate with the key
+     */
+    public void add(int key, int value) {
+
+        // The zero key lives outside the arrays
+        if(key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+
+        int slot = findSlot(key);
+
+        // Replace the value of an existing key
+        if(keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+
+        // Claim the empty slot found at the end of the probe sequence
+        keys[slot] = key;
+        values[slot] = value;
+        if(++assigned > resizeThreshold) resize(keys.length << 1);
+
+    }
+
+    /**
+     * Add an amount to the value of a key, starting from 0 if the key is not present
+     * @param key int: key whose value to increase
+     * @param amount int: amount to add
+     * @return int: the new value associated with the key
+     */
+    public int addTo(int key, int amount) {
+
+        // The zero key lives outside the arrays
+        if(key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + amount : amount;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+
+        int slot = findSlot(key);
+
+        // Increase the value of an existing key
+        if(keys[slot] == key) {
+            return values[slot] += amount;
+        }
+
+        // Claim the empty slot with the amount as the value
+        keys[slot] = key;
+        values[slot] = amount;
+        if(++assigned > resizeThreshold) resize(keys.length << 1);
+        return amount;
+
+    }
+
+    /**
+     * Return the value associated with a key, or a default if the key is not present
+     * @param key int: key to search for
+     * @param defaultValue int: value to return when the key is not present
+     * @return int: associated value or the default
+     */
+    public int getOrDefault(int key, int defaultValue) {
+
+        if(key == 0) return hasZeroKey ? zeroValue : defaultValue;
+
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+
+    }
+
+    /**
+     * Return whether a key is present in the table
+     * @param key int: key to search for
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(int key) {
+
+        if(key == 0) return hasZeroKey;
+
+        return keys[findSlot(key)] == key;
+
+    }
+
+    /**
+     * Remove a key from the table
+     * @param key int: key to remove
+     * @return boolean: true if the key was present and removed
+     */
+    public boolean remove(int key) {
+
+        // The zero key lives outside the arrays
+        if(key == 0) {
+            boolean removed = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return removed;
+        }
+
+        int slot = findSlot(key);
+
+        // Key not present
+        if(keys[slot] != key) return false;
+
+        // Close the gap so later probe sequences are not broken
+        shiftBack(slot);
+        assigned--;
+        return true;
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Spread the key so the low bits used for the slot index depend on every bit
+     * @param key int: key to hash
+     * @return int: slot the key prefers
+     */
+    private int home(int key) {
+        return Hashing.spread(key) & mask;
+    }
+
+    /**
+     * Find the slot holding a non-zero key, or the empty slot where it would be placed
+     * @param key int: non-zero key to look for
+     * @return int: slot index
+     */
+    private int findSlot(int key) {
+        int slot = home(key);
+        while(keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward shift deletion: pull later entries of the run into the gap when the gap lies on their probe path
+     * @param gap int: slot that was just vacated
+     */
+    private void shiftBack(int gap) {
+
+        int slot = gap;
+        while(true) {
+
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+
+            // End of the run, the gap can stay empty
+            if(key == 0) break;
+
+            // Move the entry if the gap is between its home slot and its current slot
+            int distanceFromHome = (slot - home(key)) & mask;
+            int distanceFromGap = (slot - gap) & mask;
+            if(distanceFromHome >= distanceFromGap) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+
+        keys[gap] = 0;
+    }
+
+    /**
+     * Create empty arrays of the given capacity
+     * @param capacity int: number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        assigned = 0;
+        resizeThreshold = (int)(capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Move every entry into arrays of a new capacity
+     * @param newCapacity int: number of slots, a power of two
+     */
+    private void resize(int newCapacity) {
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldAssigned = assigned;
+
+        allocate(newCapacity);
+
+        // Re-insert every occupied slot, keys are known to be distinct
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != 0) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        assigned = oldAssigned;
+    }
+
+}
@@ -0,0 +1,796 @@
+package HashTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+// Concepts learned from: the write-ahead log and dual superblock designs of LMDB and Bitcask
+
+/**
+ * Persistent hash table for fixed-size binary keys and values, kept in memory-mapped files so reopening does not
+ * rebuild anything and pages are only read from disk when a lookup touches them.
+ * The data file holds two alternating headers followed by an append-only log of checksummed put/remove records;
+ * a second file next to it holds the index, an open addressing array of (hash, record number) slots.
+ * The log is the source of truth. A header is marked dirty (and forced to disk) before the first change after a
+ * flush, and clean again once flush has forced the log and index. Reopening a clean table just maps the files;
+ * reopening after a crash rebuilds the index by replaying the log, stopping at the first record whose checksum
+ * fails, which is a write torn by the crash. Headers carry a checksum and a sequence number and are written to
+ * the slot not holding the newest header, so a torn header write leaves the previous one intact.
+ * Replaced and removed entries stay in the log, so the data file only grows.
+ */
+public class MappedHashTable implements AutoCloseable {
+
+    // Identifies the data file, "MHT1"
+    private static final int MAGIC = 0x4D485431;
+
+    // Layout version of the data file
+    private static final int VERSION = 1;
+
+    // Bytes reserved for each of the two headers, and for the whole header area before the log
+    private static final int HEADER_SLOT_BYTES = 64;
+    private static final int LOG_START = 4096;
+
+    // Header field offsets within a header slot; the checksum covers every byte before it
+    private static final int HEADER_SEQUENCE = 16;
+    private static final int HEADER_LOG_END = 24;
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_CAPACITY = 36;
+    private static final int HEADER_CLEAN = 40;
+    private static final int HEADER_CHECKSUM = 44;
+
+    // Record types, a zeroed record has neither and ends the log
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    // Bytes of a record before its key: checksum and type
+    private static final int RECORD_HEADER_BYTES = 5;
+
+    // Bytes of an index slot: hash, then record number; a hash of 0 marks an empty slot
+    private static final int SLOT_BYTES = 12;
+
+    // Index slots the table starts with, and the most it can have (one mapping)
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 27;
+
+    // Fraction of occupied index slots that triggers a resize
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Largest log mapping, and the records first mapped for a new table
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+    private static final int INITIAL_LOG_RECORDS = 1024;
+
+    // Size in bytes of every key and value, and of a whole log record
+    private final int keySize;
+    private final int valueSize;
+    private final int recordSize;
+
+    // Data file and its mapped header area
+    private final FileChannel dataChannel;
+    private final MappedByteBuffer header;
+
+    // Index file and its mapping
+    private final Path indexPath;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+
+    // Log mappings; every chunk holds chunkRecords records except a lone first chunk that is still growing
+    private MappedByteBuffer[] logChunks;
+    private final int chunkRecords;
+    private final int chunkShift;
+    private long mappedRecords;
+
+    // Number of records in the log
+    private long recordCount;
+
+    // Index slots and capacity - 1
+    private int capacity;
+    private int mask;
+
+    // Number of key/value pairs in the table
+    private int size;
+
+    // Header slot holding the newest header, its sequence number and whether it says clean
+    private int headerSlot;
+    private long sequence;
+    private boolean clean;
+
+    // Whether opening had to rebuild the index from the log
+    private final boolean recovered;
+
+    // Whether close has been called
+    private boolean closed;
+
+    // Reused checksum and scratch space
+    private final CRC32C crc = new CRC32C();
+    private final byte[] keyScratch;
+    private final byte[] probeScratch;
+    private final byte[] valueScratch;
+    private final byte[] headerScratch = new byte[HEADER_CHECKSUM];
+
+    /**
+     * Open the table stored at a path, creating it if the file does not exist;
+     * the index is kept in a second file named after it with ".index" appended
+     * @param path Path: data file of the table
+     * @param keySize int: size in bytes of every key, must match the sizes the file was created with
+     * @param valueSize int: size in bytes of every value, must match the sizes the file was created with
+     * @throws IOException if the files cannot be opened or mapped
+     */
+    public MappedHashTable(Path path, int keySize, int valueSize) throws IOException {
+
+        if(keySize <= 0 || valueSize < 0) throw new IllegalArgumentException("Key size must be positive and value size must not be negative");
+        if((long)RECORD_HEADER_BYTES + keySize + valueSize > MAX_CHUNK_BYTES) throw new IllegalArgumentException("Records must fit in " + MAX_CHUNK_BYTES + " bytes");
+
+        this.keySize = keySize;
+        this.valueSize = valueSize;
+        recordSize = RECORD_HEADER_BYTES + keySize + valueSize;
+        keyScratch = new byte[keySize];
+        probeScratch = new byte[keySize];
+        valueScratch = new byte[valueSize];
+
+        // Largest power of two records that fit in one mapping
+        chunkRecords = Integer.highestOneBit(MAX_CHUNK_BYTES / recordSize);
+        chunkShift = Integer.numberOfTrailingZeros(chunkRecords);
+        logChunks = new MappedByteBuffer[0];
+
+        indexPath = path.resolveSibling(path.getFileName() + ".index");
+        dataChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+
+            boolean created = dataChannel.size() == 0;
+            header = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, LOG_START);
+
+            // Use the newest header whose checksum holds
+            headerSlot = newestValidHeader();
+            if(headerSlot >= 0) readHeader(headerSlot);
+            else headerSlot = 1;
+
+            // Reopen a cleanly flushed table as it is
+            if(!created && clean && Files.exists(indexPath) && Files.size(indexPath) == (long)capacity * SLOT_BYTES) {
+                indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long)capacity * SLOT_BYTES);
+                mask = capacity - 1;
+                ensureLogCapacity(Math.max(recordCount, INITIAL_LOG_RECORDS));
+                recovered = false;
+            }
+
+            // A new file starts empty, anything else is rebuilt from the log
+            else {
+                recovered = !created;
+                rebuildIndex();
+            }
+
+        } catch(IOException | RuntimeException e) {
+            releaseMappings();
+            if(indexChannel != null) indexChannel.close();
+            dataChannel.close();
+            throw e;
+        }
+
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Return the number of index slots available at a given time (for testing only)
+     * @return int: number of slots in the index
+     */
+    public int getNumberOfBuckets() {
+        return capacity;
+    }
+
+    /**
+     * Return whether opening the table had to rebuild its index from the log because it was not closed cleanly
+     * @return boolean: true if the index was rebuilt
+     */
+    public boolean wasRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists
+     * @param key byte[]: key of exactly the table's key size
+     * @param value byte[]: value of exactly the table's value size
+     */
+    public void add(byte[] key, byte[] value) {
+
+        checkKey(key);
+        if(value == null || value.length != valueSize) throw new IllegalArgumentException("Value must be " + valueSize + " bytes");
+        beginWrite();
+
+        int hash = getHashCode(key);
+
+        // The log is written first, the index then points at the new record
+        long record = appendRecord(PUT, key, value);
+        indexPut(key, hash, record);
+
+    }
+
+    /**
+     * Return a copy of the value associated with a key
+     * @param key byte[]: key of exactly the table's key size
+     * @return byte[]: copy of the value, or null if the key is not present
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = new byte[valueSize];
+        return get(key, value) ? value : null;
+    }
+
+    /**
+     * Copy the value associated with a key into a caller's array, allocating nothing
+     * @param key byte[]: key of exactly the table's key size
+     * @param value byte[]: receives the value, at least the table's value size
+     * @return boolean: true if the key was present and its value copied
+     */
+    public boolean get(byte[] key, byte[] value) {
+
+        checkKey(key);
+        ensureOpen();
+
+        int slot = findSlot(key, getHashCode(key));
+        if(slot < 0) return false;
+
+        long record = slotRecord(slot);
+        logChunk(record).get(recordOffset(record) + RECORD_HEADER_BYTES + keySize, value, 0, valueSize);
+        return true;
+
+    }
+
+    /**
+     * Return whether a key is in the table
+     * @param key byte[]: key of exactly the table's key size
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(byte[] key) {
+        checkKey(key);
+        ensureOpen();
+        return findSlot(key, getHashCode(key)) >= 0;
+    }
+
+    /**
+     * Remove the entry with a particular key from the table
+     * @param key byte[]: key of exactly the table's key size
+     * @return boolean: true if an entry was removed
+     */
+    public boolean remove(byte[] key) {
+
+        checkKey(key);
+        ensureOpen();
+
+        int hash = getHashCode(key);
+        if(findSlot(key, hash) < 0) return false;
+
+        // Record the removal so replaying the log does not bring the key back
+        beginWrite();
+        Arrays.fill(valueScratch, (byte)0);
+        appendRecord(REMOVE, key, valueScratch);
+        indexRemove(key, hash);
+        return true;
+
+    }
+
+    /**
+     * Force every change to disk and mark the table clean, so the next open maps it without a rebuild
+     * @throws IOException if the header cannot be written
+     */
+    public void flush() throws IOException {
+
+        ensureOpen();
+        if(clean) return;
+
+        // Data first, then the header that vouches for it
+        for(MappedByteBuffer chunk: logChunks) {
+            chunk.force();
+        }
+        index.force();
+        writeHeader(true);
+
+    }
+
+    /**
+     * Flush, then unmap and close the files; later calls other than close throw IllegalStateException
+     * @throws IOException if flushing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+
+        if(closed) return;
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            releaseMappings();
+            if(indexChannel != null) indexChannel.close();
+            dataChannel.close();
+        }
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Hash a key's bytes, 0 is reserved for empty index slots
+     * @param key byte[]: key to hash
+     * @return int: the spread, non-zero hash code
+     */
+    private int getHashCode(byte[] key) {
+
+        int h = Hashing.spread(key);
+
+        // Never hand out the empty marker
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Throw if the table has been closed
+     */
+    private void ensureOpen() {
+        if(closed) throw new IllegalStateException("Table is closed");
+    }
+
+    /**
+     * Throw if a key does not have the table's key size
+     * @param key byte[]: key to check
+     */
+    private void checkKey(byte[] key) {
+        if(key == null || key.length != keySize) throw new IllegalArgumentException("Key must be " + keySize + " bytes");
+    }
+
+    /**
+     * Make sure the header on disk says dirty before the first change after a flush reaches the files
+     */
+    private void beginWrite() {
+        ensureOpen();
+        if(clean) writeHeader(false);
+    }
+
+    // ---------- Header ----------
+
+    /**
+     * Return the header slot with a valid checksum and the highest sequence number
+     * @return int: 0 or 1, or -1 if neither header is valid
+     */
+    private int newestValidHeader() {
+
+        int newest = -1;
+        long newestSequence = -1;
+
+        for(int slot = 0; slot < 2; slot++) {
+
+            int base = slot * HEADER_SLOT_BYTES;
+            if(header.getInt(base) != MAGIC || header.getInt(base + 4) != VERSION) continue;
+            if(header.getInt(base + HEADER_CHECKSUM) != headerChecksum(base)) continue;
+
+            long slotSequence = header.getLong(base + HEADER_SEQUENCE);
+            if(slotSequence > newestSequence) {
+                newest = slot;
+                newestSequence = slotSequence;
+            }
+        }
+
+        return newest;
+    }
+
+    /**
+     * Load the table's state from a valid header
+     * @param slot int: header slot to read
+     */
+    private void readHeader(int slot) {
+
+        int base = slot * HEADER_SLOT_BYTES;
+
+        if(header.getInt(base + 8) != keySize || header.getInt(base + 12) != valueSize) {
+            throw new IllegalArgumentException("File holds " + header.getInt(base + 8) + " byte keys and " + header.getInt(base + 12) + " byte values");
+        }
+
+        sequence = header.getLong(base + HEADER_SEQUENCE);
+        recordCount = header.getLong(base + HEADER_LOG_END);
+        size = header.getInt(base + HEADER_SIZE);
+        capacity = header.getInt(base + HEADER_CAPACITY);
+        clean = header.getInt(base + HEADER_CLEAN) == 1;
+    }
+
+    /**
+     * Write the table's state to the header slot not holding the newest header and force it to disk
+     * @param markClean boolean: whether the files are known to match this header
+     */
+    private void writeHeader(boolean markClean) {
+
+        int slot = 1 - headerSlot;
+        int base = slot * HEADER_SLOT_BYTES;
+
+        header.putInt(base, MAGIC);
+        header.putInt(base + 4, VERSION);
+        header.putInt(base + 8, keySize);
+        header.putInt(base + 12, valueSize);
+        header.putLong(base + HEADER_SEQUENCE, sequence + 1);
+        header.putLong(base + HEADER_LOG_END, recordCount);
+        header.putInt(base + HEADER_SIZE, size);
+        header.putInt(base + HEADER_CAPACITY, capacity);
+        header.putInt(base + HEADER_CLEAN, markClean ? 1 : 0);
+        header.putInt(base + HEADER_CHECKSUM, headerChecksum(base));
+        header.force(base, HEADER_SLOT_BYTES);
+
+        headerSlot = slot;
+        sequence++;
+        clean = markClean;
+    }
+
+    /**
+     * Compute the checksum of the header fields in a slot
+     * @param base int: offset of the header slot
+     * @return int: checksum of every byte before the checksum field
+     */
+    private int headerChecksum(int base) {
+        header.get(base, headerScratch);
+        crc.reset();
+        crc.update(headerScratch);
+        return (int)crc.getValue();
+    }
+
+    // ---------- Log ----------
+
+    /**
+     * Return the mapping holding a record
+     * @param record long: record number
+     * @return MappedByteBuffer: log chunk of the record
+     */
+    private MappedByteBuffer logChunk(long record) {
+        return logChunks[(int)(record >>> chunkShift)];
+    }
+
+    /**
+     * Return where a record starts within its chunk
+     * @param record long: record number
+     * @return int: byte offset of the record in its chunk
+     */
+    private int recordOffset(long record) {
+        return (int)(record & (chunkRecords - 1)) * recordSize;
+    }
+
+    /**
+     * Append a checksummed record to the log
+     * @param type byte: PUT or REMOVE
+     * @param key byte[]: key of the record
+     * @param value byte[]: value of the record, zeroes for a removal
+     * @return long: record number
+     */
+    private long appendRecord(byte type, byte[] key, byte[] value) {
+
+        long record = recordCount;
+        ensureLogCapacity(record + 1);
+
+        MappedByteBuffer chunk = logChunk(record);
+        int offset = recordOffset(record);
+
+        chunk.put(offset + 4, type);
+        chunk.put(offset + RECORD_HEADER_BYTES, key);
+        chunk.put(offset + RECORD_HEADER_BYTES + keySize, value);
+        chunk.putInt(offset, recordChecksum(type, key, value));
+
+        recordCount++;
+        return record;
+    }
+
+    /**
+     * Compute the checksum of a record's contents
+     * @param type byte: record type
+     * @param key byte[]: record key
+     * @param value byte[]: record value
+     * @return int: checksum
+     */
+    private int recordChecksum(byte type, byte[] key, byte[] value) {
+        crc.reset();
+        crc.update(type);
+        crc.update(key);
+        crc.update(value);
+        return (int)crc.getValue();
+    }
+
+    /**
+     * Map enough of the data file to hold a number of records, extending the file as needed
+     * @param records long: number of records that must be mapped
+     */
+    private void ensureLogCapacity(long records) {
+
+        try {
+            while(mappedRecords < records) {
+
+                // A lone first chunk doubles until it is full size, after that whole chunks are added
+                if(logChunks.length <= 1 && mappedRecords < chunkRecords) {
+                    int newRecords = (int)Math.min(chunkRecords, Math.max(Math.max(mappedRecords * 2, INITIAL_LOG_RECORDS), records));
+                    MappedByteBuffer chunk = dataChannel.map(FileChannel.MapMode.READ_WRITE, LOG_START, (long)newRecords * recordSize);
+                    if(logChunks.length == 1) DirectBuffers.free(logChunks[0]);
+                    logChunks = new MappedByteBuffer[] {chunk};
+                    mappedRecords = newRecords;
+                }
+                else {
+                    long position = LOG_START + (long)logChunks.length * chunkRecords * recordSize;
+                    logChunks = Arrays.copyOf(logChunks, logChunks.length + 1);
+                    logChunks[logChunks.length - 1] = dataChannel.map(FileChannel.MapMode.READ_WRITE, position, (long)chunkRecords * recordSize);
+                    mappedRecords += chunkRecords;
+                }
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read a record into the scratch arrays if its checksum holds
+     * @param record long: record number, must be mapped
+     * @return byte: record type, or 0 if the record is not a valid record
+     */
+    private byte readRecord(long record) {
+
+        MappedByteBuffer chunk = logChunk(record);
+        int offset = recordOffset(record);
+
+        byte type = chunk.get(offset + 4);
+        if(type != PUT && type != REMOVE) return 0;
+
+        chunk.get(offset + RECORD_HEADER_BYTES, keyScratch);
+        chunk.get(offset + RECORD_HEADER_BYTES + keySize, valueScratch);
+        if(chunk.getInt(offset) != recordChecksum(type, keyScratch, valueScratch)) return 0;
+
+        return type;
+    }
+
+    /**
+     * Build a fresh index by replaying the log up to its first invalid record, then mark the table clean
+     * @throws IOException if the index file cannot be created
+     */
+    private void rebuildIndex() throws IOException {
+
+        // Start from an empty index
+        createIndex(INITIAL_CAPACITY);
+        size = 0;
+
+        // Map every whole record the file holds
+        long available = Math.max(0, (dataChannel.size() - LOG_START) / recordSize);
+        ensureLogCapacity(Math.max(available, INITIAL_LOG_RECORDS));
+
+        // Replay until the end of the file or a record torn or never written
+        long record = 0;
+        while(record < available) {
+
+            byte type = readRecord(record);
+            if(type == 0) break;
+
+            int hash = getHashCode(keyScratch);
+            if(type == PUT) indexPut(keyScratch, hash, record);
+            else indexRemove(keyScratch, hash);
+
+            record++;
+        }
+        recordCount = record;
+
+        // Zero whatever followed the last good record so a half-written record can never look valid later
+        for(long r = record; r < available; r++) {
+            MappedByteBuffer chunk = logChunk(r);
+            int offset = recordOffset(r);
+            if(chunk.get(offset + 4) == 0 && chunk.getInt(offset) == 0) break;
+            chunk.put(offset + 4, (byte)0);
+            chunk.putInt(offset, 0);
+        }
+
+        // The rebuilt state is complete, make it the clean state on disk
+        clean = false;
+        flush();
+    }
+
+    // ---------- Index ----------
+
+    /**
+     * Create an empty index file of a capacity, replacing any existing one
+     * @param newCapacity int: number of slots, a power of two
+     * @throws IOException if the file cannot be created
+     */
+    private void createIndex(int newCapacity) throws IOException {
+
+        if(index != null) DirectBuffers.free(index);
+        if(indexChannel != null) indexChannel.close();
+
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long)newCapacity * SLOT_BYTES);
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+    }
+
+    /**
+     * Return the stored hash of an index slot
+     * @param slot int: slot index
+     * @return int: stored hash, 0 if the slot is empty
+     */
+    private int slotHash(int slot) {
+        return index.getInt(slot * SLOT_BYTES);
+    }
+
+    /**
+     * Return the record an index slot points at
+     * @param slot int: occupied slot index
+     * @return long: record number
+     */
+    private long slotRecord(int slot) {
+        return index.getLong(slot * SLOT_BYTES + 4);
+    }
+
+    /**
+     * Point an index slot at a record
+     * @param slot int: slot index
+     * @param hash int: hash of the record's key
+     * @param record long: record number
+     */
+    private void setSlot(int slot, int hash, long record) {
+        index.putLong(slot * SLOT_BYTES + 4, record);
+        index.putInt(slot * SLOT_BYTES, hash);
+    }
+
+    /**
+     * Find the index slot holding a key
+     * @param key byte[]: key to look for
+     * @param hash int: hash of the key
+     * @return int: slot index, or -1 if the key is not in the table
+     */
+    private int findSlot(byte[] key, int hash) {
+
+        int slot = hash & mask;
+
+        while(true) {
+
+            int current = slotHash(slot);
+
+            // Reached an empty slot, the key is not present
+            if(current == 0) return -1;
+
+            // Compare the cheap hash before reading the key from the log
+            if(current == hash) {
+                long record = slotRecord(slot);
+                logChunk(record).get(recordOffset(record) + RECORD_HEADER_BYTES, probeScratch);
+                if(Arrays.equals(probeScratch, key)) return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+    }
+
+    /**
+     * Point the index entry of a key at a record, adding the key if it is new
+     * @param key byte[]: key of the record
+     * @param hash int: hash of the key
+     * @param record long: record number
+     */
+    private void indexPut(byte[] key, int hash, long record) {
+
+        // A present key only moves to the newer record
+        int slot = findSlot(key, hash);
+        if(slot >= 0) {
+            setSlot(slot, hash, record);
+            return;
+        }
+
+        // Make room before inserting so probing never runs into a full index
+        if(size + 1 > capacity * MAX_LOAD_FACTOR) resizeIndex(capacity << 1);
+
+        slot = hash & mask;
+        while(slotHash(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        setSlot(slot, hash, record);
+        size++;
+    }
+
+    /**
+     * Remove a key from the index, shifting following entries back so no tombstone is needed
+     * @param key byte[]: key to remove
+     * @param hash int: hash of the key
+     */
+    private void indexRemove(byte[] key, int hash) {
+
+        int hole = findSlot(key, hash);
+        if(hole < 0) return;
+
+        // Pull back every following entry whose home slot is not between the hole and where it sits
+        int slot = hole;
+        while(true) {
+
+            slot = (slot + 1) & mask;
+            int current = slotHash(slot);
+            if(current == 0) break;
+
+            int home = current & mask;
+            if(((hole - home) & mask) < ((slot - home) & mask)) {
+                setSlot(hole, current, slotRecord(slot));
+                hole = slot;
+            }
+        }
+
+        // The last hole becomes an empty slot
+        index.putInt(hole * SLOT_BYTES, 0);
+        size--;
+    }
+
+    /**
+     * Move every index entry into a new index file of a larger capacity, swapped in with a rename
+     * @param newCapacity int: number of slots, a power of two
+     */
+    private void resizeIndex(int newCapacity) {
+
+        if(capacity >= MAX_CAPACITY) throw new IllegalStateException("Index cannot grow past " + MAX_CAPACITY + " slots");
+
+        Path temporary = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+
+        try {
+
+            FileChannel newChannel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                      StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer newIndex = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long)newCapacity * SLOT_BYTES);
+            int newMask = newCapacity - 1;
+
+            // Re-insert every occupied slot, the stored hash is reused
+            for(int slot = 0; slot < capacity; slot++) {
+
+                int hash = slotHash(slot);
+                if(hash == 0) continue;
+
+                int newSlot = hash & newMask;
+                while(newIndex.getInt(newSlot * SLOT_BYTES) != 0) {
+                    newSlot = (newSlot + 1) & newMask;
+                }
+                newIndex.putLong(newSlot * SLOT_BYTES + 4, slotRecord(slot));
+                newIndex.putInt(newSlot * SLOT_BYTES, hash);
+            }
+
+            // The header is dirty, so a crash anywhere here rebuilds the index from the log
+            DirectBuffers.free(index);
+            indexChannel.close();
+            Files.move(temporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            index = newIndex;
+            indexChannel = newChannel;
+            capacity = newCapacity;
+            mask = newMask;
+
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Unmap every mapping of both files
+     */
+    private void releaseMappings() {
+        for(MappedByteBuffer chunk: logChunks) {
+            DirectBuffers.free(chunk);
+        }
+        logChunks = new MappedByteBuffer[0];
+        DirectBuffers.free(index);
+        index = null;
+        DirectBuffers.free(header);
+    }
+
+}
@@ -0,0 +1,447 @@
+package HashTable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Concepts learned from: https://en.wikipedia.org/wiki/Linear_probing (deletion without tombstones, Knuth's Algorithm R)
+
+/**
+ * Hash table for fixed-size binary keys and values stored outside the Java heap.
+ * Entries are packed into direct ByteBuffers as [hash][key bytes][value bytes] and placed with linear probing,
+ * so tens of millions of entries cost the garbage collector nothing but a handful of buffer objects.
+ * Memory is split into chunks of at most 1GB since a single buffer is limited to 2GB.
+ * Direct buffers are used because on JDK 17 memory segments are only in the incubator module jdk.incubator.foreign,
+ * which every user of the table would have to enable with --add-modules.
+ * The memory is released by close() rather than by the garbage collector; the table cannot be used afterwards.
+ */
+public class OffHeapHashTable implements AutoCloseable {
+
+    // Number of slots the table starts with (must be a power of two)
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fraction of occupied slots that triggers a resize
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Largest chunk of slots allocated as one buffer
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    // Bytes of the stored hash at the start of each entry, a hash of 0 marks an empty slot
+    private static final int HASH_BYTES = 4;
+
+    // Most slots a table can have
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // Size in bytes of every key and value
+    private final int keySize;
+    private final int valueSize;
+
+    // Size in bytes of one slot
+    private final int entrySize;
+
+    // Off-heap slot memory, null once closed
+    private ByteBuffer[] chunks;
+
+    // Slots per chunk is 1 << chunkShift, chunkMask selects a slot within its chunk
+    private int chunkShift;
+    private int chunkMask;
+
+    // Number of slots, capacity - 1 turns a hash into a slot index
+    private int capacity;
+    private int mask;
+
+    // Number of key/value pairs in the table
+    private int size;
+
+    // Size at which the slots are doubled
+    private int resizeThreshold;
+
+    // Capacity the table starts with and returns to when cleared
+    private final int initialCapacity;
+
+    // Reused buffers for reading a key or a whole entry out of the table
+    private final byte[] keyScratch;
+    private final byte[] entryScratch;
+
+    /**
+     * Initialize an empty table
+     * @param keySize int: size in bytes of every key
+     * @param valueSize int: size in bytes of every value
+     */
+    public OffHeapHashTable(int keySize, int valueSize) {
+        this(keySize, valueSize, 0);
+    }
+
+    /**
+     * Initialize an empty table with room for an expected number of entries without resizing
+     * @param keySize int: size in bytes of every key
+     * @param valueSize int: size in bytes of every value
+     * @param expectedSize int: number of entries the table is expected to hold
+     */
+    public OffHeapHashTable(int keySize, int valueSize, int expectedSize) {
+
+        if(keySize <= 0 || valueSize < 0) throw new IllegalArgumentException("Key size must be positive and value size must not be negative");
+        if((long)HASH_BYTES + keySize + valueSize > MAX_CHUNK_BYTES) throw new IllegalArgumentException("Entries must fit in " + MAX_CHUNK_BYTES + " bytes");
+        if(expectedSize < 0) throw new IllegalArgumentException("Expected size must not be negative");
+
+        this.keySize = keySize;
+        this.valueSize = valueSize;
+        entrySize = HASH_BYTES + keySize + valueSize;
+        keyScratch = new byte[keySize];
+        entryScratch = new byte[entrySize];
+
+        // Smallest power of two that keeps the expected size under the load factor
+        int initial = INITIAL_CAPACITY;
+        while(initial < MAX_CAPACITY && initial * MAX_LOAD_FACTOR < expectedSize) initial <<= 1;
+        initialCapacity = initial;
+
+        allocate(initialCapacity);
+
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Return the number of slots available at a given time (for testing only)
+     * @return int: number of slots in the table
+     */
+    public int getNumberOfBuckets() {
+        return capacity;
+    }
+
+    /**
+     * Return the off-heap memory held by the table
+     * @return long: bytes allocated outside the heap, 0 once closed
+     */
+    public long getOffHeapBytes() {
+        return chunks == null ? 0 : (long)capacity * entrySize;
+    }
+
+    /**
+     * Remove every entry and shrink back to the initial capacity
+     */
+    public void clear() {
+        ensureOpen();
+        freeChunks(chunks);
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Release the off-heap memory; every later call other than close throws IllegalStateException
+     */
+    @Override
+    public void close() {
+        if(chunks == null) return;
+        freeChunks(chunks);
+        chunks = null;
+        size = 0;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists; both are copied in
+     * @param key byte[]: key of exactly the table's key size
+     * @param value byte[]: value of exactly the table's value size
+     */
+    public void add(byte[] key, byte[] value) {
+
+        ensureOpen();
+        checkKey(key);
+        if(value == null || value.length != valueSize) throw new IllegalArgumentException("Value must be " + valueSize + " bytes");
+
+        int hash = getHashCode(key);
+
+        // If the key is already present, only replace its value
+        int slot = findSlot(key, hash);
+        if(slot >= 0) {
+            chunkOf(slot).put(offsetOf(slot) + HASH_BYTES + keySize, value);
+            return;
+        }
+
+        // Make room before inserting so probing never runs into a full table
+        if(size + 1 > resizeThreshold) resize(capacity << 1);
+
+        // Write the entry into the first empty slot from its home slot
+        slot = findEmptySlot(hash);
+        ByteBuffer chunk = chunkOf(slot);
+        int offset = offsetOf(slot);
+        chunk.putInt(offset, hash);
+        chunk.put(offset + HASH_BYTES, key);
+        chunk.put(offset + HASH_BYTES + keySize, value);
+        size++;
+
+    }
+
+    /**
+     * Return a copy of the value associated with a key
+     * @param key byte[]: key of exactly the table's key size
+     * @return byte[]: copy of the value, or null if the key is not present
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = new byte[valueSize];
+        return get(key, value) ? value : null;
+    }
+
+    /**
+     * Copy the value associated with a key into a caller's array, allocating nothing
+     * @param key byte[]: key of exactly the table's key size
+     * @param value byte[]: receives the value, at least the table's value size
+     * @return boolean: true if the key was present and its value copied
+     */
+    public boolean get(byte[] key, byte[] value) {
+
+        ensureOpen();
+        checkKey(key);
+
+        int slot = findSlot(key, getHashCode(key));
+        if(slot < 0) return false;
+
+        chunkOf(slot).get(offsetOf(slot) + HASH_BYTES + keySize, value, 0, valueSize);
+        return true;
+
+    }
+
+    /**
+     * Return whether a key is in the table
+     * @param key byte[]: key of exactly the table's key size
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(byte[] key) {
+        ensureOpen();
+        checkKey(key);
+        return findSlot(key, getHashCode(key)) >= 0;
+    }
+
+    /**
+     * Remove the entry with a particular key from the table
+     * @param key byte[]: key of exactly the table's key size
+     * @return boolean: true if an entry was removed
+     */
+    public boolean remove(byte[] key) {
+
+        ensureOpen();
+        checkKey(key);
+
+        // Look for the slot holding the key
+        int hole = findSlot(key, getHashCode(key));
+        if(hole < 0) return false;
+
+        // Pull back every following entry whose home slot is not between the hole and where it sits,
+        // so every probe sequence stays unbroken without a tombstone
+        int slot = hole;
+        while(true) {
+
+            slot = (slot + 1) & mask;
+            int hash = hashAt(slot);
+            if(hash == 0) break;
+
+            // Distances from the entry's home slot to the hole and to its current slot
+            int home = hash & mask;
+            if(((hole - home) & mask) < ((slot - home) & mask)) {
+                copyEntry(slot, hole);
+                hole = slot;
+            }
+        }
+
+        // The last hole becomes an empty slot
+        chunkOf(hole).putInt(offsetOf(hole), 0);
+
+        // Decrement the size of the table by 1 because an element was removed
+        size--;
+        return true;
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Hash a key's bytes a word at a time so the low bits used for the slot index depend on every byte, 0 is reserved for empty slots
+     * @param key byte[]: key to hash
+     * @return int: the spread, non-zero hash code
+     */
+    private int getHashCode(byte[] key) {
+
+        int h = Hashing.spread(key);
+
+        // Never hand out the empty marker
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Throw if the table has been closed
+     */
+    private void ensureOpen() {
+        if(chunks == null) throw new IllegalStateException("Table is closed");
+    }
+
+    /**
+     * Throw if a key does not have the table's key size
+     * @param key byte[]: key to check
+     */
+    private void checkKey(byte[] key) {
+        if(key == null || key.length != keySize) throw new IllegalArgumentException("Key must be " + keySize + " bytes");
+    }
+
+    /**
+     * Return the chunk holding a slot
+     * @param slot int: slot index
+     * @return ByteBuffer: chunk of the slot
+     */
+    private ByteBuffer chunkOf(int slot) {
+        return chunks[slot >>> chunkShift];
+    }
+
+    /**
+     * Return where a slot starts within its chunk
+     * @param slot int: slot index
+     * @return int: byte offset of the slot in its chunk
+     */
+    private int offsetOf(int slot) {
+        return (slot & chunkMask) * entrySize;
+    }
+
+    /**
+     * Return the stored hash of a slot
+     * @param slot int: slot index
+     * @return int: stored hash, 0 if the slot is empty
+     */
+    private int hashAt(int slot) {
+        return chunkOf(slot).getInt(offsetOf(slot));
+    }
+
+    /**
+     * Find the slot holding a key
+     * @param key byte[]: key to look for
+     * @param hash int: spread hash of the key
+     * @return int: slot index, or -1 if the key is not in the table
+     */
+    private int findSlot(byte[] key, int hash) {
+
+        int slot = hash & mask;
+
+        while(true) {
+
+            ByteBuffer chunk = chunkOf(slot);
+            int offset = offsetOf(slot);
+            int current = chunk.getInt(offset);
+
+            // Reached an empty slot, the key is not present
+            if(current == 0) return -1;
+
+            // Compare the cheap hash before the key bytes
+            if(current == hash) {
+                chunk.get(offset + HASH_BYTES, keyScratch);
+                if(Arrays.equals(keyScratch, key)) return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+    }
+
+    /**
+     * Find the first empty slot from a hash's home slot
+     * @param hash int: spread hash of a key known not to be in the table
+     * @return int: slot index
+     */
+    private int findEmptySlot(int hash) {
+        int slot = hash & mask;
+        while(hashAt(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Copy a whole entry from one slot to another
+     * @param from int: slot to copy
+     * @param to int: slot to overwrite
+     */
+    private void copyEntry(int from, int to) {
+        chunkOf(from).get(offsetOf(from), entryScratch);
+        chunkOf(to).put(offsetOf(to), entryScratch);
+    }
+
+    /**
+     * Allocate zeroed (empty) slot memory of the given capacity
+     * @param newCapacity int: number of slots, a power of two
+     */
+    private void allocate(int newCapacity) {
+
+        // Largest power of two slots that fit in one chunk
+        int slotsPerChunk = Integer.highestOneBit(MAX_CHUNK_BYTES / entrySize);
+        slotsPerChunk = Math.min(slotsPerChunk, newCapacity);
+
+        chunkShift = Integer.numberOfTrailingZeros(slotsPerChunk);
+        chunkMask = slotsPerChunk - 1;
+
+        // Direct buffers start zeroed, which is every slot empty
+        chunks = new ByteBuffer[newCapacity / slotsPerChunk];
+        for(int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(slotsPerChunk * entrySize).order(ByteOrder.nativeOrder());
+        }
+
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        size = 0;
+        resizeThreshold = (int)(newCapacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Move every entry into new slot memory of a larger capacity and release the old memory
+     * @param newCapacity int: number of slots, a power of two
+     */
+    private void resize(int newCapacity) {
+
+        if(capacity >= MAX_CAPACITY) throw new IllegalStateException("Table cannot grow past " + MAX_CAPACITY + " slots");
+
+        // Save the current slot memory
+        ByteBuffer[] oldChunks = chunks;
+        int oldShift = chunkShift;
+        int oldMask = chunkMask;
+        int oldCapacity = capacity;
+        int oldSize = size;
+
+        allocate(newCapacity);
+
+        // Copy every occupied slot into the new memory, the stored hash is reused
+        for(int slot = 0; slot < oldCapacity; slot++) {
+
+            ByteBuffer chunk = oldChunks[slot >>> oldShift];
+            int offset = (slot & oldMask) * entrySize;
+            int hash = chunk.getInt(offset);
+            if(hash == 0) continue;
+
+            chunk.get(offset, entryScratch);
+            int newSlot = findEmptySlot(hash);
+            chunkOf(newSlot).put(offsetOf(newSlot), entryScratch);
+        }
+
+        size = oldSize;
+        freeChunks(oldChunks);
+    }
+
+    /**
+     * Release the memory of direct buffers now instead of waiting for the garbage collector
+     * @param buffers ByteBuffer[]: buffers that will not be used again
+     */
+    private static void freeChunks(ByteBuffer[] buffers) {
+        for(ByteBuffer buffer: buffers) {
+            DirectBuffers.free(buffer);
+        }
+    }
+
+}
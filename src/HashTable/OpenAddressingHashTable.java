@@ -0,0 +1,309 @@
+package HashTable;
+
+import java.util.Objects;
+
+// Concepts learned from: https://programming.guide/robin-hood-hashing.html
+
+/**
+ * Open addressing alternative to the chained HashTable.
+ * Entries live in flat parallel key/value/hash arrays and are placed with Robin Hood linear probing,
+ * so lookups scan neighbouring slots instead of chasing HashNode pointers and adds never allocate a node.
+ */
+public class OpenAddressingHashTable<K, V> {
+
+    // Number of slots the table starts with (must be a power of two)
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fraction of occupied slots that triggers a resize
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Keys stored in each slot
+    private Object[] keys;
+
+    // Values stored in each slot, parallel to keys
+    private Object[] values;
+
+    // Spread hash for each slot, 0 marks an empty slot
+    private int[] hashes;
+
+    // Capacity - 1, used to turn a hash into a slot index
+    private int mask;
+
+    // Number of key/value pairs in the table
+    private int size;
+
+    // Size at which the slot arrays are doubled
+    private int resizeThreshold;
+
+    /**
+     * Initialize the slot arrays and peripheral values
+     */
+    public OpenAddressingHashTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Clears the table back to its initial capacity
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Return the number of slots available at a given time (for testing only)
+     * @return int: number of slots in the table
+     */
+    public int getNumberOfBuckets() {
+        return hashes.length;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     */
+    public void add(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        // Get the spread hash for the key
+        int hash = getHashCode(key);
+
+        // If the key is already present, only replace its value
+        int slot = findSlot(key, hash);
+        if(slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+
+        // Make room before inserting so the probe sequence never runs into a full table
+        if(size + 1 > resizeThreshold) {
+            resize(hashes.length << 1);
+        }
+
+        // Place the new entry, displacing richer entries along the way
+        insert(key, value, hash);
+        size++;
+
+    }
+
+    /**
+     * Remove the entry with a particular key from the table
+     * @param key K: key for the entry to remove
+     * @return V: value contained by the deleted entry, or null on failure
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Look for the slot holding the key
+        int slot = findSlot(key, getHashCode(key));
+
+        // If the key was not found, return null
+        if(slot < 0) return null;
+
+        // Save the value to return
+        V value = (V)values[slot];
+
+        // Shift the following displaced entries back one slot so no tombstone is needed
+        int next = (slot + 1) & mask;
+        while(hashes[next] != 0 && probeDistance(hashes[next], next) != 0) {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+
+        // The last slot in the shifted run is now empty
+        hashes[slot] = 0;
+        keys[slot] = null;
+        values[slot] = null;
+
+        // Decrement the size of the table by 1 because an element was removed
+        size--;
+
+        // Return the value of the deleted entry
+        return value;
+
+    }
+
+    /**
+     * Return the value associated with the parameterized key
+     * @param key K: key to search for in the table
+     * @return V: value associated with parameterized key, or null if it is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Look for the slot holding the key
+        int slot = findSlot(key, getHashCode(key));
+
+        // Return the value if found, otherwise null
+        return slot < 0 ? null : (V)values[slot];
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Spread the key's hash code so the low bits used for the slot index depend on every bit,
+     * 0 is reserved to mark empty slots
+     * @param key K: an object to get the hash code for
+     * @return int: the spread, non-zero hash code
+     */
+    private int getHashCode(K key) {
+
+        int h = Hashing.spread(Objects.hashCode(key));
+
+        // Never hand out the empty marker
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * How far a stored entry sits from the slot its hash prefers
+     * @param hash int: stored hash of the entry
+     * @param slot int: slot the entry currently occupies
+     * @return int: number of slots the entry has been displaced by
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - (hash & mask)) & mask;
+    }
+
+    /**
+     * Find the slot holding a key
+     * @param key K: key to look for
+     * @param hash int: spread hash of the key
+     * @return int: slot index, or -1 if the key is not in the table
+     */
+    private int findSlot(K key, int hash) {
+
+        int slot = hash & mask;
+        int distance = 0;
+
+        // Probe until an empty slot or an entry closer to home than the key would be
+        while(true) {
+
+            int current = hashes[slot];
+
+            // Reached an empty slot, the key is not present
+            if(current == 0) return -1;
+
+            // Robin Hood invariant: the key would have displaced this entry, so it is not present
+            if(probeDistance(current, slot) < distance) return -1;
+
+            // Compare the cheap hash before calling equals
+            if(current == hash && keys[slot].equals(key)) return slot;
+
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+    }
+
+    /**
+     * Insert an entry known not to be in the table, swapping it with any entry closer to its home slot
+     * @param key Object: key to insert
+     * @param value Object: value to insert
+     * @param hash int: spread hash of the key
+     */
+    private void insert(Object key, Object value, int hash) {
+
+        int slot = hash & mask;
+        int distance = 0;
+
+        while(true) {
+
+            int current = hashes[slot];
+
+            // Found an empty slot, place the carried entry here
+            if(current == 0) {
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                return;
+            }
+
+            // Take the slot from a richer entry and carry that entry forward instead
+            int currentDistance = probeDistance(current, slot);
+            if(currentDistance < distance) {
+
+                Object displacedKey = keys[slot];
+                Object displacedValue = values[slot];
+
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+
+                hash = current;
+                key = displacedKey;
+                value = displacedValue;
+                distance = currentDistance;
+            }
+
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+    }
+
+    /**
+     * Create empty slot arrays of the given capacity
+     * @param capacity int: number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeThreshold = (int)(capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Move every entry into slot arrays of a new capacity
+     * @param newCapacity int: number of slots, a power of two
+     */
+    private void resize(int newCapacity) {
+
+        // Save the current slot arrays
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldSize = size;
+
+        allocate(newCapacity);
+
+        // Re-insert every occupied slot, the stored hash is reused
+        for(int i = 0; i < oldHashes.length; i++) {
+            if(oldHashes[i] != 0) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+
+        size = oldSize;
+    }
+
+}
@@ -0,0 +1,657 @@
+package HashTable;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// Concepts learned from: Bagwell, "Ideal Hash Trees", and Clojure's PersistentHashMap
+
+/**
+ * Persistent map built as a hash array mapped trie (HAMT). Every version is immutable: add and remove return a new
+ * version that shares all untouched nodes with the old one, copying only the path from the root to the change, so
+ * keeping a snapshot costs nothing and readers never need a lock. Versions can be handed to other threads freely,
+ * a trie only holds final references to nodes that are complete before it is created.
+ * Each level of the trie consumes 5 bits of the spread hash code. A node keeps a 32-bit bitmap of which of its
+ * 32 positions are in use and an array holding only those positions, each either a key/value pair or a child node.
+ * Keys whose whole hash codes are equal share a collision node.
+ * For bulk loading, asTransient() returns a batch editor that changes the nodes it created itself in place
+ * instead of copying them, and persistent() ends the batch and returns the result as a new version.
+ */
+public class PersistentHashTrie<K, V> {
+
+    // Bits of the hash code consumed by each level of the trie
+    private static final int BITS_PER_LEVEL = 5;
+
+    // Mask selecting a level's bits
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+    // Spare pairs a node created by a transient gets, so later inserts into it do not copy the array
+    private static final int TRANSIENT_SPARE_PAIRS = 4;
+
+    // Root node, null if the trie is empty
+    private final Node root;
+
+    // Number of key/value pairs in the trie
+    private final int size;
+
+    /**
+     * Initialize an empty trie
+     */
+    public PersistentHashTrie() {
+        this(null, 0);
+    }
+
+    /**
+     * Wrap a root node as a version
+     * @param root Node: root node, null for an empty trie
+     * @param size int: number of key/value pairs under the root
+     */
+    private PersistentHashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return the number of elements contained in the trie
+     * @return int: number of elements in the trie
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the trie
+     * @return boolean: whether or not the trie is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Return the value associated with the parameterized key
+     * @param key K: key to search for in the trie
+     * @return V: value associated with parameterized key, or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if(key == null || root == null) return null;
+        return (V)root.find(0, getHashCode(key), key);
+    }
+
+    /**
+     * Return whether a key is in the trie
+     * @param key K: key to search for
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(K key) {
+
+        // Values are never null, so a found value means a present key
+        return get(key) != null;
+    }
+
+    /**
+     * Return a version with a key/value pair added, replacing the value if the key already exists; this version is unchanged
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     * @return PersistentHashTrie<K, V>: new version, or this version if nothing changed
+     */
+    public PersistentHashTrie<K, V> add(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return this;
+
+        Change change = new Change();
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).assoc(null, 0, getHashCode(key), key, value, change);
+
+        if(newRoot == root) return this;
+        return new PersistentHashTrie<>(newRoot, size + change.sizeDelta);
+    }
+
+    /**
+     * Return a version without a key; this version is unchanged
+     * @param key K: key to remove
+     * @return PersistentHashTrie<K, V>: new version, or this version if the key was not present
+     */
+    public PersistentHashTrie<K, V> remove(K key) {
+
+        if(key == null || root == null) return this;
+
+        Change change = new Change();
+        Node newRoot = root.without(null, 0, getHashCode(key), key, change);
+
+        if(change.sizeDelta == 0) return this;
+        return new PersistentHashTrie<>(newRoot, size - 1);
+    }
+
+    /**
+     * Call an action on every key/value pair, in no particular order
+     * @param action BiConsumer<? super K, ? super V>: action to perform on each pair
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+
+        // Nodes hold keys and values as Objects, which are all K and V
+        if(root != null) root.forEach((BiConsumer<Object, Object>)action);
+    }
+
+    /**
+     * Return a batch editor that starts from this version; this version is unchanged by the editor
+     * @return Transient<K, V>: editor for bulk changes
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    /**
+     * Batch editor of a trie for bulk loading. Nodes the editor creates are changed in place by later edits instead of
+     * being copied, while nodes shared with earlier versions are still copied on write.
+     * Not thread safe, and unusable once persistent() has been called
+     */
+    public static final class Transient<K, V> {
+
+        // Marks the nodes this editor created and may change in place, null once the editor is finished
+        private Object owner = new Object();
+
+        // Root node being edited, null if empty
+        private Node root;
+
+        // Number of key/value pairs under the root
+        private int size;
+
+        /**
+         * Start editing from a root node
+         * @param root Node: root node of the version being edited
+         * @param size int: number of key/value pairs under the root
+         */
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Return the number of elements in the trie being edited
+         * @return int: number of elements
+         */
+        public int getSize() {
+            ensureEditable();
+            return size;
+        }
+
+        /**
+         * Return the value associated with a key in the trie being edited
+         * @param key K: key to search for
+         * @return V: value associated with the key, or null if the key is not present
+         */
+        @SuppressWarnings("unchecked")
+        public V get(K key) {
+            ensureEditable();
+            if(key == null || root == null) return null;
+            return (V)root.find(0, getHashCode(key), key);
+        }
+
+        /**
+         * Return whether a key is in the trie being edited
+         * @param key K: key to search for
+         * @return boolean: true if the key is present
+         */
+        public boolean containsKey(K key) {
+            return get(key) != null;
+        }
+
+        /**
+         * Add a key/value pair, replacing the value if the key already exists
+         * @param key K: key to add
+         * @param value V: value to add and associate with the key
+         */
+        public void add(K key, V value) {
+
+            ensureEditable();
+
+            // Do not permit null keys or values
+            if(key == null || value == null) return;
+
+            Change change = new Change();
+            root = (root == null ? BitmapNode.EMPTY : root).assoc(owner, 0, getHashCode(key), key, value, change);
+            size += change.sizeDelta;
+        }
+
+        /**
+         * Remove the entry with a particular key
+         * @param key K: key to remove
+         * @return V: value that was associated with the key, or null if the key was not present
+         */
+        @SuppressWarnings("unchecked")
+        public V remove(K key) {
+
+            ensureEditable();
+            if(key == null || root == null) return null;
+
+            Change change = new Change();
+            root = root.without(owner, 0, getHashCode(key), key, change);
+            size += change.sizeDelta;
+            return (V)change.removedValue;
+        }
+
+        /**
+         * Finish editing and return the result as an immutable version
+         * @return PersistentHashTrie<K, V>: the edited trie
+         */
+        public PersistentHashTrie<K, V> persistent() {
+
+            ensureEditable();
+
+            // No node may be changed in place after this
+            owner = null;
+            return new PersistentHashTrie<>(root, size);
+        }
+
+        /**
+         * Throw if persistent() has already been called
+         */
+        private void ensureEditable() {
+            if(owner == null) throw new IllegalStateException("Transient used after persistent()");
+        }
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Get the spread hash code of a key
+     * @param key Object: non-null key
+     * @return int: hash code whose every bit depends on every bit of the key's hash code
+     */
+    private static int getHashCode(Object key) {
+        return Hashing.spread(key.hashCode());
+    }
+
+    /**
+     * Position of a hash code among a node's 32 positions, as a single bitmap bit
+     * @param hash int: spread hash code
+     * @param shift int: bits consumed by the levels above the node
+     * @return int: bitmap bit of the position
+     */
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    /**
+     * Size change and removed value reported by an edit
+     */
+    private static final class Change {
+
+        // +1 if a key was added, -1 if one was removed
+        int sizeDelta;
+
+        // Value of the removed key
+        Object removedValue;
+    }
+
+    /**
+     * Node of the trie; edits return the node to use in its place, which is the node itself if it was changed in place
+     * or nothing changed
+     */
+    private abstract static class Node {
+
+        /**
+         * Return the value of a key under this node
+         * @param shift int: bits consumed by the levels above this node
+         * @param hash int: spread hash code of the key
+         * @param key Object: key to search for
+         * @return Object: value of the key, or null if not present
+         */
+        abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * Add or replace a key/value pair under this node
+         * @param owner Object: editor allowed to change its own nodes in place, null for a persistent edit
+         * @param shift int: bits consumed by the levels above this node
+         * @param hash int: spread hash code of the key
+         * @param key Object: key to add
+         * @param value Object: value to associate with the key
+         * @param change Change: receives +1 if the key was new
+         * @return Node: node to use in place of this one
+         */
+        abstract Node assoc(Object owner, int shift, int hash, Object key, Object value, Change change);
+
+        /**
+         * Remove a key under this node
+         * @param owner Object: editor allowed to change its own nodes in place, null for a persistent edit
+         * @param shift int: bits consumed by the levels above this node
+         * @param hash int: spread hash code of the key
+         * @param key Object: key to remove
+         * @param change Change: receives -1 and the removed value if the key was present
+         * @return Node: node to use in place of this one, null if it is now empty
+         */
+        abstract Node without(Object owner, int shift, int hash, Object key, Change change);
+
+        /**
+         * Call an action on every key/value pair under this node
+         * @param action BiConsumer<Object, Object>: action to perform
+         */
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Node with up to 32 positions; array holds two entries per used position, a key and its value,
+     * or null and a child node
+     */
+    private static final class BitmapNode extends Node {
+
+        // Shared empty node edits start from
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        // Editor that created this node, null if the node can never change
+        final Object owner;
+
+        // Used positions
+        int bitmap;
+
+        // Pairs of the used positions in position order, possibly followed by spare room if created by an editor
+        Object[] array;
+
+        BitmapNode(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        /**
+         * Return the pair index of a used position
+         * @param bit int: bitmap bit of the position
+         * @return int: number of used positions before it
+         */
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+
+            int bit = bitFor(hash, shift);
+            if((bitmap & bit) == 0) return null;
+
+            int i = index(bit);
+            Object storedKey = array[2 * i];
+            Object storedValue = array[2 * i + 1];
+
+            // Descend into a child, or compare the key stored here
+            if(storedKey == null) return ((Node)storedValue).find(shift + BITS_PER_LEVEL, hash, key);
+            return key.equals(storedKey) ? storedValue : null;
+        }
+
+        @Override
+        Node assoc(Object owner, int shift, int hash, Object key, Object value, Change change) {
+
+            int bit = bitFor(hash, shift);
+            int i = index(bit);
+
+            // Position free: insert a pair
+            if((bitmap & bit) == 0) {
+
+                change.sizeDelta = 1;
+                int used = Integer.bitCount(bitmap);
+
+                // An editor's own node with spare room takes the pair in place
+                if(isEditable(owner) && array.length > 2 * used) {
+                    System.arraycopy(array, 2 * i, array, 2 * i + 2, 2 * (used - i));
+                    array[2 * i] = key;
+                    array[2 * i + 1] = value;
+                    bitmap |= bit;
+                    return this;
+                }
+
+                int capacity = owner == null ? used + 1 : Math.min(used + 1 + TRANSIENT_SPARE_PAIRS, 1 << BITS_PER_LEVEL);
+                Object[] newArray = new Object[2 * capacity];
+                System.arraycopy(array, 0, newArray, 0, 2 * i);
+                newArray[2 * i] = key;
+                newArray[2 * i + 1] = value;
+                System.arraycopy(array, 2 * i, newArray, 2 * i + 2, 2 * (used - i));
+                return new BitmapNode(owner, bitmap | bit, newArray);
+            }
+
+            Object storedKey = array[2 * i];
+            Object storedValue = array[2 * i + 1];
+
+            // Position holds a child: edit it
+            if(storedKey == null) {
+                Node child = (Node)storedValue;
+                Node newChild = child.assoc(owner, shift + BITS_PER_LEVEL, hash, key, value, change);
+                if(newChild == child) return this;
+                return withEntry(owner, 2 * i + 1, newChild);
+            }
+
+            // Same key: replace the value
+            if(key.equals(storedKey)) {
+                if(storedValue == value) return this;
+                return withEntry(owner, 2 * i + 1, value);
+            }
+
+            // Different key at the same position: push both down into a new child
+            change.sizeDelta = 1;
+            Node child = createChild(owner, shift + BITS_PER_LEVEL, storedKey, storedValue, hash, key, value);
+            BitmapNode edited = (BitmapNode)withEntry(owner, 2 * i, null);
+            edited.array[2 * i + 1] = child;
+            return edited;
+        }
+
+        @Override
+        Node without(Object owner, int shift, int hash, Object key, Change change) {
+
+            int bit = bitFor(hash, shift);
+            if((bitmap & bit) == 0) return this;
+
+            int i = index(bit);
+            Object storedKey = array[2 * i];
+            Object storedValue = array[2 * i + 1];
+
+            // Position holds a child: edit it, and drop the position if the child emptied
+            if(storedKey == null) {
+                Node child = (Node)storedValue;
+                Node newChild = child.without(owner, shift + BITS_PER_LEVEL, hash, key, change);
+                if(newChild == child) return this;
+                if(newChild != null) return withEntry(owner, 2 * i + 1, newChild);
+                return withoutPosition(owner, bit, i);
+            }
+
+            // Key stored here
+            if(key.equals(storedKey)) {
+                change.sizeDelta = -1;
+                change.removedValue = storedValue;
+                return withoutPosition(owner, bit, i);
+            }
+
+            return this;
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            int used = Integer.bitCount(bitmap);
+            for(int i = 0; i < used; i++) {
+                if(array[2 * i] == null) ((Node)array[2 * i + 1]).forEach(action);
+                else action.accept(array[2 * i], array[2 * i + 1]);
+            }
+        }
+
+        /**
+         * Return whether an editor may change this node in place
+         * @param owner Object: editor making the change, null for a persistent edit
+         * @return boolean: true if the editor created this node
+         */
+        private boolean isEditable(Object owner) {
+            return owner != null && owner == this.owner;
+        }
+
+        /**
+         * Set one array entry, in place if the editor owns this node or in a copy otherwise
+         * @param owner Object: editor making the change, null for a persistent edit
+         * @param index int: array index to set
+         * @param entry Object: new entry
+         * @return Node: this node or the copy
+         */
+        private Node withEntry(Object owner, int index, Object entry) {
+
+            if(isEditable(owner)) {
+                array[index] = entry;
+                return this;
+            }
+
+            BitmapNode copy = new BitmapNode(owner, bitmap, array.clone());
+            copy.array[index] = entry;
+            return copy;
+        }
+
+        /**
+         * Drop a used position, in place if the editor owns this node or in a copy otherwise
+         * @param owner Object: editor making the change, null for a persistent edit
+         * @param bit int: bitmap bit of the position
+         * @param i int: pair index of the position
+         * @return Node: node without the position, null if it was the last one
+         */
+        private Node withoutPosition(Object owner, int bit, int i) {
+
+            if(bitmap == bit) return null;
+            int used = Integer.bitCount(bitmap);
+
+            if(isEditable(owner)) {
+                System.arraycopy(array, 2 * i + 2, array, 2 * i, 2 * (used - i - 1));
+                array[2 * used - 2] = null;
+                array[2 * used - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+
+            Object[] newArray = new Object[2 * (used - 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * i);
+            System.arraycopy(array, 2 * i + 2, newArray, 2 * i, 2 * (used - i - 1));
+            return new BitmapNode(owner, bitmap ^ bit, newArray);
+        }
+
+        /**
+         * Create the child holding two keys that shared a position
+         * @param owner Object: editor making the change, null for a persistent edit
+         * @param shift int: bits consumed by the levels above the child
+         * @param key1 Object: key already stored
+         * @param value1 Object: its value
+         * @param hash2 int: spread hash code of the new key
+         * @param key2 Object: new key
+         * @param value2 Object: its value
+         * @return Node: child holding both pairs
+         */
+        private static Node createChild(Object owner, int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+
+            int hash1 = getHashCode(key1);
+
+            // No level can tell equal hash codes apart
+            if(hash1 == hash2) return new CollisionNode(owner, hash1, new Object[] {key1, value1, key2, value2});
+
+            Change ignored = new Change();
+            return EMPTY.assoc(owner, shift, hash1, key1, value1, ignored).assoc(owner, shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * Node holding every pair whose keys have one particular spread hash code
+     */
+    private static final class CollisionNode extends Node {
+
+        // Editor that created this node, null if the node can never change
+        final Object owner;
+
+        // Hash code shared by every key in the node
+        final int hash;
+
+        // Key/value pairs
+        Object[] array;
+
+        CollisionNode(Object owner, int hash, Object[] array) {
+            this.owner = owner;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        /**
+         * Return the array index of a key
+         * @param key Object: key to look for
+         * @return int: index of the key, or -1 if not present
+         */
+        private int indexOf(Object key) {
+            for(int i = 0; i < array.length; i += 2) {
+                if(key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if(hash != this.hash) return null;
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object owner, int shift, int hash, Object key, Object value, Change change) {
+
+            // A different hash code: put this node under a bitmap node so the two can be told apart deeper down
+            if(hash != this.hash) {
+                BitmapNode parent = new BitmapNode(owner, bitFor(this.hash, shift), new Object[] {null, this});
+                return parent.assoc(owner, shift, hash, key, value, change);
+            }
+
+            // Same key: replace the value
+            int i = indexOf(key);
+            if(i >= 0) {
+                if(array[i + 1] == value) return this;
+                if(owner != null && owner == this.owner) {
+                    array[i + 1] = value;
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[i + 1] = value;
+                return new CollisionNode(owner, hash, newArray);
+            }
+
+            // New key: append the pair
+            change.sizeDelta = 1;
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if(owner != null && owner == this.owner) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newArray);
+        }
+
+        @Override
+        Node without(Object owner, int shift, int hash, Object key, Change change) {
+
+            if(hash != this.hash) return this;
+            int i = indexOf(key);
+            if(i < 0) return this;
+
+            change.sizeDelta = -1;
+            change.removedValue = array[i + 1];
+            if(array.length == 2) return null;
+
+            // Move the last pair into the gap
+            Object[] newArray = Arrays.copyOf(array, array.length - 2);
+            if(i < newArray.length) {
+                newArray[i] = array[array.length - 2];
+                newArray[i + 1] = array[array.length - 1];
+            }
+            if(owner != null && owner == this.owner) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for(int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+
+}
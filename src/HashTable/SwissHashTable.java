@@ -0,0 +1,414 @@
+package HashTable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Concepts learned from: https://abseil.io/about/design/swisstables and the SWAR group matching of hashbrown
+
+/**
+ * Open addressing alternative to the chained HashTable in the style of Abseil's SwissTable.
+ * Slots are split into groups of 8, and each slot has a control byte holding either 7 bits of its key's hash or an
+ * empty/deleted marker. A group's 8 control bytes are packed into one long, so a lookup compares its 7 hash bits against
+ * a whole group at once with a few bit operations (SWAR) and only calls equals on the slots that match.
+ * A lookup for an absent key almost never touches a key at all, it stops at the first group with an empty slot.
+ * Removed entries leave a deleted marker (tombstone) unless their group still has an empty slot, and tombstones are
+ * cleared whenever the table is rebuilt.
+ */
+public class SwissHashTable<K, V> {
+
+    // Slots per group, one control byte each packed into a long
+    private static final int GROUP_WIDTH = 8;
+
+    // Number of slots the table starts with (a power of two, at least one group)
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Control byte of a slot that has never held an entry since the table was built
+    private static final int EMPTY = 0x80;
+
+    // Control byte of a slot whose entry was removed
+    private static final int DELETED = 0xFE;
+
+    // The lowest and highest bit of every byte in a long
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    // A group of empty slots
+    private static final long EMPTY_GROUP = LSBS * EMPTY;
+
+    // Control bytes, one long per group of 8 slots; full slots hold the low 7 bits of the spread hash
+    private long[] control;
+
+    // Key of slot i at 2i and its value at 2i + 1, so a hit reads both from the same cache line
+    private Object[] slots;
+
+    // Number of slots
+    private int capacity;
+
+    // Group count - 1, used to turn a hash into a group index
+    private int groupMask;
+
+    // Number of key/value pairs in the table
+    private int size;
+
+    // Number of empty slots that can still be filled before the table must be rebuilt (7/8 of the slots may be non-empty)
+    private int growthLeft;
+
+    /**
+     * Initialize the slot arrays and peripheral values
+     */
+    public SwissHashTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Return the number of elements contained in the table
+     * @return int: number of elements in the table
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return whether or not there is an element placed in the table
+     * @return boolean: whether or not the table is empty
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Clears the table back to its initial capacity
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Return the number of slots available at a given time (for testing only)
+     * @return int: number of slots in the table
+     */
+    public int getNumberOfBuckets() {
+        return capacity;
+    }
+
+    /**
+     * Add a key/value pair to the table, replacing the value if the key already exists
+     * @param key K: key to add
+     * @param value V: value to add and associate with the key
+     */
+    public void add(K key, V value) {
+
+        // Do not permit null keys or values
+        if(key == null || value == null) return;
+
+        int hash = getHashCode(key);
+
+        // One probe finds either the key or the slot a new entry should take
+        int slot = findOrPrepareInsert(key, hash);
+        if(slot >= 0) {
+            slots[2 * slot + 1] = value;
+            return;
+        }
+        slot = -slot - 1;
+
+        // Filling an empty slot uses up growth, rebuild first if there is none left
+        if(controlByte(slot) == EMPTY && growthLeft == 0) {
+            rebuild();
+            slot = findInsertSlot(hash);
+        }
+
+        if(controlByte(slot) == EMPTY) growthLeft--;
+        setControlByte(slot, h2(hash));
+        slots[2 * slot] = key;
+        slots[2 * slot + 1] = value;
+        size++;
+
+    }
+
+    /**
+     * Remove the entry with a particular key from the table
+     * @param key K: key for the entry to remove
+     * @return V: value contained by the deleted entry, or null on failure
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Look for the slot holding the key
+        int slot = findSlot(key, getHashCode(key));
+
+        // If the key was not found, return null
+        if(slot < 0) return null;
+
+        // Save the value to return
+        V value = (V)slots[2 * slot + 1];
+        slots[2 * slot] = null;
+        slots[2 * slot + 1] = null;
+
+        // Lookups stop at a group with an empty slot, so no probe sequence passes through such a group
+        // and the slot can go back to empty; otherwise leave a tombstone so later groups stay reachable
+        if(matchEmpty(control[slot / GROUP_WIDTH]) != 0) {
+            setControlByte(slot, EMPTY);
+            growthLeft++;
+        }
+        else setControlByte(slot, DELETED);
+
+        // Decrement the size of the table by 1 because an element was removed
+        size--;
+
+        // Return the value of the deleted entry
+        return value;
+
+    }
+
+    /**
+     * Return the value associated with the parameterized key
+     * @param key K: key to search for in the table
+     * @return V: value associated with parameterized key, or null if it is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+
+        // Null keys are never stored
+        if(key == null) return null;
+
+        // Look for the slot holding the key
+        int slot = findSlot(key, getHashCode(key));
+
+        // Return the value if found, otherwise null
+        return slot < 0 ? null : (V)slots[2 * slot + 1];
+
+    }
+
+    /**
+     * Return whether a key is in the table
+     * @param key K: key to search for in the table
+     * @return boolean: true if the key is present
+     */
+    public boolean containsKey(K key) {
+        return key != null && findSlot(key, getHashCode(key)) >= 0;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Spread the key's hash code so both the group index (high bits) and the control byte (low 7 bits) depend on every bit
+     * @param key K: an object to get the hash code for
+     * @return int: the spread hash code
+     */
+    private int getHashCode(K key) {
+        return Hashing.spread(Objects.hashCode(key));
+    }
+
+    /**
+     * Return the 7 hash bits stored in a full slot's control byte
+     * @param hash int: spread hash code
+     * @return int: low 7 bits of the hash
+     */
+    private static int h2(int hash) {
+        return hash & 0x7F;
+    }
+
+    /**
+     * Return the group a hash starts probing at
+     * @param hash int: spread hash code
+     * @return int: index of the first group of the probe sequence
+     */
+    private int h1(int hash) {
+        return (hash >>> 7) & groupMask;
+    }
+
+    /**
+     * Return the bytes of a group equal to a value: the high bit of each matching byte is set.
+     * A byte just above a true match can also be reported, so callers confirm matches with equals
+     * @param group long: 8 packed control bytes
+     * @param h2 int: 7 bit value to look for
+     * @return long: mask with the high bit of each matching byte set
+     */
+    private static long matchH2(long group, int h2) {
+        long x = group ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Return the empty bytes of a group: high bit set and the bit below it clear
+     * @param group long: 8 packed control bytes
+     * @return long: mask with the high bit of each empty byte set
+     */
+    private static long matchEmpty(long group) {
+        return group & ~(group << 1) & MSBS;
+    }
+
+    /**
+     * Return the empty or deleted bytes of a group: every byte with its high bit set
+     * @param group long: 8 packed control bytes
+     * @return long: mask with the high bit of each empty or deleted byte set
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        return group & MSBS;
+    }
+
+    /**
+     * Return the position within its group of the lowest byte set in a match mask
+     * @param match long: non-zero match mask
+     * @return int: byte position from 0 to 7
+     */
+    private static int lowestByte(long match) {
+        return Long.numberOfTrailingZeros(match) >>> 3;
+    }
+
+    /**
+     * Find the slot holding a key
+     * @param key K: key to look for
+     * @param hash int: spread hash of the key
+     * @return int: slot index, or -1 if the key is not in the table
+     */
+    private int findSlot(K key, int hash) {
+
+        int h2 = h2(hash);
+        int group = h1(hash);
+
+        // Triangular probing over a power of two group count visits every group
+        for(int step = 1; ; step++) {
+
+            long controlGroup = control[group];
+
+            // Only slots whose 7 hash bits match are compared
+            for(long match = matchH2(controlGroup, h2); match != 0; match &= match - 1) {
+                int slot = group * GROUP_WIDTH + lowestByte(match);
+                if(key.equals(slots[2 * slot])) return slot;
+            }
+
+            // A group with an empty slot ends every probe sequence that reaches it
+            if(matchEmpty(controlGroup) != 0) return -1;
+
+            group = (group + step) & groupMask;
+        }
+
+    }
+
+    /**
+     * Find the slot holding a key, or else the first empty or deleted slot of its probe sequence, in a single probe
+     * @param key K: key to look for
+     * @param hash int: spread hash of the key
+     * @return int: slot index if the key is present, otherwise -(slot to insert at) - 1
+     */
+    private int findOrPrepareInsert(K key, int hash) {
+
+        int h2 = h2(hash);
+        int group = h1(hash);
+        int insertSlot = -1;
+
+        for(int step = 1; ; step++) {
+
+            long controlGroup = control[group];
+
+            for(long match = matchH2(controlGroup, h2); match != 0; match &= match - 1) {
+                int slot = group * GROUP_WIDTH + lowestByte(match);
+                if(key.equals(slots[2 * slot])) return slot;
+            }
+
+            // Remember the first free slot on the way, a tombstone can be reused
+            long free = matchEmptyOrDeleted(controlGroup);
+            if(insertSlot < 0 && free != 0) insertSlot = group * GROUP_WIDTH + lowestByte(free);
+
+            // The key is absent once a group with an empty slot is reached
+            if(matchEmpty(controlGroup) != 0) return -insertSlot - 1;
+
+            group = (group + step) & groupMask;
+        }
+
+    }
+
+    /**
+     * Find the first empty or deleted slot of a hash's probe sequence
+     * @param hash int: spread hash of a key known not to be in the table
+     * @return int: slot index
+     */
+    private int findInsertSlot(int hash) {
+
+        int group = h1(hash);
+
+        for(int step = 1; ; step++) {
+            long free = matchEmptyOrDeleted(control[group]);
+            if(free != 0) return group * GROUP_WIDTH + lowestByte(free);
+            group = (group + step) & groupMask;
+        }
+
+    }
+
+    /**
+     * Return the control byte of a slot
+     * @param slot int: slot index
+     * @return int: control byte from 0 to 255
+     */
+    private int controlByte(int slot) {
+        return (int)(control[slot / GROUP_WIDTH] >>> ((slot % GROUP_WIDTH) * 8)) & 0xFF;
+    }
+
+    /**
+     * Set the control byte of a slot
+     * @param slot int: slot index
+     * @param value int: control byte from 0 to 255
+     */
+    private void setControlByte(int slot, int value) {
+        int shift = (slot % GROUP_WIDTH) * 8;
+        int group = slot / GROUP_WIDTH;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((long)value << shift);
+    }
+
+    /**
+     * Create empty slot arrays of the given capacity
+     * @param capacity int: number of slots, a power of two of at least one group
+     */
+    private void allocate(int capacity) {
+
+        int groups = capacity / GROUP_WIDTH;
+        control = new long[groups];
+        Arrays.fill(control, EMPTY_GROUP);
+
+        slots = new Object[2 * capacity];
+        this.capacity = capacity;
+        groupMask = groups - 1;
+        size = 0;
+
+        // 7/8 of the slots may be filled
+        growthLeft = capacity - capacity / 8;
+    }
+
+    /**
+     * Rebuild the table once no growth is left, dropping every tombstone.
+     * The capacity doubles unless tombstones were using up most of the growth, in which case it stays the same
+     */
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+
+        // Save the current slot arrays
+        long[] oldControl = control;
+        Object[] oldSlots = slots;
+        int oldCapacity = capacity;
+        int oldSize = size;
+
+        // Stay the same size if at most half of the allowed load is live entries
+        int newCapacity = size + 1 > (capacity - capacity / 8) / 2 ? capacity << 1 : capacity;
+        allocate(newCapacity);
+
+        // Re-insert every full slot, nothing is equal so only a free slot is searched for
+        for(int slot = 0; slot < oldCapacity; slot++) {
+            int controlByte = (int)(oldControl[slot / GROUP_WIDTH] >>> ((slot % GROUP_WIDTH) * 8)) & 0xFF;
+            if(controlByte >= EMPTY) continue;
+
+            int hash = getHashCode((K)oldSlots[2 * slot]);
+            int newSlot = findInsertSlot(hash);
+            setControlByte(newSlot, h2(hash));
+            slots[2 * newSlot] = oldSlots[2 * slot];
+            slots[2 * newSlot + 1] = oldSlots[2 * slot + 1];
+            growthLeft--;
+        }
+
+        size = oldSize;
+    }
+
+}
@@ -0,0 +1,243 @@
+package HashTable;
+
+import java.util.function.Consumer;
+
+// Concepts learned from: http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf and the timer wheel in Caffeine
+
+/**
+ * Hierarchical timing wheel that tracks when table entries expire.
+ * Each of the five levels has 64 buckets; a level-0 bucket spans about a millisecond and each level's bucket
+ * spans a whole rotation of the level below (about 67ms, 4.3s, 4.6 minutes and 4.9 hours).
+ * Scheduling and cancelling are O(1), and advancing the clock only visits the buckets whose time has come,
+ * re-filing timers from coarse buckets into finer ones as their deadline approaches.
+ */
+class TimerWheel<K> {
+
+    // Buckets per level
+    private static final int BUCKETS = 64;
+
+    // Log2 of the nanoseconds spanned by one bucket at each level
+    private static final int[] SHIFTS = {20, 26, 32, 38, 44};
+
+    // Sentinel heading the circular list of each bucket
+    private final Timer<K>[][] wheel;
+
+    // Ticker time the wheel was created at; bucket positions use time since then so they never go negative
+    private final long origin;
+
+    // Time the wheel has been advanced to, relative to the origin
+    private long currentTime;
+
+    // Number of scheduled timers
+    private int count;
+
+    /**
+     * Expiration deadline of one table entry, linked into a wheel bucket
+     */
+    static final class Timer<K> {
+
+        // Key and hash code of the entry, used to find it again when the timer fires
+        final K key;
+        final int hashCode;
+
+        // Absolute expiry time in ticker nanoseconds
+        long deadline;
+
+        // Bucket list links, null while the timer is not scheduled
+        Timer<K> prev;
+        Timer<K> next;
+
+        Timer(K key, int hashCode, long deadline) {
+            this.key = key;
+            this.hashCode = hashCode;
+            this.deadline = deadline;
+        }
+
+    }
+
+    /**
+     * Create an empty wheel
+     * @param now long: current ticker time in nanoseconds
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long now) {
+
+        origin = now;
+        currentTime = 0;
+        wheel = (Timer<K>[][]) new Timer[SHIFTS.length][BUCKETS];
+
+        // Every bucket starts as a sentinel linked to itself
+        for(int level = 0; level < SHIFTS.length; level++) {
+            for(int bucket = 0; bucket < BUCKETS; bucket++) {
+                Timer<K> sentinel = new Timer<>(null, 0, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheel[level][bucket] = sentinel;
+            }
+        }
+
+    }
+
+    /**
+     * Return the number of scheduled timers
+     * @return int: number of timers
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Schedule a timer that is not currently scheduled
+     * @param timer Timer<K>: timer with its deadline set
+     */
+    void schedule(Timer<K> timer) {
+        link(bucketFor(timer.deadline), timer);
+        count++;
+    }
+
+    /**
+     * Move a scheduled timer to a new deadline
+     * @param timer Timer<K>: scheduled timer
+     * @param deadline long: new absolute expiry time
+     */
+    void reschedule(Timer<K> timer, long deadline) {
+        cancel(timer);
+        timer.deadline = deadline;
+        schedule(timer);
+    }
+
+    /**
+     * Remove a timer from the wheel, doing nothing if it is not scheduled
+     * @param timer Timer<K>: timer to remove
+     */
+    void cancel(Timer<K> timer) {
+        if(timer.prev == null) return;
+        unlink(timer);
+        count--;
+    }
+
+    /**
+     * Advance the clock, handing every timer whose deadline has passed to a callback
+     * @param now long: current ticker time in nanoseconds
+     * @param onExpire Consumer<Timer<K>>: called with each expired timer after it has been removed from the wheel
+     */
+    void advance(long now, Consumer<Timer<K>> onExpire) {
+
+        long previous = currentTime;
+        long elapsed = now - origin;
+
+        // Never move backwards
+        if(elapsed <= previous) return;
+        currentTime = elapsed;
+
+        for(int level = 0; level < SHIFTS.length; level++) {
+
+            long previousTicks = previous >>> SHIFTS[level];
+            long currentTicks = elapsed >>> SHIFTS[level];
+
+            // Coarser levels cannot have moved if this one has not
+            if(currentTicks == previousTicks) break;
+
+            // Visit each bucket passed over, at most one full rotation
+            long steps = Math.min(currentTicks - previousTicks, BUCKETS);
+            for(long i = 1; i <= steps; i++) {
+                expireBucket(wheel[level][(int)((previousTicks + i) & (BUCKETS - 1))], now, onExpire);
+            }
+        }
+
+    }
+
+    /**
+     * Drop every timer
+     */
+    void clear() {
+        for(Timer<K>[] level: wheel) {
+            for(Timer<K> sentinel: level) {
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+        count = 0;
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Fire the due timers of one bucket and re-file the rest at a finer level
+     * @param sentinel Timer<K>: sentinel of the bucket
+     * @param now long: current time
+     * @param onExpire Consumer<Timer<K>>: called with each expired timer
+     */
+    private void expireBucket(Timer<K> sentinel, long now, Consumer<Timer<K>> onExpire) {
+
+        // Detach the whole bucket first so re-filed timers are not visited again
+        Timer<K> timer = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+
+        while(timer != sentinel) {
+
+            Timer<K> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            count--;
+
+            if(timer.deadline - now <= 0) onExpire.accept(timer);
+            else schedule(timer);
+
+            timer = next;
+        }
+
+    }
+
+    /**
+     * Select the bucket for a deadline: the finest level whose rotation covers the remaining time
+     * @param deadline long: absolute expiry time
+     * @return Timer<K>: sentinel of the bucket
+     */
+    private Timer<K> bucketFor(long deadline) {
+
+        // Work in time since the origin
+        deadline = Math.max(deadline - origin, 0);
+        long delay = deadline - currentTime;
+
+        for(int level = 0; level < SHIFTS.length; level++) {
+            if(delay < ((long)BUCKETS << SHIFTS[level])) {
+
+                // A deadline inside the current tick goes in the next bucket, the current one is only visited after a full rotation
+                long ticks = Math.max(deadline >>> SHIFTS[level], (currentTime >>> SHIFTS[level]) + 1);
+                return wheel[level][(int)(ticks & (BUCKETS - 1))];
+            }
+        }
+
+        // Further out than the coarsest rotation: park in the coarsest level's furthest bucket and re-file when it comes around
+        int last = SHIFTS.length - 1;
+        long ticks = (currentTime >>> SHIFTS[last]) + BUCKETS - 1;
+        return wheel[last][(int)(ticks & (BUCKETS - 1))];
+
+    }
+
+    /**
+     * Link a timer at the end of a bucket
+     * @param sentinel Timer<K>: sentinel of the bucket
+     * @param timer Timer<K>: unlinked timer
+     */
+    private void link(Timer<K> sentinel, Timer<K> timer) {
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+    }
+
+    /**
+     * Unlink a timer from its bucket
+     * @param timer Timer<K>: linked timer
+     */
+    private void unlink(Timer<K> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+}
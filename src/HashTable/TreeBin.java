@@ -0,0 +1,339 @@
+package HashTable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Concepts learned from the tree bins of java.util.HashMap and https://en.wikipedia.org/wiki/Treap
+
+/**
+ * Bucket head that replaces a long chain with a balanced tree, so a bucket full of colliding keys is searched in O(log n).
+ * Nodes are ordered by hash code, then by compareTo when the keys are mutually Comparable.
+ * Keys that still tie are searched on both sides, so lookups never rely on an arbitrary tie break.
+ * The nodes also stay on a doubly linked list through their next links so the bin can be walked like a chain.
+ */
+class TreeBin<K, V> extends HashNode<K, V> {
+
+    // Root of the treap
+    TreeNode<K, V> root;
+
+    // First node of the bin's node list
+    TreeNode<K, V> first;
+
+    // Number of nodes in the bin
+    int count;
+
+    /**
+     * Constructor for an empty bin, the bin itself holds no key or value
+     */
+    TreeBin() {
+        super(null, null, 0);
+    }
+
+    /**
+     * Find the node holding a key
+     * @param hashCode int: hash code of the key
+     * @param key Object: key to search for
+     * @return TreeNode<K, V>: node holding the key, or null if it is not in the bin
+     */
+    TreeNode<K, V> find(int hashCode, Object key) {
+        return find(root, hashCode, key);
+    }
+
+    /**
+     * Add a node that is known not to be in the bin
+     * @param node TreeNode<K, V>: node to add
+     */
+    void insert(TreeNode<K, V> node) {
+
+        node.clearTreeLinks();
+        node.priority = ThreadLocalRandom.current().nextInt();
+
+        // Put the node at the front of the node list
+        node.setNextNode(first);
+        if(first != null) first.prev = node;
+        first = node;
+        count++;
+
+        // An empty tree takes the node as its root
+        if(root == null) {
+            root = node;
+            return;
+        }
+
+        // Descend to a leaf position using the total order
+        Class<?> keyClass = comparableClassFor(node.getKey());
+        TreeNode<K, V> parent = root;
+        while(true) {
+            boolean goLeft = compareForInsert(keyClass, node, parent) <= 0;
+            TreeNode<K, V> child = goLeft ? parent.left : parent.right;
+            if(child == null) {
+                if(goLeft) parent.left = node;
+                else parent.right = node;
+                node.parent = parent;
+                break;
+            }
+            parent = child;
+        }
+
+        // Rotate the node up until the heap order on priorities holds again
+        while(node.parent != null && node.parent.priority < node.priority) {
+            rotateUp(node);
+        }
+
+    }
+
+    /**
+     * Remove the node holding a key
+     * @param hashCode int: hash code of the key
+     * @param key Object: key for the node to remove
+     * @return TreeNode<K, V>: the removed node, or null if the key is not in the bin
+     */
+    TreeNode<K, V> remove(int hashCode, Object key) {
+
+        TreeNode<K, V> node = find(hashCode, key);
+        if(node != null) unlink(node);
+        return node;
+
+    }
+
+    /**
+     * Remove a node already found in the bin, without searching for it again
+     * @param node TreeNode<K, V>: node in this bin
+     */
+    void unlink(TreeNode<K, V> node) {
+
+        // Rotate the node down below its higher priority child until it is a leaf
+        while(node.left != null || node.right != null) {
+            TreeNode<K, V> child;
+            if(node.left == null) child = node.right;
+            else if(node.right == null) child = node.left;
+            else child = node.left.priority > node.right.priority ? node.left : node.right;
+            rotateUp(child);
+        }
+
+        // Detach the leaf
+        TreeNode<K, V> parent = node.parent;
+        if(parent == null) root = null;
+        else if(parent.left == node) parent.left = null;
+        else parent.right = null;
+
+        // Unlink it from the node list
+        @SuppressWarnings("unchecked")
+        TreeNode<K, V> next = (TreeNode<K, V>)node.getNextNode();
+        if(node.prev == null) first = next;
+        else node.prev.setNextNode(next);
+        if(next != null) next.prev = node.prev;
+
+        node.clearTreeLinks();
+        node.setNextNode(null);
+        count--;
+
+    }
+
+    /**
+     * Turn the bin back into a plain chain
+     * @return HashNode<K, V>: head of the chain holding every node of the bin
+     */
+    HashNode<K, V> untreeify() {
+        for(TreeNode<K, V> node = first; node != null; node = nextOf(node)) {
+            node.clearTreeLinks();
+        }
+        return first;
+    }
+
+    /**
+     * Count the nodes whose hash code equals that of another node of the bin, in one in-order walk of the tree.
+     * The tree is ordered by hash code first, so equal hash codes are visited one after another
+     * @return int: nodes sharing their full hash code with a node visited before them
+     */
+    int duplicateHashCodes() {
+
+        int duplicates = 0;
+        TreeNode<K, V> previous = null;
+        for(TreeNode<K, V> node = leftmost(root); node != null; node = successor(node)) {
+            if(previous != null && previous.getHashCode() == node.getHashCode()) duplicates++;
+            previous = node;
+        }
+        return duplicates;
+
+    }
+
+    // ========================== Helper Functions ==========================
+
+    /**
+     * Next node on the bin's node list
+     * @param node TreeNode<K, V>: node on the list
+     * @return TreeNode<K, V>: following node, or null at the end
+     */
+    @SuppressWarnings("unchecked")
+    private TreeNode<K, V> nextOf(TreeNode<K, V> node) {
+        return (TreeNode<K, V>)node.getNextNode();
+    }
+
+    /**
+     * Search a subtree for a key, searching both sides whenever hash and compareTo cannot decide
+     * @param node TreeNode<K, V>: root of the subtree
+     * @param hashCode int: hash code of the key
+     * @param key Object: key to search for
+     * @return TreeNode<K, V>: node holding the key, or null if it is not in the subtree
+     */
+    private TreeNode<K, V> find(TreeNode<K, V> node, int hashCode, Object key) {
+
+        Class<?> keyClass = null;
+        boolean keyClassKnown = false;
+
+        while(node != null) {
+
+            int nodeHash = node.getHashCode();
+            Object nodeKey = node.getKey();
+
+            if(hashCode < nodeHash) node = node.left;
+            else if(hashCode > nodeHash) node = node.right;
+            else if(nodeKey.equals(key)) return node;
+            else if(node.left == null) node = node.right;
+            else if(node.right == null) node = node.left;
+            else {
+
+                // Work out once whether the key can be ordered with compareTo
+                if(!keyClassKnown) {
+                    keyClass = comparableClassFor(key);
+                    keyClassKnown = true;
+                }
+
+                int direction = compareComparables(keyClass, key, nodeKey);
+                if(direction < 0) node = node.left;
+                else if(direction > 0) node = node.right;
+
+                // Cannot tell which side, search the right subtree then continue on the left
+                else {
+                    TreeNode<K, V> found = find(node.right, hashCode, key);
+                    if(found != null) return found;
+                    node = node.left;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Total order used to place new nodes: hash code, then compareTo, then an arbitrary but stable tie break
+     * @param keyClass Class<?>: comparable class of a's key, or null
+     * @param a TreeNode<K, V>: node being placed
+     * @param b TreeNode<K, V>: node already in the tree
+     * @return int: negative to place a to the left of b, positive for the right
+     */
+    private int compareForInsert(Class<?> keyClass, TreeNode<K, V> a, TreeNode<K, V> b) {
+
+        int byHash = Integer.compare(a.getHashCode(), b.getHashCode());
+        if(byHash != 0) return byHash;
+
+        int byCompareTo = compareComparables(keyClass, a.getKey(), b.getKey());
+        if(byCompareTo != 0) return byCompareTo;
+
+        int byClassName = a.getKey().getClass().getName().compareTo(b.getKey().getClass().getName());
+        if(byClassName != 0) return byClassName;
+
+        return Integer.compare(System.identityHashCode(a.getKey()), System.identityHashCode(b.getKey()));
+    }
+
+    /**
+     * Return the key's class if it is declared Comparable to itself (class C implements Comparable<C>), else null
+     * @param key Object: key to inspect
+     * @return Class<?>: the key's class, or null if its instances cannot be compared to each other
+     */
+    static Class<?> comparableClassFor(Object key) {
+
+        if(!(key instanceof Comparable)) return null;
+
+        Class<?> keyClass = key.getClass();
+        if(keyClass == String.class) return keyClass;
+
+        // Look for Comparable<keyClass> among the directly implemented interfaces
+        for(Type type: keyClass.getGenericInterfaces()) {
+            if(type instanceof ParameterizedType) {
+                ParameterizedType parameterized = (ParameterizedType)type;
+                Type[] arguments = parameterized.getActualTypeArguments();
+                if(parameterized.getRawType() == Comparable.class && arguments.length == 1 && arguments[0] == keyClass) {
+                    return keyClass;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compare two keys with compareTo if the second is of the comparable class of the first
+     * @param keyClass Class<?>: comparable class of the first key, or null
+     * @param key Object: first key
+     * @param other Object: second key
+     * @return int: compareTo result, or 0 if the keys cannot be compared
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareComparables(Class<?> keyClass, Object key, Object other) {
+        if(keyClass == null || other == null || other.getClass() != keyClass) return 0;
+        return ((Comparable)key).compareTo(other);
+    }
+
+    /**
+     * Rotate a node above its parent, keeping the in-order sequence unchanged
+     * @param node TreeNode<K, V>: node to move up one level
+     */
+    private void rotateUp(TreeNode<K, V> node) {
+
+        TreeNode<K, V> parent = node.parent;
+        TreeNode<K, V> grandparent = parent.parent;
+
+        // Right rotation: the node's right subtree moves under the parent's left
+        if(parent.left == node) {
+            parent.left = node.right;
+            if(node.right != null) node.right.parent = parent;
+            node.right = parent;
+        }
+
+        // Left rotation: the node's left subtree moves under the parent's right
+        else {
+            parent.right = node.left;
+            if(node.left != null) node.left.parent = parent;
+            node.left = parent;
+        }
+
+        parent.parent = node;
+        node.parent = grandparent;
+
+        // Hook the node into the grandparent, or make it the root
+        if(grandparent == null) root = node;
+        else if(grandparent.left == parent) grandparent.left = node;
+        else grandparent.right = node;
+    }
+
+    /**
+     * Return the leftmost node of a subtree, the first in tree order
+     * @param node TreeNode<K, V>: root of the subtree, or null
+     * @return TreeNode<K, V>: leftmost node, or null for an empty subtree
+     */
+    private TreeNode<K, V> leftmost(TreeNode<K, V> node) {
+        if(node == null) return null;
+        while(node.left != null) node = node.left;
+        return node;
+    }
+
+    /**
+     * Return the node after a node in tree order, following parent links so the walk needs no stack
+     * @param node TreeNode<K, V>: node in the tree
+     * @return TreeNode<K, V>: next node in tree order, or null after the last node
+     */
+    private TreeNode<K, V> successor(TreeNode<K, V> node) {
+
+        // The next node is the leftmost of the right subtree if there is one
+        if(node.right != null) return leftmost(node.right);
+
+        // Otherwise climb until arriving from a left child
+        while(node.parent != null && node.parent.right == node) node = node.parent;
+        return node.parent;
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package HashTable;
+
+/**
+ * HashNode that can also sit in the balanced tree of a treeified bucket (see TreeBin)
+ */
+class TreeNode<K, V> extends HashNode<K, V> {
+
+    // Tree links
+    TreeNode<K, V> parent;
+    TreeNode<K, V> left;
+    TreeNode<K, V> right;
+
+    // Previous node in the bin's node list, next is the HashNode next link
+    TreeNode<K, V> prev;
+
+    // Random heap priority that keeps the tree balanced in expectation (treap)
+    int priority;
+
+    /**
+     * Constructor for a tree node
+     * @param key K: identifier for this node
+     * @param value V: data this node contains
+     * @param hashCode int: hash code of the key
+     */
+    TreeNode(K key, V value, int hashCode) {
+        super(key, value, hashCode);
+    }
+
+    /**
+     * Drop every tree and list link so the node can be used in a plain chain again
+     */
+    void clearTreeLinks() {
+        parent = null;
+        left = null;
+        right = null;
+        prev = null;
+    }
+
+}